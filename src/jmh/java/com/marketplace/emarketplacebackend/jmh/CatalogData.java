@@ -0,0 +1,110 @@
+package com.marketplace.emarketplacebackend.jmh;
+
+import com.marketplace.emarketplacebackend.model.Cart;
+import com.marketplace.emarketplacebackend.model.CartItem;
+import com.marketplace.emarketplacebackend.model.Category;
+import com.marketplace.emarketplacebackend.model.ERole;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.model.Role;
+import com.marketplace.emarketplacebackend.model.Seller;
+import com.marketplace.emarketplacebackend.model.Store;
+import com.marketplace.emarketplacebackend.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic, catalog-shaped test data: product names built from a small vocabulary (so a search term like
+ * "shoe" matches a realistic fraction of products), a few dozen locations and categories, varied prices and stock.
+ */
+final class CatalogData {
+
+    static final List<String> CATEGORIES = List.of(
+            "Electronics", "Sports", "Fashion", "Home", "Garden", "Toys", "Books", "Beauty", "Grocery", "Automotive",
+            "Music", "Office", "Pets", "Health", "Baby", "Tools", "Jewelry", "Outdoors", "Gaming", "Kitchen");
+
+    static final List<String> LOCATIONS = List.of(
+            "Lagos", "Abuja", "Warri", "Port Harcourt", "Ibadan", "Kano", "Enugu", "Benin City", "Kaduna", "Jos",
+            "Accra", "Kumasi", "Nairobi", "Mombasa", "Kampala", "Kigali", "Dar es Salaam", "Johannesburg",
+            "Cape Town", "Durban", "Cairo", "Alexandria", "Casablanca", "Rabat", "Tunis", "Algiers", "Dakar",
+            "Abidjan", "Lome", "Cotonou");
+
+    // Search terms used by the benchmarks: about 1 in 10 product names contains "shoe", 1 in 320 "pro kettle"
+    static final String COMMON_TERM = "shoe";
+    static final String RARE_TERM = "pro kettle";
+
+    private static final List<String> ADJECTIVES = List.of(
+            "Classic", "Premium", "Compact", "Wireless", "Smart", "Portable", "Deluxe", "Eco", "Ultra", "Vintage",
+            "Pro", "Lite", "Heavy Duty", "Rechargeable", "Organic", "Foldable");
+
+    private static final List<String> NOUNS = List.of(
+            "Running Shoes", "Smart Watch", "Headphones", "Backpack", "Water Bottle", "Desk Lamp", "Blender",
+            "Kettle", "Yoga Mat", "Sunglasses", "Phone Case", "Bluetooth Speaker", "Office Chair", "Tent",
+            "Football", "Perfume", "Notebook", "Keyboard", "Dress Shoes", "Rice Cooker");
+
+    private CatalogData() {
+    }
+
+    static User user() {
+        User user = new User("benchmark_user", "benchmark_user@example.com",
+                "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3k5dFQ1W0KQ1ZtDZ1c4H1nG");
+        user.setId(1L);
+        user.setRoles(Set.of(role(1L, ERole.ROLE_USER), role(2L, ERole.ROLE_SELLER)));
+        return user;
+    }
+
+    static String productName(Random random, int index) {
+        return ADJECTIVES.get(random.nextInt(ADJECTIVES.size())) + " "
+                + NOUNS.get(random.nextInt(NOUNS.size())) + " " + (index % 1000);
+    }
+
+    static Product product(Random random, int index, Store store, Category category) {
+        return new Product(productName(random, index),
+                "Everyday " + category.getName().toLowerCase() + " item, ships from " + store.getLocation() + ".",
+                Math.round((2 + random.nextDouble() * 498) * 100) / 100.0,
+                random.nextInt(500),
+                store,
+                category);
+    }
+
+    // Detached entities shaped like what ProductService returns, for serialization benchmarks
+    static Page<Product> productPage(int size) {
+        Random random = new Random(42);
+        Seller seller = new Seller("Sporty Gear", "sportygear@example.com");
+        seller.setId(1L);
+        Store store = new Store("Sporty", "Warri", seller);
+        store.setId(1L);
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Category category = new Category(CATEGORIES.get(i % CATEGORIES.size()));
+            category.setId((long) (i % CATEGORIES.size()) + 1);
+            Product product = product(random, i, store, category);
+            product.setId((long) i + 1);
+            products.add(product);
+        }
+        return new PageImpl<>(products, PageRequest.of(0, size), 10_000);
+    }
+
+    static Cart cart(int items) {
+        Cart cart = new Cart(user());
+        cart.setId(1L);
+        long itemId = 1;
+        for (Product product : productPage(items)) {
+            CartItem item = new CartItem(cart, product, 1 + (int) (itemId % 3));
+            item.setId(itemId++);
+            cart.getItems().add(item);
+        }
+        return cart;
+    }
+
+    private static Role role(Long id, ERole name) {
+        Role role = new Role(name);
+        role.setId(id);
+        return role;
+    }
+}
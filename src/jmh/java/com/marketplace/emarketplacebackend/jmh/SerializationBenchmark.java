@@ -0,0 +1,58 @@
+package com.marketplace.emarketplacebackend.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.emarketplacebackend.model.Cart;
+import com.marketplace.emarketplacebackend.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// JSON rendering of the two largest hot responses: a product page (GET /api/products) and a cart (GET /api/cart).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    // The default page size and the largest page clients ask for
+    @Param({"20", "100"})
+    public int pageSize;
+
+    @Param({"10"})
+    public int cartItems;
+
+    private ObjectMapper objectMapper;
+    private Page<Product> productPage;
+    private Cart cart;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build(); // Same defaults as Spring MVC's converter
+        productPage = CatalogData.productPage(pageSize);
+        cart = CatalogData.cart(cartItems);
+    }
+
+    @Benchmark
+    public byte[] productPage() throws Exception {
+        return objectMapper.writeValueAsBytes(productPage);
+    }
+
+    @Benchmark
+    public byte[] cart() throws Exception {
+        return objectMapper.writeValueAsBytes(cart);
+    }
+}
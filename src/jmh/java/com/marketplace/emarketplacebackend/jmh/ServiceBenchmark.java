@@ -0,0 +1,171 @@
+package com.marketplace.emarketplacebackend.jmh;
+
+import com.marketplace.emarketplacebackend.EMarketplaceBackendApplication;
+import com.marketplace.emarketplacebackend.model.CartItem;
+import com.marketplace.emarketplacebackend.model.Category;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.model.Seller;
+import com.marketplace.emarketplacebackend.model.Store;
+import com.marketplace.emarketplacebackend.repository.CategoryRepository;
+import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import com.marketplace.emarketplacebackend.repository.SellerRepository;
+import com.marketplace.emarketplacebackend.repository.StoreRepository;
+import com.marketplace.emarketplacebackend.service.CartService;
+import com.marketplace.emarketplacebackend.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CartService.addItemToCart and the ProductService searches, running through the real Spring context (transactions,
+ * second-level cache, Flyway schema and indexes) against an embedded H2 catalog of {@code products} products in
+ * 500 stores across 30 locations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int SELLERS = 100;
+    private static final int STORES = 500;
+    private static final int LOAD_CHUNK = 1_000;
+    private static final int CART_PRODUCTS = 50;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20, Sort.by("name"));
+
+    @Param({"50000"})
+    public int products;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private CartService cartService;
+    private List<Long> cartProductIds;
+    private int nextCartProduct;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(EMarketplaceBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN",
+                        "logging.level.org.springframework.security=WARN",
+                        "marketplace.diagnostics.sql.enabled=false")
+                .run();
+        productService = context.getBean(ProductService.class);
+        cartService = context.getBean(CartService.class);
+        cartProductIds = load();
+
+        // The admin user is created by the application's startup seeding. Global, because JMH may run the
+        // benchmark on a different thread than this setup.
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Product> searchCommonTerm() {
+        return productService.searchProducts(CatalogData.COMMON_TERM, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<Product> searchRareTerm() {
+        return productService.searchProducts(CatalogData.RARE_TERM, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<Product> searchByNameAndLocation() {
+        return productService.searchProductsByNameAndLocation(CatalogData.COMMON_TERM, "Lagos", FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<Product> byCategoryAndLocation() {
+        return productService.getProductsByCategoryAndLocation("Electronics", "Lagos", FIRST_PAGE);
+    }
+
+    // Cycles through a fixed set of products: the first round inserts cart items, later rounds bump quantities
+    @Benchmark
+    public CartItem addItemToCart() {
+        Long productId = cartProductIds.get(nextCartProduct++ % cartProductIds.size());
+        return cartService.addItemToCart(productId, 1);
+    }
+
+    private List<Long> load() {
+        CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+        SellerRepository sellerRepository = context.getBean(SellerRepository.class);
+        StoreRepository storeRepository = context.getBean(StoreRepository.class);
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        TransactionTemplate transaction = context.getBean(TransactionTemplate.class);
+        Random random = new Random(42);
+
+        List<Category> categories = transaction.execute(status -> {
+            List<Category> all = new ArrayList<>();
+            for (String name : CatalogData.CATEGORIES) {
+                all.add(categoryRepository.findByName(name)
+                        .orElseGet(() -> categoryRepository.save(new Category(name))));
+            }
+            return all;
+        });
+        List<Store> stores = transaction.execute(status -> {
+            List<Seller> sellers = new ArrayList<>();
+            for (int i = 0; i < SELLERS; i++) {
+                sellers.add(new Seller("Seller " + i, "seller" + i + "@example.com"));
+            }
+            sellerRepository.saveAll(sellers);
+            List<Store> all = new ArrayList<>();
+            for (int i = 0; i < STORES; i++) {
+                String location = CatalogData.LOCATIONS.get(random.nextInt(CatalogData.LOCATIONS.size()));
+                all.add(new Store("Store " + i, location, sellers.get(i % SELLERS)));
+            }
+            return storeRepository.saveAll(all);
+        });
+
+        List<Long> productIds = new ArrayList<>();
+        for (int offset = 0; offset < products; offset += LOAD_CHUNK) {
+            int from = offset;
+            transaction.executeWithoutResult(status -> {
+                List<Product> chunk = new ArrayList<>(LOAD_CHUNK);
+                for (int i = from; i < Math.min(from + LOAD_CHUNK, products); i++) {
+                    chunk.add(CatalogData.product(random, i, stores.get(random.nextInt(STORES)),
+                            categories.get(random.nextInt(categories.size()))));
+                }
+                productRepository.saveAll(chunk).forEach(product -> productIds.add(product.getId()));
+            });
+        }
+        return productIds.subList(0, CART_PRODUCTS);
+    }
+}
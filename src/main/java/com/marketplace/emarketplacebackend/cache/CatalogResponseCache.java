@@ -0,0 +1,222 @@
+// CatalogResponseCache.java
+package com.marketplace.emarketplacebackend.cache;
+
+import com.marketplace.emarketplacebackend.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory cache of serialized public catalog responses (product and store GETs).
+ * Every entry is tagged with surrogate keys (e.g. "products", "product-42", "store-7")
+ * which are also sent to clients/CDNs in the Surrogate-Key header, so a write can purge
+ * exactly the same keys here and at the edge.
+ */
+@Component
+public class CatalogResponseCache {
+
+    public static final String KEY_PRODUCTS = "products";
+    public static final String KEY_STORES = "stores";
+
+    private static final Pattern PRODUCT_DETAIL = Pattern.compile("^/api/products/(\\d+)$");
+    private static final Pattern STORE_DETAIL = Pattern.compile("^/api/stores/(\\d+)$");
+
+    private final boolean enabled;
+    private final long maxAgeSeconds;
+    private final int maxEntries;
+    private final long settleMillis;
+
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    // Bumped on every invalidation. A response is only stored if no write happened while it
+    // was being rendered, so a slow GET can never re-insert data that a write just purged.
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long lastInvalidationMillis;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CatalogResponseCache(@Value("${marketplace.catalog.public:true}") boolean enabled,
+                                @Value("${marketplace.catalog.cache.max-age-seconds:60}") long maxAgeSeconds,
+                                @Value("${marketplace.catalog.cache.max-entries:10000}") int maxEntries,
+                                @Value("${marketplace.catalog.cache.settle-ms:0}") long settleMillis) {
+        this.enabled = enabled;
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.maxEntries = maxEntries;
+        this.settleMillis = settleMillis;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    public CachedResponse get(String cacheKey) {
+        CachedResponse cached = entries.get(cacheKey);
+        if (cached != null && cached.isExpired(maxAgeSeconds)) {
+            entries.remove(cacheKey, cached);
+            cached = null;
+        }
+        (cached == null ? misses : hits).increment();
+        return cached;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Stores a rendered response, unless the cache was invalidated after {@code startGeneration}
+     * was read or the last invalidation is still settling. A full cache first makes room by dropping
+     * expired entries and then the oldest ones.
+     */
+    public void put(String cacheKey, CachedResponse response, long startGeneration) {
+        if (generation.get() != startGeneration || maxEntries <= 0) {
+            return;
+        }
+        // With read replicas, a read right after a write may still see the old row; don't pin it for max-age.
+        if (settleMillis > 0 && System.currentTimeMillis() - lastInvalidationMillis < settleMillis) {
+            return;
+        }
+        if (entries.size() >= maxEntries && !makeRoom()) {
+            return;
+        }
+        entries.put(cacheKey, response);
+    }
+
+    // Frees a tenth of the cache at a time, so the sweep runs once per maxEntries / 10 puts rather than on every one.
+    // Returns false if another put is already sweeping; that response just isn't cached.
+    private boolean makeRoom() {
+        if (!evictionLock.tryLock()) {
+            return false;
+        }
+        try {
+            entries.values().removeIf(cached -> cached.isExpired(maxAgeSeconds));
+            int excess = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+            if (excess > 0) {
+                // Entries are never refreshed in place, so the oldest are also the closest to expiring
+                entries.entrySet().stream()
+                        .sorted(Comparator.comparingLong(entry -> entry.getValue().createdAtMillis()))
+                        .limit(excess)
+                        .toList()
+                        .forEach(entry -> entries.remove(entry.getKey(), entry.getValue()));
+            }
+            return true;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Derives the surrogate keys for a catalog request path. Detail endpoints get a per-id key,
+     * listing/search endpoints get the collection key.
+     */
+    public Set<String> surrogateKeysFor(String path) {
+        Matcher product = PRODUCT_DETAIL.matcher(path);
+        if (product.matches()) {
+            return Set.of(productKey(Long.valueOf(product.group(1))));
+        }
+        Matcher store = STORE_DETAIL.matcher(path);
+        if (store.matches()) {
+            return Set.of(storeKey(Long.valueOf(store.group(1))));
+        }
+        if (path.startsWith("/api/stores")) {
+            return Set.of(KEY_STORES);
+        }
+        return Set.of(KEY_PRODUCTS);
+    }
+
+    // --- Invalidation hooks called from the write paths ---
+
+    /**
+     * Purges everything a product write can make stale: product listings, the product itself,
+     * and the owning store (store summaries carry product counts).
+     */
+    public void evictProduct(Long productId, Long storeId) {
+        if (storeId == null) {
+            evictAfterCommit(List.of(KEY_PRODUCTS, KEY_STORES, productKey(productId)));
+        } else {
+            evictAfterCommit(List.of(KEY_PRODUCTS, KEY_STORES, productKey(productId), storeKey(storeId)));
+        }
+    }
+
+    /**
+     * Purges store listings, the store itself and product listings (which filter by store location).
+     */
+    public void evictStore(Long storeId) {
+        evictAfterCommit(List.of(KEY_STORES, KEY_PRODUCTS, storeKey(storeId)));
+    }
+
+    /**
+     * Drops every entry. Used when a write removes many products at once (e.g. deleting a store).
+     */
+    public void evictAll() {
+        runAfterCommit(() -> {
+            generation.incrementAndGet();
+            lastInvalidationMillis = System.currentTimeMillis();
+            entries.clear();
+        });
+    }
+
+    private void evictAfterCommit(Collection<String> surrogateKeys) {
+        runAfterCommit(() -> {
+            generation.incrementAndGet();
+            lastInvalidationMillis = System.currentTimeMillis();
+            // Writes are rare compared to reads, so a linear sweep is cheaper than keeping a reverse index up to date.
+            entries.values().removeIf(cached -> !Collections.disjoint(cached.surrogateKeys(), surrogateKeys));
+        });
+    }
+
+    // Evicting before the commit would let a concurrent GET re-cache the old row, so defer it when a transaction is active.
+    private void runAfterCommit(Runnable eviction) {
+        if (enabled) {
+            TransactionCallbacks.afterCommit(eviction);
+        }
+    }
+
+    private static String productKey(Long productId) {
+        return "product-" + productId;
+    }
+
+    private static String storeKey(Long storeId) {
+        return "store-" + storeId;
+    }
+
+    /**
+     * A fully rendered response body plus the metadata needed to replay it.
+     */
+    public record CachedResponse(byte[] body, String contentType, Set<String> surrogateKeys, long createdAtMillis) {
+
+        boolean isExpired(long maxAgeSeconds) {
+            return System.currentTimeMillis() - createdAtMillis > maxAgeSeconds * 1000;
+        }
+    }
+}
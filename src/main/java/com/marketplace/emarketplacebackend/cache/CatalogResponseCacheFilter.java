@@ -0,0 +1,90 @@
+// CatalogResponseCacheFilter.java
+package com.marketplace.emarketplacebackend.cache;
+
+import com.marketplace.emarketplacebackend.config.WebSecurityConfig;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
+
+// Serves public catalog GETs from CatalogResponseCache and stamps them with Cache-Control / Surrogate-Key
+// headers so CDNs and reverse proxies can cache them too.
+public class CatalogResponseCacheFilter extends OncePerRequestFilter {
+
+    public static final String SURROGATE_KEY_HEADER = "Surrogate-Key";
+    public static final String CACHE_STATUS_HEADER = "X-Catalog-Cache";
+
+    // The reactive catalog API writes its body asynchronously, after the first dispatch has returned: there is
+    // nothing to cache then, and buffering the stream would take away its backpressure
+    private static final RequestMatcher STREAMED_READS = new AntPathRequestMatcher("/api/catalog/**");
+
+    private final CatalogResponseCache cache;
+
+    public CatalogResponseCacheFilter(CatalogResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !cache.isEnabled() || !WebSecurityConfig.isPublicCatalogRequest(request)
+                || STREAMED_READS.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String cacheKey = cacheKey(request, path);
+
+        CatalogResponseCache.CachedResponse cached = cache.get(cacheKey);
+        if (cached != null) {
+            writeCacheHeaders(response, cached.surrogateKeys());
+            response.setHeader(CACHE_STATUS_HEADER, "HIT");
+            response.setContentType(cached.contentType());
+            response.setContentLength(cached.body().length);
+            response.getOutputStream().write(cached.body());
+            return;
+        }
+
+        long startGeneration = cache.currentGeneration();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            // Only successful, complete responses are cached; errors must not be replayed to other clients.
+            if (wrapper.getStatus() == HttpServletResponse.SC_OK && !request.isAsyncStarted()) {
+                Set<String> surrogateKeys = cache.surrogateKeysFor(path);
+                writeCacheHeaders(wrapper, surrogateKeys);
+                wrapper.setHeader(CACHE_STATUS_HEADER, "MISS");
+                cache.put(cacheKey, new CatalogResponseCache.CachedResponse(
+                        wrapper.getContentAsByteArray(),
+                        wrapper.getContentType(),
+                        surrogateKeys,
+                        System.currentTimeMillis()), startGeneration);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    // The same URL renders as JSON, Smile or CBOR depending on Accept, so the Accept header is part of the key.
+    private static String cacheKey(HttpServletRequest request, String path) {
+        String url = request.getQueryString() == null ? path : path + "?" + request.getQueryString();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return url + " " + (accept == null ? "*/*" : accept.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private void writeCacheHeaders(HttpServletResponse response, Set<String> surrogateKeys) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=" + cache.getMaxAgeSeconds());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT); // Shared caches must key on Accept as well
+        response.setHeader(SURROGATE_KEY_HEADER, String.join(" ", surrogateKeys));
+    }
+}
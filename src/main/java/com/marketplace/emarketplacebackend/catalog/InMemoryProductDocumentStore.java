@@ -0,0 +1,85 @@
+// InMemoryProductDocumentStore.java
+package com.marketplace.emarketplacebackend.catalog;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * Product documents in a sorted concurrent map: the default store (rebuilt from the database at startup) and
+ * the stand-in for MongoDB in tests. Queries walk the map lazily in id order, one element per request.
+ */
+public class InMemoryProductDocumentStore implements ProductDocumentStore {
+
+    private final ConcurrentSkipListMap<Long, ProductDocument> documents = new ConcurrentSkipListMap<>();
+
+    @Override
+    public Mono<ProductDocument> findById(long id) {
+        return Mono.fromSupplier(() -> documents.get(id));
+    }
+
+    @Override
+    public Flux<ProductDocument> find(ProductQuery query) {
+        return Flux.defer(() -> {
+            NavigableMap<Long, ProductDocument> range =
+                    query.afterId() == null ? documents : documents.tailMap(query.afterId(), false);
+            return Flux.fromIterable(range.values()).filter(matcher(query));
+        });
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Mono.fromSupplier(() -> (long) documents.size());
+    }
+
+    @Override
+    public Mono<Void> saveAll(List<ProductDocument> batch) {
+        return Mono.fromRunnable(() -> batch.forEach(document -> documents.put(document.id(), document)));
+    }
+
+    @Override
+    public Mono<Void> deleteById(long id) {
+        return Mono.fromRunnable(() -> documents.remove(id));
+    }
+
+    @Override
+    public Mono<Void> deleteByStoreIdIn(Collection<Long> storeIds) {
+        return Mono.fromRunnable(() -> documents.values().removeIf(document -> storeIds.contains(document.storeId())));
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return Mono.fromRunnable(documents::clear);
+    }
+
+    @Override
+    public Mono<Void> updateStore(long storeId, String storeName, String storeLocation, Long sellerId) {
+        return Mono.fromRunnable(() -> {
+            for (Map.Entry<Long, ProductDocument> entry : documents.entrySet()) {
+                if (entry.getValue().storeId() == storeId) {
+                    documents.computeIfPresent(entry.getKey(),
+                            (id, document) -> document.withStore(storeName, storeLocation, sellerId));
+                }
+            }
+        });
+    }
+
+    @Override
+    public Mono<Void> updateStock(long id, int stock) {
+        return Mono.fromRunnable(() -> documents.computeIfPresent(id, (key, document) -> document.withStock(stock)));
+    }
+
+    private static Predicate<ProductDocument> matcher(ProductQuery query) {
+        String name = query.name() == null ? null : query.name().toLowerCase(Locale.ROOT);
+        return document -> (name == null || document.name().toLowerCase(Locale.ROOT).contains(name))
+                && (query.category() == null || query.category().equals(document.category()))
+                && (query.location() == null || query.location().equalsIgnoreCase(document.storeLocation()));
+    }
+}
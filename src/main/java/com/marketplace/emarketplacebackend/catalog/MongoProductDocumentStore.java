@@ -0,0 +1,99 @@
+// MongoProductDocumentStore.java
+package com.marketplace.emarketplacebackend.catalog;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Product documents in MongoDB (collection product_documents) through the reactive driver. Query results are
+ * read from a server cursor in batches of CURSOR_BATCH_SIZE as the subscriber requests more.
+ */
+public class MongoProductDocumentStore implements ProductDocumentStore {
+
+    private static final int CURSOR_BATCH_SIZE = 500;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public MongoProductDocumentStore(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<ProductDocument> findById(long id) {
+        return mongoTemplate.findById(id, ProductDocument.class);
+    }
+
+    @Override
+    public Flux<ProductDocument> find(ProductQuery query) {
+        Criteria criteria = new Criteria();
+        if (query.afterId() != null) {
+            criteria.and("_id").gt(query.afterId());
+        }
+        if (query.name() != null) {
+            criteria.and("name").regex(Pattern.quote(query.name()), "i");
+        }
+        if (query.category() != null) {
+            criteria.and("category").is(query.category());
+        }
+        if (query.location() != null) {
+            criteria.and("storeLocation").regex("^" + Pattern.quote(query.location()) + "$", "i");
+        }
+        Query mongoQuery = Query.query(criteria).with(Sort.by("_id")).cursorBatchSize(CURSOR_BATCH_SIZE);
+        return mongoTemplate.find(mongoQuery, ProductDocument.class);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return mongoTemplate.count(new Query(), ProductDocument.class);
+    }
+
+    @Override
+    public Mono<Void> saveAll(List<ProductDocument> documents) {
+        if (documents.isEmpty()) {
+            return Mono.empty();
+        }
+        return Flux.fromIterable(documents)
+                .flatMap(mongoTemplate::save, 16)
+                .then();
+    }
+
+    @Override
+    public Mono<Void> deleteById(long id) {
+        return mongoTemplate.remove(Query.query(Criteria.where("_id").is(id)), ProductDocument.class).then();
+    }
+
+    @Override
+    public Mono<Void> deleteByStoreIdIn(Collection<Long> storeIds) {
+        return mongoTemplate.remove(Query.query(Criteria.where("storeId").in(storeIds)), ProductDocument.class).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return mongoTemplate.remove(new Query(), ProductDocument.class).then();
+    }
+
+    @Override
+    public Mono<Void> updateStore(long storeId, String storeName, String storeLocation, Long sellerId) {
+        Update update = new Update()
+                .set("storeName", storeName)
+                .set("storeLocation", storeLocation)
+                .set("sellerId", sellerId);
+        return mongoTemplate.updateMulti(Query.query(Criteria.where("storeId").is(storeId)), update,
+                ProductDocument.class).then();
+    }
+
+    @Override
+    public Mono<Void> updateStock(long id, int stock) {
+        return mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id)), new Update().set("stock", stock),
+                ProductDocument.class).then();
+    }
+}
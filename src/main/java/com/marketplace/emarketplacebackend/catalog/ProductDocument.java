@@ -0,0 +1,49 @@
+// ProductDocument.java
+package com.marketplace.emarketplacebackend.catalog;
+
+import com.marketplace.emarketplacebackend.event.ProductChangedEvent;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.model.Store;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A product as the reactive catalog API reads it: flat, with its category and store denormalized in, so a
+ * document answers listing, detail and search on its own without joins.
+ */
+@Document(collection = "product_documents")
+public record ProductDocument(@Id Long id,
+                              String name,
+                              String description,
+                              Double price,
+                              Integer stock,
+                              String category,
+                              Long storeId,
+                              String storeName,
+                              String storeLocation,
+                              Long sellerId) {
+
+    // For rebuilds from the database: the product's store and category must be loaded (or loadable)
+    public static ProductDocument from(Product product) {
+        Store store = product.getStore();
+        return new ProductDocument(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getStock(), product.getCategory().getName(), store.getId(), store.getName(),
+                store.getLocation(), store.getSeller().getId());
+    }
+
+    public static ProductDocument from(ProductChangedEvent event) {
+        return new ProductDocument(event.productId(), event.name(), event.description(), event.price(),
+                event.stock(), event.category(), event.storeId(), event.storeName(), event.storeLocation(),
+                event.sellerId());
+    }
+
+    public ProductDocument withStore(String storeName, String storeLocation, Long sellerId) {
+        return new ProductDocument(id, name, description, price, stock, category, storeId, storeName, storeLocation,
+                sellerId);
+    }
+
+    public ProductDocument withStock(Integer stock) {
+        return new ProductDocument(id, name, description, price, stock, category, storeId, storeName, storeLocation,
+                sellerId);
+    }
+}
@@ -0,0 +1,37 @@
+// ProductDocumentStore.java
+package com.marketplace.emarketplacebackend.catalog;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Non-blocking access to the product document projection. Implementations emit query results lazily, as
+ * subscribers request them, so a slow client streaming the whole catalog holds neither a thread nor the full
+ * result in memory.
+ */
+public interface ProductDocumentStore {
+
+    Mono<ProductDocument> findById(long id);
+
+    Flux<ProductDocument> find(ProductQuery query);
+
+    Mono<Long> count();
+
+    // Inserts or replaces by id
+    Mono<Void> saveAll(List<ProductDocument> documents);
+
+    Mono<Void> deleteById(long id);
+
+    Mono<Void> deleteByStoreIdIn(Collection<Long> storeIds);
+
+    Mono<Void> deleteAll();
+
+    // Rewrites the denormalized store fields of every product in the store
+    Mono<Void> updateStore(long storeId, String storeName, String storeLocation, Long sellerId);
+
+    // Sets one product's stock; no-op when there's no document for it
+    Mono<Void> updateStock(long id, int stock);
+}
@@ -0,0 +1,134 @@
+// ProductProjector.java
+package com.marketplace.emarketplacebackend.catalog;
+
+import com.marketplace.emarketplacebackend.event.CatalogEvent;
+import com.marketplace.emarketplacebackend.event.ProductChangedEvent;
+import com.marketplace.emarketplacebackend.event.ProductDeletedEvent;
+import com.marketplace.emarketplacebackend.event.ProductStockChangedEvent;
+import com.marketplace.emarketplacebackend.event.StoreChangedEvent;
+import com.marketplace.emarketplacebackend.event.StoreDeletedEvent;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.outbox.OutboxMessage;
+import com.marketplace.emarketplacebackend.outbox.OutboxSubscriber;
+import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the product document store (the catalog's read model) from the catalog events in the outbox. The
+ * relay delivers them after commit, in order per product and store, and redelivers an event whose document
+ * write failed; every write is an idempotent upsert or delete, so a redelivery is harmless.
+ *
+ * At startup the documents are rebuilt from the database when their count doesn't match the products table.
+ * That rebuild is the only place the relational schema is read on behalf of the read model.
+ *
+ * Metrics: marketplace.catalog.projection.lag (timer, event published to document written) and
+ * marketplace.catalog.projection.failures; the relay's backlog is marketplace.outbox.lag.
+ */
+@Component
+public class ProductProjector implements OutboxSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductProjector.class);
+
+    // Documents written per saveAll, and entities detached after each, so the rebuild runs in constant memory
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ProductDocumentStore documentStore;
+    private final ProductRepository productRepository;
+    private final Timer lag;
+    private final Counter failures;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ProductProjector(ProductDocumentStore documentStore, ProductRepository productRepository,
+                            MeterRegistry meterRegistry) {
+        this.documentStore = documentStore;
+        this.productRepository = productRepository;
+        this.lag = Timer.builder("marketplace.catalog.projection.lag")
+                .description("Time from a catalog event being published to its product documents being written")
+                .register(meterRegistry);
+        this.failures = Counter.builder("marketplace.catalog.projection.failures")
+                .description("Catalog events whose document write failed (the relay retries them)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void deliver(OutboxMessage message) {
+        if (!(message.event() instanceof CatalogEvent event)) {
+            return;
+        }
+        try {
+            write(event).block();
+        } catch (RuntimeException e) {
+            failures.increment();
+            throw e;
+        }
+        lag.record(Duration.between(event.occurredAt(), Instant.now()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIfStale() {
+        long products = productRepository.count();
+        Long documents = documentStore.count().block();
+        if (documents != null && documents == products) {
+            logger.info("Product documents up to date ({} products)", products);
+            return;
+        }
+        documentStore.deleteAll().block();
+        long written = 0;
+        try (Stream<Product> stream = productRepository.streamAllWithStore()) {
+            List<ProductDocument> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+            Iterator<Product> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                batch.add(ProductDocument.from(iterator.next()));
+                if (batch.size() == REBUILD_BATCH_SIZE) {
+                    written += flush(batch);
+                }
+            }
+            written += flush(batch);
+        }
+        logger.info("Rebuilt {} product documents (store had {})", written, documents);
+    }
+
+    private Mono<Void> write(CatalogEvent event) {
+        return switch (event) {
+            case ProductChangedEvent product -> documentStore.saveAll(List.of(ProductDocument.from(product)));
+            case ProductDeletedEvent deleted -> documentStore.deleteById(deleted.productId());
+            case ProductStockChangedEvent stock -> documentStore.updateStock(stock.productId(), stock.stock());
+            case StoreChangedEvent changed -> documentStore.updateStore(changed.storeId(), changed.name(),
+                    changed.location(), changed.sellerId());
+            case StoreDeletedEvent store -> documentStore.deleteByStoreIdIn(List.of(store.storeId()));
+        };
+    }
+
+    private int flush(List<ProductDocument> batch) {
+        int size = batch.size();
+        if (size > 0) {
+            documentStore.saveAll(List.copyOf(batch)).block();
+            batch.clear();
+            entityManager.clear();
+        }
+        return size;
+    }
+}
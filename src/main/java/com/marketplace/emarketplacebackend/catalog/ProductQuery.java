@@ -0,0 +1,14 @@
+// ProductQuery.java
+package com.marketplace.emarketplacebackend.catalog;
+
+/**
+ * Filters for {@link ProductDocumentStore#find}. Every field is optional (null matches everything): name is a
+ * case-insensitive substring, category an exact name, location the store's location ignoring case. Results come
+ * in ascending id order, starting after afterId, so a client can resume an interrupted stream.
+ */
+public record ProductQuery(String name, String category, String location, Long afterId) {
+
+    public static ProductQuery all() {
+        return new ProductQuery(null, null, null, null);
+    }
+}
@@ -0,0 +1,11 @@
+// AsyncConfig.java
+package com.marketplace.emarketplacebackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// Enables @Async methods (e.g. background deletion jobs); they run on Spring Boot's application task executor.
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,21 @@
+// CatalogCacheConfig.java
+package com.marketplace.emarketplacebackend.config;
+
+import com.marketplace.emarketplacebackend.cache.CatalogResponseCache;
+import com.marketplace.emarketplacebackend.cache.CatalogResponseCacheFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CatalogCacheConfig {
+
+    // Registered after the Spring Security filter chain (default order), so cached responses still get the security headers.
+    @Bean
+    public FilterRegistrationBean<CatalogResponseCacheFilter> catalogResponseCacheFilter(CatalogResponseCache cache) {
+        FilterRegistrationBean<CatalogResponseCacheFilter> registration =
+                new FilterRegistrationBean<>(new CatalogResponseCacheFilter(cache));
+        registration.addUrlPatterns("/api/products/*", "/api/stores/*");
+        return registration;
+    }
+}
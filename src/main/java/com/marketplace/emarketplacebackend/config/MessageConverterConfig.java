@@ -0,0 +1,31 @@
+// MessageConverterConfig.java
+package com.marketplace.emarketplacebackend.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary representations of every JSON response, picked through the Accept header:
+ * application/x-jackson-smile and application/cbor. Both mappers come from Spring Boot's Jackson builder,
+ * so they share the application's modules and spring.jackson.* settings with the JSON mapper.
+ * JSON stays first in the converter list, so clients that send no Accept header or accept anything still get JSON.
+ */
+@Configuration
+public class MessageConverterConfig {
+
+    // The builder bean is prototype-scoped, so each converter gets its own copy to point at a different factory.
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
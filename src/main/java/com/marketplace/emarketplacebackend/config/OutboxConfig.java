@@ -0,0 +1,31 @@
+// OutboxConfig.java
+package com.marketplace.emarketplacebackend.config;
+
+import com.marketplace.emarketplacebackend.outbox.RedisStreamOutboxSubscriber;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Runs the outbox relay on Spring Boot's task scheduler, and forwards events to a Redis stream when one is set
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+
+    private static final String STREAM_PROPERTY = "marketplace.outbox.redis.stream";
+
+    @Bean
+    @ConditionalOnProperty(name = STREAM_PROPERTY)
+    public RedisStreamOutboxSubscriber redisStreamOutboxSubscriber(ObjectProvider<StringRedisTemplate> redisTemplate,
+                                                                   @Value("${" + STREAM_PROPERTY + "}") String stream) {
+        StringRedisTemplate template = redisTemplate.getIfAvailable();
+        if (template == null) {
+            throw new IllegalStateException(STREAM_PROPERTY + " requires redis in "
+                    + PersistenceBackendsEnvironmentPostProcessor.BACKENDS_PROPERTY);
+        }
+        return new RedisStreamOutboxSubscriber(template, stream);
+    }
+}
@@ -0,0 +1,112 @@
+// PersistenceBackendsEnvironmentPostProcessor.java
+package com.marketplace.emarketplacebackend.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Activates only the persistence backends listed in marketplace.persistence.backends (default: jpa). The build
+ * ships the MongoDB, Couchbase, Elasticsearch and Redis starters, and without this Spring Boot would create
+ * their clients, repositories, health indicators and metrics at every startup. The auto-configurations of every
+ * backend that isn't listed are appended to spring.autoconfigure.exclude.
+ *
+ * Runs after the config files are loaded, so a profile can switch backends on
+ * (e.g. marketplace.persistence.backends=jpa,redis in application-redis.properties).
+ * In AOT mode the selection is fixed when the application is built.
+ */
+public class PersistenceBackendsEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    public static final String BACKENDS_PROPERTY = "marketplace.persistence.backends";
+
+    private static final String EXCLUDE_PROPERTY = "spring.autoconfigure.exclude";
+    private static final String BOOT = "org.springframework.boot.autoconfigure.";
+    private static final String ACTUATOR = "org.springframework.boot.actuate.autoconfigure.";
+
+    // Everything the application's services use lives in JPA, so it can't be switched off
+    private static final String REQUIRED_BACKEND = "jpa";
+
+    private static final Map<String, List<String>> AUTO_CONFIGURATIONS = Map.of(
+            REQUIRED_BACKEND, List.of(),
+            "mongodb", List.of(
+                    BOOT + "mongo.MongoAutoConfiguration",
+                    BOOT + "mongo.MongoReactiveAutoConfiguration",
+                    BOOT + "data.mongo.MongoDataAutoConfiguration",
+                    BOOT + "data.mongo.MongoReactiveDataAutoConfiguration",
+                    BOOT + "data.mongo.MongoRepositoriesAutoConfiguration",
+                    BOOT + "data.mongo.MongoReactiveRepositoriesAutoConfiguration",
+                    ACTUATOR + "data.mongo.MongoHealthContributorAutoConfiguration",
+                    ACTUATOR + "data.mongo.MongoReactiveHealthContributorAutoConfiguration",
+                    ACTUATOR + "metrics.mongo.MongoMetricsAutoConfiguration"),
+            "couchbase", List.of(
+                    BOOT + "couchbase.CouchbaseAutoConfiguration",
+                    BOOT + "data.couchbase.CouchbaseDataAutoConfiguration",
+                    BOOT + "data.couchbase.CouchbaseReactiveDataAutoConfiguration",
+                    BOOT + "data.couchbase.CouchbaseRepositoriesAutoConfiguration",
+                    BOOT + "data.couchbase.CouchbaseReactiveRepositoriesAutoConfiguration",
+                    ACTUATOR + "couchbase.CouchbaseHealthContributorAutoConfiguration",
+                    ACTUATOR + "couchbase.CouchbaseReactiveHealthContributorAutoConfiguration"),
+            "elasticsearch", List.of(
+                    BOOT + "elasticsearch.ElasticsearchClientAutoConfiguration",
+                    BOOT + "elasticsearch.ElasticsearchRestClientAutoConfiguration",
+                    BOOT + "elasticsearch.ReactiveElasticsearchClientAutoConfiguration",
+                    BOOT + "data.elasticsearch.ElasticsearchDataAutoConfiguration",
+                    BOOT + "data.elasticsearch.ElasticsearchRepositoriesAutoConfiguration",
+                    BOOT + "data.elasticsearch.ReactiveElasticsearchRepositoriesAutoConfiguration",
+                    ACTUATOR + "elasticsearch.ElasticsearchRestHealthContributorAutoConfiguration",
+                    ACTUATOR + "elasticsearch.ElasticsearchReactiveHealthContributorAutoConfiguration"),
+            "redis", List.of(
+                    BOOT + "data.redis.RedisAutoConfiguration",
+                    BOOT + "data.redis.RedisReactiveAutoConfiguration",
+                    BOOT + "data.redis.RedisRepositoriesAutoConfiguration",
+                    ACTUATOR + "data.redis.RedisHealthContributorAutoConfiguration",
+                    ACTUATOR + "data.redis.RedisReactiveHealthContributorAutoConfiguration",
+                    ACTUATOR + "metrics.redis.LettuceMetricsAutoConfiguration"));
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        Binder binder = Binder.get(environment);
+        Set<String> backends = new LinkedHashSet<>();
+        List<String> configured = binder.bind(BACKENDS_PROPERTY, Bindable.listOf(String.class))
+                .orElse(List.of(REQUIRED_BACKEND));
+        for (String backend : configured) {
+            backends.add(backend.trim().toLowerCase(Locale.ROOT));
+        }
+        for (String backend : backends) {
+            if (!AUTO_CONFIGURATIONS.containsKey(backend)) {
+                throw new IllegalStateException("Unknown persistence backend '" + backend + "' in "
+                        + BACKENDS_PROPERTY + ", expected any of " + AUTO_CONFIGURATIONS.keySet());
+            }
+        }
+        if (!backends.contains(REQUIRED_BACKEND)) {
+            throw new IllegalStateException(BACKENDS_PROPERTY + " must include " + REQUIRED_BACKEND);
+        }
+
+        // Keep whatever is already excluded (config files, command line) and add the inactive backends
+        Set<String> excludes = new LinkedHashSet<>(
+                binder.bind(EXCLUDE_PROPERTY, Bindable.listOf(String.class)).orElse(List.of()));
+        AUTO_CONFIGURATIONS.forEach((backend, autoConfigurations) -> {
+            if (!backends.contains(backend)) {
+                excludes.addAll(autoConfigurations);
+            }
+        });
+        environment.getPropertySources().addFirst(new MapPropertySource("persistenceBackends",
+                Map.of(EXCLUDE_PROPERTY, String.join(",", excludes))));
+    }
+
+    // After ConfigDataEnvironmentPostProcessor, so profile-specific files are visible
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
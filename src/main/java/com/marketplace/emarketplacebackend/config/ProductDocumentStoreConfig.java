@@ -0,0 +1,49 @@
+// ProductDocumentStoreConfig.java
+package com.marketplace.emarketplacebackend.config;
+
+import com.marketplace.emarketplacebackend.catalog.InMemoryProductDocumentStore;
+import com.marketplace.emarketplacebackend.catalog.MongoProductDocumentStore;
+import com.marketplace.emarketplacebackend.catalog.ProductDocumentStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+/**
+ * Selects where the reactive catalog API reads product documents from (marketplace.catalog.documents.store):
+ * memory (default), rebuilt from the database at every start, or mongodb, which survives restarts and is shared
+ * by every instance but needs mongodb in marketplace.persistence.backends.
+ *
+ * In-memory documents are kept current only by the outbox relay of the same instance, and only one instance
+ * relays, so memory refuses to start with the relay disabled: that instance's catalog would never change again.
+ */
+@Configuration
+public class ProductDocumentStoreConfig {
+
+    private static final String STORE_PROPERTY = "marketplace.catalog.documents.store";
+    private static final String RELAY_PROPERTY = "marketplace.outbox.relay.enabled";
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_PROPERTY, havingValue = "memory", matchIfMissing = true)
+    public ProductDocumentStore inMemoryProductDocumentStore(
+            @Value("${" + RELAY_PROPERTY + ":true}") boolean relayEnabled) {
+        if (!relayEnabled) {
+            throw new IllegalStateException(STORE_PROPERTY + "=memory requires " + RELAY_PROPERTY
+                    + "=true; instances that don't relay must use " + STORE_PROPERTY + "=mongodb");
+        }
+        return new InMemoryProductDocumentStore();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_PROPERTY, havingValue = "mongodb")
+    public ProductDocumentStore mongoProductDocumentStore(ObjectProvider<ReactiveMongoTemplate> mongoTemplate) {
+        ReactiveMongoTemplate template = mongoTemplate.getIfAvailable();
+        if (template == null) {
+            throw new IllegalStateException(STORE_PROPERTY + "=mongodb requires mongodb in "
+                    + PersistenceBackendsEnvironmentPostProcessor.BACKENDS_PROPERTY);
+        }
+        return new MongoProductDocumentStore(template);
+    }
+}
@@ -0,0 +1,79 @@
+// ReadReplicaConfig.java
+package com.marketplace.emarketplacebackend.config;
+
+import com.marketplace.emarketplacebackend.datasource.ReadWriteRoutingDataSource;
+import com.marketplace.emarketplacebackend.datasource.ReadYourWritesTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Primary/replica datasource routing, active only when marketplace.datasource.replica.url is set. The primary
+ * pool is still configured through spring.datasource.*; without a replica the application keeps Spring Boot's
+ * single auto-configured datasource.
+ *
+ * Hibernate must give its connection back at the end of every transaction. By default (with open-in-view) the
+ * first connection a web request fetches stays with its EntityManager until the request ends, so a read-only
+ * lookup followed by a write in the same request (sign-up) would run the write on the replica connection.
+ */
+@Configuration
+@ConditionalOnProperty(name = "marketplace.datasource.replica.url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("marketplace.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${marketplace.datasource.replica.url}") String url,
+                                              @Value("${marketplace.datasource.replica.username:}") String username,
+                                              @Value("${marketplace.datasource.replica.password:}") String password) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        replica.setReadOnly(true);
+        replica.setPoolName("replica");
+        return replica;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${marketplace.datasource.replica.read-your-writes-window-ms:5000}") long windowMillis) {
+        return new ReadYourWritesTracker(windowMillis);
+    }
+
+    // The one datasource JPA and JDBC see
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReadYourWritesTracker tracker) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, tracker));
+    }
+
+    // Each transaction then fetches its own connection, and so takes its own route
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
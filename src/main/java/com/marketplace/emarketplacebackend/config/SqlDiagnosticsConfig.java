@@ -0,0 +1,59 @@
+// SqlDiagnosticsConfig.java
+package com.marketplace.emarketplacebackend.config;
+
+import com.marketplace.emarketplacebackend.diagnostics.SqlDiagnosticsProperties;
+import com.marketplace.emarketplacebackend.diagnostics.SqlStatementListener;
+import com.marketplace.emarketplacebackend.diagnostics.SqlStatsFilter;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL statistics (marketplace.diagnostics.sql.enabled). Wraps the application's datasource in a
+ * counting JDBC proxy and registers {@link SqlStatsFilter} ahead of every other filter, so the statements run by
+ * authentication are counted too. Disabled in production.
+ */
+@Configuration
+@ConditionalOnProperty(name = "marketplace.diagnostics.sql.enabled", havingValue = "true")
+@EnableConfigurationProperties(SqlDiagnosticsProperties.class)
+public class SqlDiagnosticsConfig {
+
+    // Only the bean JPA and JDBC use; with read replicas the primary/replica pools behind it stay unwrapped,
+    // so each statement is counted once.
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    // Static: BeanPostProcessors are created before the other beans of this configuration
+    @Bean
+    public static BeanPostProcessor sqlStatsDataSourceProxy() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && DATA_SOURCE_BEAN.equals(beanName)) {
+                    SqlStatementListener listener = new SqlStatementListener();
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(DATA_SOURCE_BEAN)
+                            .listener(listener)
+                            .methodListener(listener)
+                            .proxyResultSet() // Needed to count rows as they are read
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatsFilter> sqlStatsFilter(SqlDiagnosticsProperties properties) {
+        FilterRegistrationBean<SqlStatsFilter> registration = new FilterRegistrationBean<>(new SqlStatsFilter(properties));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,108 @@
+// VirtualThreadConfig.java
+package com.marketplace.emarketplacebackend.config;
+
+import com.marketplace.emarketplacebackend.datasource.ConcurrencyLimitedDataSource;
+import com.marketplace.emarketplacebackend.diagnostics.VirtualThreadPinningMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Virtual-thread mode (spring.threads.virtual.enabled=true), in which Spring Boot runs Tomcat requests and @Async
+ * work on virtual threads. Adds what that mode needs here: a connection permit per pooled connection in front
+ * of every Hikari pool, and reporting of virtual threads pinned by synchronized code.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    // Static: BeanPostProcessors are created before the other beans of this configuration
+    @Bean
+    public static ConnectionLimitPostProcessor connectionLimitPostProcessor() {
+        return new ConnectionLimitPostProcessor();
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${marketplace.diagnostics.pinning.threshold-ms:20}") long thresholdMillis,
+            MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(thresholdMillis), meterRegistry);
+    }
+
+    // Callers queue on the permits rather than inside Hikari, so hikaricp.connections.pending no longer shows them
+    @Bean
+    public MeterBinder connectionLimitMetrics(Map<String, DataSource> dataSources) {
+        return registry -> {
+            Set<ConcurrencyLimitedDataSource> registered = Collections.newSetFromMap(new IdentityHashMap<>());
+            dataSources.values().forEach(dataSource -> {
+                ConcurrencyLimitedDataSource limiter = unwrapLimiter(dataSource);
+                if (limiter == null || !registered.add(limiter)) {
+                    return;
+                }
+                String pool = ((HikariDataSource) limiter.getTargetDataSource()).getPoolName();
+                Gauge.builder("marketplace.datasource.permits.waiting", limiter,
+                                ConcurrencyLimitedDataSource::getWaitingThreads)
+                        .description("Callers waiting for a connection permit")
+                        .tag("pool", pool)
+                        .register(registry);
+                Gauge.builder("marketplace.datasource.permits.available", limiter,
+                                ConcurrencyLimitedDataSource::getAvailablePermits)
+                        .tag("pool", pool)
+                        .register(registry);
+            });
+        };
+    }
+
+    // The limiter may sit behind the SQL diagnostics proxy or the replica routing
+    private static ConcurrencyLimitedDataSource unwrapLimiter(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(ConcurrencyLimitedDataSource.class)
+                    ? dataSource.unwrap(ConcurrencyLimitedDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Wraps each Hikari pool (the single auto-configured one, or the primary and replica pools) in a
+     * {@link ConcurrencyLimitedDataSource} with as many permits as the pool has connections and the pool's own
+     * connection timeout. Ordered so it sees the pools before other post-processors (such as the SQL diagnostics
+     * proxy) wrap them.
+     */
+    static class ConnectionLimitPostProcessor implements BeanPostProcessor, Ordered {
+
+        private static final Logger logger = LoggerFactory.getLogger(ConnectionLimitPostProcessor.class);
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource pool) {
+                logger.info("Limiting {} to {} concurrent connections", beanName, pool.getMaximumPoolSize());
+                return new ConcurrencyLimitedDataSource(pool, pool.getMaximumPoolSize(), pool.getConnectionTimeout());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -4,9 +4,12 @@ package com.marketplace.emarketplacebackend.config;
 import com.marketplace.emarketplacebackend.security.jwt.AuthEntryPointJwt;
 import com.marketplace.emarketplacebackend.security.jwt.AuthTokenFilter;
 import com.marketplace.emarketplacebackend.service.UserDetailsServiceImpl;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -17,17 +20,41 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableMethodSecurity
 public class WebSecurityConfig {
 
+    // Read-only catalog endpoints (products, product categories, stores) that are served anonymously
+    // when marketplace.catalog.public=true. These requests skip the JWT filter entirely.
+    private static final RequestMatcher PUBLIC_CATALOG_READS = new OrRequestMatcher(
+            new AntPathRequestMatcher("/api/products/**", HttpMethod.GET.name()),
+            new AntPathRequestMatcher("/api/stores/**", HttpMethod.GET.name()),
+            new AntPathRequestMatcher("/api/catalog/**", HttpMethod.GET.name())
+    );
+
     @Autowired
     UserDetailsServiceImpl userDetailsService;
 
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
-    
+
+    @Value("${marketplace.catalog.public:true}")
+    private boolean publicCatalog;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    // Set to serve the actuator on its own (internal) port; -1 keeps it on the application port
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
+    public static boolean isPublicCatalogRequest(HttpServletRequest request) {
+        return PUBLIC_CATALOG_READS.matches(request);
+    }
    
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
@@ -59,16 +86,25 @@ public class WebSecurityConfig {
             .authenticationEntryPoint(unauthorizedHandler)
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/auth/**").permitAll() // Still allow login/signup without authentication
-                // MODIFIED: Require authentication for Products API
-                .requestMatchers("/api/products/**").authenticated()
-                // MODIFIED: Require authentication for Sellers API
-                .requestMatchers("/api/sellers/**").authenticated()
-                .requestMatchers("/h2-console/**").permitAll() // Keep H2 Console accessible
-                .requestMatchers("/error").permitAll()
-                .anyRequest().authenticated() // All other requests still require authentication
-            );
+            .authorizeHttpRequests(auth -> {
+                if (publicCatalog) {
+                    auth.requestMatchers(PUBLIC_CATALOG_READS).permitAll(); // Anonymous, cacheable catalog browsing
+                }
+                auth
+                    .requestMatchers("/api/auth/**").permitAll() // Still allow login/signup without authentication
+                    // MODIFIED: Require authentication for Products API
+                    .requestMatchers("/api/products/**").authenticated()
+                    // MODIFIED: Require authentication for Sellers API
+                    .requestMatchers("/api/sellers/**").authenticated()
+                    .requestMatchers("/h2-console/**").permitAll() // Keep H2 Console accessible
+                    .requestMatchers("/error").permitAll()
+                    .requestMatchers("/actuator/health").permitAll()
+                    // Prometheus scrapes without a JWT, so the actuator is open only on a separate management port
+                    // that isn't exposed publicly. On the application port metrics are for admins only.
+                    .requestMatchers(managementPortRequests()).permitAll()
+                    .requestMatchers("/actuator/**").hasRole("ADMIN")
+                    .anyRequest().authenticated(); // All other requests still require authentication
+            });
 
         // NEW ADDITION: For H2 Console to work properly within a browser (it uses iframes)
         http.headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin())); // Allow frames from the same origin
@@ -78,4 +114,9 @@ public class WebSecurityConfig {
 
         return http.build();
     }
+
+    private RequestMatcher managementPortRequests() {
+        boolean separatePort = managementPort > 0 && managementPort != serverPort;
+        return request -> separatePort && request.getLocalPort() == managementPort;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+// CacheStatisticsController.java
+package com.marketplace.emarketplacebackend.controller;
+
+import com.marketplace.emarketplacebackend.dto.CacheRegionStats;
+import com.marketplace.emarketplacebackend.service.CacheStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+public class CacheStatisticsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    public CacheStatisticsController(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    // Second-level cache hit/miss counters per region since startup; empty when Hibernate statistics are off
+    @GetMapping("/cache-statistics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CacheRegionStats>> getCacheStatistics() {
+        return new ResponseEntity<>(cacheStatisticsService.getRegionStatistics(), HttpStatus.OK);
+    }
+}
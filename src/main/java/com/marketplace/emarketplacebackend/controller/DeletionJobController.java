@@ -0,0 +1,29 @@
+// DeletionJobController.java
+package com.marketplace.emarketplacebackend.controller;
+
+import com.marketplace.emarketplacebackend.service.BulkDeletionService;
+import com.marketplace.emarketplacebackend.service.DeletionJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/deletion-jobs")
+public class DeletionJobController {
+
+    private final BulkDeletionService bulkDeletionService;
+
+    @Autowired
+    public DeletionJobController(BulkDeletionService bulkDeletionService) {
+        this.bulkDeletionService = bulkDeletionService;
+    }
+
+    // Progress of a store/seller deletion started by DELETE /api/stores/{id} or DELETE /api/sellers/{id}
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER')")
+    public ResponseEntity<DeletionJob> getDeletionJob(@PathVariable String jobId) {
+        return new ResponseEntity<>(bulkDeletionService.getJob(jobId), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,107 @@
+// ExportController.java
+package com.marketplace.emarketplacebackend.controller;
+
+import com.marketplace.emarketplacebackend.service.ProductExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ProductExportService productExportService;
+
+    // A full export outlives the default async request timeout, which stays short for everything else
+    @Value("${marketplace.export.timeout-ms:3600000}")
+    private long timeoutMs;
+
+    @Autowired
+    public ExportController(ProductExportService productExportService) {
+        this.productExportService = productExportService;
+    }
+
+    /**
+     * Full catalog feed for partners as NDJSON, streamed from a database cursor with constant memory.
+     * Gzip-compressed when the client's Accept-Encoding accepts gzip (explicitly or through *, with q above 0).
+     * The task writes the response itself, within marketplace.export.timeout-ms.
+     *
+     * Example: curl -H "Authorization: Bearer ..." -H "Accept-Encoding: gzip" /api/export/products | gunzip
+     */
+    @GetMapping("/products")
+    @ResponseStatus(HttpStatus.OK) // Nothing is left to render when the task returns
+    public WebAsyncTask<Void> exportProducts(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.ndjson\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return new WebAsyncTask<>(timeoutMs, () -> {
+            OutputStream out = response.getOutputStream();
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, GZIP_BUFFER_SIZE, true);
+                productExportService.writeProductsNdjson(gzipOut);
+                gzipOut.finish();
+            } else {
+                productExportService.writeProductsNdjson(out);
+            }
+            out.flush();
+            return null;
+        });
+    }
+
+    // RFC 9110 content codings: "gzip" (or its alias x-gzip) if listed, else "*", counts only with q > 0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        double wildcardQuality = 0;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parts);
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+            } else if (name.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        return (gzipQuality != null ? gzipQuality : wildcardQuality) > 0;
+    }
+
+    // The q parameter of one coding, 1 when absent; a malformed value doesn't accept the coding
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            int equals = parts[i].indexOf('=');
+            if (equals > 0 && parts[i].substring(0, equals).trim().equalsIgnoreCase("q")) {
+                try {
+                    return Double.parseDouble(parts[i].substring(equals + 1).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
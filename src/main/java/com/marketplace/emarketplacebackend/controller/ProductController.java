@@ -4,6 +4,9 @@ package com.marketplace.emarketplacebackend.controller;
 import com.marketplace.emarketplacebackend.dto.ProductRequest;
 import com.marketplace.emarketplacebackend.model.Product;
 import com.marketplace.emarketplacebackend.service.ProductService;
+import com.marketplace.emarketplacebackend.service.StockService;
+import com.marketplace.emarketplacebackend.view.CatalogViews;
+import com.marketplace.emarketplacebackend.view.FieldSelection;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -23,10 +26,14 @@ import java.util.List; // Keep this if other methods return List, or remove if a
 public class ProductController {
 
     private final ProductService productService;
+    private final CatalogViews catalogViews; // Renders ?fields= / ?expand= selections
+    private final StockService stockService;
 
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, CatalogViews catalogViews, StockService stockService) {
         this.productService = productService;
+        this.catalogViews = catalogViews;
+        this.stockService = stockService;
     }
 
     @PostMapping
@@ -47,8 +54,10 @@ public class ProductController {
     // Example usage: GET /api/products?page=0&size=10&sort=name,asc&location=NewYork
     // Default: page=0, size=20, sort by id ascending
     @GetMapping
-    public ResponseEntity<Page<Product>> getAllProducts(
+    public ResponseEntity<Page<?>> getAllProducts(
             @RequestParam(required = false) String location, // Optional location parameter
+            @RequestParam(required = false) String fields, // Optional sparse fieldset, e.g. fields=id,name,price
+            @RequestParam(required = false) String expand, // Optional associations to embed, e.g. expand=category,store
             @PageableDefault(page = 0, size = 20) // Default page 0, size 20
             @SortDefault(sort = "id", direction = Sort.Direction.ASC) // Default sort by id ascending
             Pageable pageable) {
@@ -59,13 +68,19 @@ public class ProductController {
         } else {
             products = productService.getAllProducts(pageable);
         }
-        return new ResponseEntity<>(products, HttpStatus.OK);
+        return respond(products, fields, expand);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
+    public ResponseEntity<?> getProductById(@PathVariable Long id,
+                                            @RequestParam(required = false) String fields,
+                                            @RequestParam(required = false) String expand) {
         Product product = productService.getProductById(id);
-        return new ResponseEntity<>(product, HttpStatus.OK);
+        FieldSelection selection = FieldSelection.parse(fields, expand);
+        if (selection.isEmpty()) {
+            return new ResponseEntity<>(product, HttpStatus.OK);
+        }
+        return new ResponseEntity<>(catalogViews.product(product, selection), HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
@@ -75,12 +90,41 @@ public class ProductController {
         productService.deleteProduct(id);
     }
 
+    // Takes units atomically: 204 when taken, 409 when fewer are left (nothing is taken then).
+    // Admin-only: there is no order flow yet, and customers must not be able to take stock without buying it.
+    // Example usage: POST /api/products/42/stock/decrement?quantity=1
+    @PostMapping("/{id}/stock/decrement")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void decrementStock(@PathVariable Long id, @RequestParam(defaultValue = "1") int quantity) {
+        stockService.decrement(id, quantity);
+    }
+
+    // Sellers may only change the stock of their own stores' products
+    @PostMapping("/{id}/stock/increment")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('SELLER') and @sellerAccess.ownsProduct(#id, authentication))")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void incrementStock(@PathVariable Long id, @RequestParam(defaultValue = "1") int quantity) {
+        stockService.release(id, quantity);
+    }
+
+    // Splits a hot product's stock over count shard rows; count=0 (or 1) moves it back into the product row
+    // Example usage: PUT /api/products/42/stock/shards?count=16
+    @PutMapping("/{id}/stock/shards")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('SELLER') and @sellerAccess.ownsProduct(#id, authentication))")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void shardStock(@PathVariable Long id, @RequestParam int count) {
+        stockService.shard(id, count);
+    }
+
     // MODIFIED: Endpoint to get products by category with pagination, sorting, and optional location
     // Example usage: GET /api/products/category/Electronics?location=London&page=0&size=10
     @GetMapping("/category/{categoryName}")
-    public ResponseEntity<Page<Product>> getProductsByCategory(
+    public ResponseEntity<Page<?>> getProductsByCategory(
             @PathVariable String categoryName,
             @RequestParam(required = false) String location, // NEW: Optional location parameter
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
             @PageableDefault(page = 0, size = 20)
             @SortDefault(sort = "name", direction = Sort.Direction.ASC)
             Pageable pageable) {
@@ -93,15 +137,17 @@ public class ProductController {
             // Existing behavior: search by category only
             products = productService.getProductsByCategory(categoryName, pageable);
         }
-        return new ResponseEntity<>(products, HttpStatus.OK);
+        return respond(products, fields, expand);
     }
 
     // MODIFIED: Endpoint to get products by seller store with pagination, sorting, and optional location
     // Example usage: GET /api/products/seller/store/123?location=Paris&page=0&size=10
     @GetMapping("/seller/store/{storeId}")
-    public ResponseEntity<Page<Product>> getProductsByStore(
+    public ResponseEntity<Page<?>> getProductsByStore(
             @PathVariable Long storeId,
             @RequestParam(required = false) String location, // NEW: Optional location parameter
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
             @PageableDefault(page = 0, size = 20)
             @SortDefault(sort = "name", direction = Sort.Direction.ASC)
             Pageable pageable) {
@@ -114,15 +160,17 @@ public class ProductController {
             // Existing behavior: search by seller only
             products = productService.getProductsByStore(storeId, pageable);
         }
-        return new ResponseEntity<>(products, HttpStatus.OK);
+        return respond(products, fields, expand);
     }
 
     // MODIFIED: Endpoint to search products by query AND optional location
     // Example usage: GET /api/products/search?query=laptop&location=NewYork&page=0&size=10
     @GetMapping("/search")
-    public ResponseEntity<Page<Product>> searchProducts(
+    public ResponseEntity<Page<?>> searchProducts(
             @RequestParam String product_name,
             @RequestParam(required = false) String location, // NEW: Optional location parameter
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
             @PageableDefault(page = 0, size = 20)
             @SortDefault(sort = "name", direction = Sort.Direction.ASC)
             Pageable pageable) {
@@ -135,6 +183,16 @@ public class ProductController {
             // Existing behavior: search by query only
             products = productService.searchProducts(product_name, pageable);
         }
-        return new ResponseEntity<>(products, HttpStatus.OK);
+        return respond(products, fields, expand);
+    }
+
+    // Full entities unless the client asked for a sparse fieldset; then only the selected fields and
+    // expansions are rendered, and only the expanded associations are loaded (one batched query each).
+    private ResponseEntity<Page<?>> respond(Page<Product> products, String fields, String expand) {
+        FieldSelection selection = FieldSelection.parse(fields, expand);
+        if (selection.isEmpty()) {
+            return new ResponseEntity<>(products, HttpStatus.OK);
+        }
+        return new ResponseEntity<>(catalogViews.products(products, selection), HttpStatus.OK);
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+// ReactiveCatalogController.java
+package com.marketplace.emarketplacebackend.controller;
+
+import com.marketplace.emarketplacebackend.catalog.ProductDocument;
+import com.marketplace.emarketplacebackend.catalog.ProductDocumentStore;
+import com.marketplace.emarketplacebackend.catalog.ProductQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only catalog API over the product document store. Handlers return Reactor types, which Spring MVC
+ * serves asynchronously: no request thread waits for the store, and NDJSON streams are written one document
+ * per request(1) as the connection drains, so a client can read the whole catalog without paging.
+ * Resume an interrupted stream with after=(last id received).
+ */
+@RestController
+@RequestMapping("/api/catalog/products")
+public class ReactiveCatalogController {
+
+    private final ProductDocumentStore documentStore;
+
+    @Autowired
+    public ReactiveCatalogController(ProductDocumentStore documentStore) {
+        this.documentStore = documentStore;
+    }
+
+    // Example: GET /api/catalog/products?category=Electronics&location=Lagos&after=1200&limit=500
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductDocument> listProducts(@RequestParam(required = false) String category,
+                                              @RequestParam(required = false) String location,
+                                              @RequestParam(required = false) Long after,
+                                              @RequestParam(required = false) Integer limit) {
+        return limit(documentStore.find(new ProductQuery(null, category, location, after)), limit);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ProductDocument>> getProduct(@PathVariable long id) {
+        return documentStore.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // Example: GET /api/catalog/products/search?q=phone&location=Warri
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductDocument> searchProducts(@RequestParam String q,
+                                                @RequestParam(required = false) String location,
+                                                @RequestParam(required = false) Long after,
+                                                @RequestParam(required = false) Integer limit) {
+        return limit(documentStore.find(new ProductQuery(q, null, location, after)), limit);
+    }
+
+    // take() cancels the store query once the limit is reached, so nothing past it is read
+    private static Flux<ProductDocument> limit(Flux<ProductDocument> documents, Integer limit) {
+        return limit == null || limit <= 0 ? documents : documents.take(limit, true);
+    }
+}
@@ -1,9 +1,15 @@
 // SellerController.java (CORRECTED createSeller method)
 package com.marketplace.emarketplacebackend.controller;
 
+import com.marketplace.emarketplacebackend.dto.SellerDashboard;
 import com.marketplace.emarketplacebackend.model.Seller;
 import com.marketplace.emarketplacebackend.repository.SellerRepository;
+import com.marketplace.emarketplacebackend.service.BulkDeletionService;
+import com.marketplace.emarketplacebackend.service.DeletionJob;
+import com.marketplace.emarketplacebackend.service.SellerDashboardService;
 import com.marketplace.emarketplacebackend.service.SellerService; // NEW IMPORT
+import com.marketplace.emarketplacebackend.view.CatalogViews;
+import com.marketplace.emarketplacebackend.view.FieldSelection;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;    // NEW IMPORT
 import org.springframework.data.domain.Pageable; // NEW IMPORT
@@ -25,31 +31,45 @@ public class SellerController {
 
     private final SellerRepository sellerRepository; // Keep if directly used in controller
     private final SellerService sellerService; // NEW: Inject SellerService
+    private final CatalogViews catalogViews; // Renders ?fields= / ?expand= selections
+    private final BulkDeletionService bulkDeletionService;
+    private final SellerDashboardService sellerDashboardService;
 
     @Autowired
-    public SellerController(SellerRepository sellerRepository, SellerService sellerService) {
+    public SellerController(SellerRepository sellerRepository, SellerService sellerService, CatalogViews catalogViews,
+                            BulkDeletionService bulkDeletionService, SellerDashboardService sellerDashboardService) {
         this.sellerRepository = sellerRepository;
         this.sellerService = sellerService; // Initialize service
+        this.catalogViews = catalogViews;
+        this.bulkDeletionService = bulkDeletionService;
+        this.sellerDashboardService = sellerDashboardService;
     }
 
     // Get all sellers - accessible by any authenticated user
     // MODIFIED: getAllSellers to support pagination and sorting
     // Example usage: GET /api/sellers?page=0&size=5&sort=name,desc
+    // Sparse: GET /api/sellers?fields=id,name,stores.name&expand=stores (stores are loaded in one query for the page)
     @GetMapping
-    public ResponseEntity<Page<Seller>> getAllSellers(
+    public ResponseEntity<Page<?>> getAllSellers(
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
             @PageableDefault(page = 0, size = 10) // Default page 0, size 10
             @SortDefault(sort = "name", direction = Sort.Direction.ASC) // Default sort by name ascending
             Pageable pageable) {
         
         Page<Seller> sellers = sellerService.getAllSellers(pageable);
-        return new ResponseEntity<>(sellers, HttpStatus.OK);
+        return respond(sellers, fields, expand);
     }
 
     // Get seller by ID - accessible by any authenticated user
     @GetMapping("/{id}")
-    public ResponseEntity<Seller> getSellerById(@PathVariable Long id) {
+    public ResponseEntity<?> getSellerById(@PathVariable Long id,
+                                           @RequestParam(required = false) String fields,
+                                           @RequestParam(required = false) String expand) {
+        FieldSelection selection = FieldSelection.parse(fields, expand);
         Optional<Seller> sellerData = sellerService.getSellerById(id); // Use service
-        return sellerData.map(seller -> new ResponseEntity<>(seller, HttpStatus.OK))
+        return sellerData.map(seller -> new ResponseEntity<Object>(
+                                 selection.isEmpty() ? seller : catalogViews.seller(seller, selection), HttpStatus.OK))
                          .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
@@ -82,28 +102,43 @@ public class SellerController {
         }
     }
 
-    // Delete a seller - Only for ADMINS
+    // Inventory totals (products, stock units, inventory value) overall and per store.
+    // Read from the precomputed store_inventory_stats rows, so the cost does not grow with the product count.
+    // Sellers only see their own dashboard.
+    @GetMapping("/{id}/dashboard")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('SELLER') and @sellerAccess.isOwner(#id, authentication))")
+    public ResponseEntity<SellerDashboard> getSellerDashboard(@PathVariable Long id) {
+        return new ResponseEntity<>(sellerDashboardService.getDashboard(id), HttpStatus.OK);
+    }
+
+    // Delete a seller with all its stores and products - Only for ADMINS
+    // Runs in the background; poll GET /api/deletion-jobs/{jobId} for progress
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<HttpStatus> deleteSeller(@PathVariable Long id) {
-        try {
-            sellerService.deleteSeller(id); // Use service
-            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-        } catch (Exception e) {
-            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+    public ResponseEntity<DeletionJob> deleteSeller(@PathVariable Long id) {
+        return new ResponseEntity<>(bulkDeletionService.startSellerDeletion(id), HttpStatus.ACCEPTED);
     }
 
     // NEW: Endpoint to search sellers by name with pagination and sorting
     // Example: GET /api/sellers/search?query=tech&page=0&size=5
     @GetMapping("/search")
-    public ResponseEntity<Page<Seller>> searchSellers(
+    public ResponseEntity<Page<?>> searchSellers(
             @RequestParam String query,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
             @PageableDefault(page = 0, size = 10)
             @SortDefault(sort = "name", direction = Sort.Direction.ASC)
             Pageable pageable) {
 
         Page<Seller> sellers = sellerService.searchSellers(query, pageable);
-        return new ResponseEntity<>(sellers, HttpStatus.OK);
+        return respond(sellers, fields, expand);
+    }
+
+    private ResponseEntity<Page<?>> respond(Page<Seller> sellers, String fields, String expand) {
+        FieldSelection selection = FieldSelection.parse(fields, expand);
+        if (selection.isEmpty()) {
+            return new ResponseEntity<>(sellers, HttpStatus.OK);
+        }
+        return new ResponseEntity<>(catalogViews.sellers(sellers, selection), HttpStatus.OK);
     }
 }
\ No newline at end of file
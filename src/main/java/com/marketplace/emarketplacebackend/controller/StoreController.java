@@ -1,8 +1,17 @@
 package com.marketplace.emarketplacebackend.controller;
 
+import com.marketplace.emarketplacebackend.dto.LocationSearchResult;
+import com.marketplace.emarketplacebackend.dto.RatingRequest;
+import com.marketplace.emarketplacebackend.dto.StoreRank;
 import com.marketplace.emarketplacebackend.dto.StoreRequest;
+import com.marketplace.emarketplacebackend.dto.StoreSummary;
 import com.marketplace.emarketplacebackend.model.Store;
+import com.marketplace.emarketplacebackend.service.BulkDeletionService;
+import com.marketplace.emarketplacebackend.service.DeletionJob;
 import com.marketplace.emarketplacebackend.service.StoreService;
+import com.marketplace.emarketplacebackend.service.UserDetailsImpl;
+import com.marketplace.emarketplacebackend.view.CatalogViews;
+import com.marketplace.emarketplacebackend.view.FieldSelection;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -13,6 +22,7 @@ import org.springframework.data.web.SortDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -21,11 +31,17 @@ import java.util.List;
 @RequestMapping("/api/stores")
 public class StoreController {
 
+    private static final int MAX_LEADERBOARD_SIZE = 100;
+
     private final StoreService storeService;
+    private final CatalogViews catalogViews; // Renders ?fields= / ?expand= selections
+    private final BulkDeletionService bulkDeletionService;
 
     @Autowired
-    public StoreController(StoreService storeService) {
+    public StoreController(StoreService storeService, CatalogViews catalogViews, BulkDeletionService bulkDeletionService) {
         this.storeService = storeService;
+        this.catalogViews = catalogViews;
+        this.bulkDeletionService = bulkDeletionService;
     }
 
     @PostMapping
@@ -35,24 +51,81 @@ public class StoreController {
         return new ResponseEntity<>(createdStore, HttpStatus.CREATED);
     }
 
+    // Paginated store summaries with product counts; products are listed via /api/products/seller/store/{storeId}
+    // Example usage: GET /api/stores?page=0&size=20&sort=name,asc
     @GetMapping
-    public ResponseEntity<List<Store>> getAllStores() {
-        List<Store> stores = storeService.getAllStores();
+    public ResponseEntity<Page<StoreSummary>> getAllStores(
+            @PageableDefault(page = 0, size = 20)
+            @SortDefault(sort = "id", direction = Sort.Direction.ASC)
+            Pageable pageable) {
+        Page<StoreSummary> stores = storeService.getStoreSummaries(pageable);
+        return new ResponseEntity<>(stores, HttpStatus.OK);
+    }
+
+    // Combined store filters answered from the in-memory bitmap index; results are ordered by store id.
+    // Locations are OR'ed; categories must all match (match=all, the default) or any may match (match=any).
+    // Example usage: GET /api/stores/filter?location=Warri&category=Electronics&category=Sports&page=0&size=20
+    @GetMapping("/filter")
+    public ResponseEntity<Page<StoreSummary>> filterStores(
+            @RequestParam(name = "location", required = false) List<String> locations,
+            @RequestParam(name = "category", required = false) List<String> categories,
+            @RequestParam(defaultValue = "all") String match,
+            @PageableDefault(page = 0, size = 20) Pageable pageable) {
+        Page<StoreSummary> stores = storeService.filterStores(
+                locations == null ? List.of() : locations,
+                categories == null ? List.of() : categories,
+                !"any".equalsIgnoreCase(match),
+                pageable);
         return new ResponseEntity<>(stores, HttpStatus.OK);
     }
 
+    // Typo-tolerant location search: "lagos nigeria", "Lagos, NG" and "Lagoss" all find the stores in "Lagos, Nigeria".
+    // Returns the locations the query resolved to and a page of their stores, in one call.
+    // Example usage: GET /api/stores/search/location?q=Lagoss&page=0&size=20
+    @GetMapping("/search/location")
+    public ResponseEntity<LocationSearchResult> searchStoresByLocation(
+            @RequestParam("q") String query,
+            @PageableDefault(page = 0, size = 20) Pageable pageable) {
+        return new ResponseEntity<>(storeService.searchStoresByLocation(query, pageable), HttpStatus.OK);
+    }
+
+    // Top rated stores, served from the in-memory leaderboard (no database query)
+    // Example usage: GET /api/stores/top?location=Warri&limit=10
+    @GetMapping("/top")
+    public ResponseEntity<List<StoreRank>> getTopRatedStores(
+            @RequestParam(required = false) String location,
+            @RequestParam(defaultValue = "10") int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LEADERBOARD_SIZE));
+        return new ResponseEntity<>(storeService.getTopRatedStores(location, boundedLimit), HttpStatus.OK);
+    }
+
+    // Rate a store from 1 to 5. Request Body example: { "score": 4 }
+    // Each user has one rating per store; rating again replaces it.
+    @PostMapping("/{id}/ratings")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StoreRank> rateStore(@PathVariable Long id, @Valid @RequestBody RatingRequest ratingRequest,
+                                               @AuthenticationPrincipal UserDetailsImpl user) {
+        StoreRank rank = storeService.rateStore(id, user.getId(), ratingRequest.getScore());
+        return new ResponseEntity<>(rank, HttpStatus.OK);
+    }
+
+    // Example usage: GET /api/stores/5?fields=name,location&expand=seller
     @GetMapping("/{id}")
-    public ResponseEntity<Store> getStoreById(@PathVariable Long id) {
+    public ResponseEntity<?> getStoreById(@PathVariable Long id,
+                                          @RequestParam(required = false) String fields,
+                                          @RequestParam(required = false) String expand) {
+        FieldSelection selection = FieldSelection.parse(fields, expand);
         return storeService.getStoreById(id)
-                .map(store -> new ResponseEntity<>(store, HttpStatus.OK))
+                .map(store -> new ResponseEntity<Object>(
+                        selection.isEmpty() ? store : catalogViews.store(store, selection), HttpStatus.OK))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @GetMapping("/stores/{sellerId}")
-    public ResponseEntity<Page<Store>> getStoresBySeller(@PathVariable Long sellerId , 
+    public ResponseEntity<Page<StoreSummary>> getStoresBySeller(@PathVariable Long sellerId , 
             @PageableDefault(page = 0, size = 20)
             Pageable pageable) {
-        Page<Store> stores = storeService.getStoresBySeller(sellerId, pageable);
+        Page<StoreSummary> stores = storeService.getStoresBySeller(sellerId, pageable);
         return new ResponseEntity<>(stores, HttpStatus.OK);
     }
 
@@ -63,10 +136,10 @@ public class StoreController {
         return new ResponseEntity<>(updatedStore, HttpStatus.OK);
     }
 
+    // Deletion runs in the background; poll GET /api/deletion-jobs/{jobId} for progress
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER')")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteStore(@PathVariable Long id) {
-        storeService.deleteStore(id);
+    public ResponseEntity<DeletionJob> deleteStore(@PathVariable Long id) {
+        return new ResponseEntity<>(bulkDeletionService.startStoreDeletion(id), HttpStatus.ACCEPTED);
     }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+// ReadWriteRoutingDataSource.java
+package com.marketplace.emarketplacebackend.datasource;
+
+import com.marketplace.emarketplacebackend.util.TransactionCallbacks;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions (@Transactional(readOnly = true), including Spring Data's own finders) to the
+ * replica pool and everything else to the primary. A user who committed a write within the read-your-writes
+ * window keeps reading from the primary.
+ *
+ * The routing decision is taken when a physical connection is fetched, so this must sit behind a
+ * LazyConnectionDataSourceProxy: otherwise the transaction manager fetches the connection before the
+ * transaction's read-only flag is visible.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    Route currentRoute() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY; // Auto-commit access outside a transaction, e.g. schema setup at startup
+        }
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null) {
+                TransactionCallbacks.afterCommit(() -> tracker.recordWrite(user));
+            }
+            return Route.PRIMARY;
+        }
+        if (user != null && tracker.isWithinWindow(user)) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
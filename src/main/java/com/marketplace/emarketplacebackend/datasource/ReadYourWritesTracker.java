@@ -0,0 +1,42 @@
+// ReadYourWritesTracker.java
+package com.marketplace.emarketplacebackend.datasource;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each user last committed a write, so that user's reads stay on the primary for a short window
+ * afterwards and never observe a replica that has not caught up with their own change yet.
+ */
+public class ReadYourWritesTracker {
+
+    // Expired entries are swept once the map grows past this size
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final long windowMillis;
+    private final Clock clock;
+    private final Map<String, Long> lastWriteMillis = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this(windowMillis, Clock.systemUTC());
+    }
+
+    ReadYourWritesTracker(long windowMillis, Clock clock) {
+        this.windowMillis = windowMillis;
+        this.clock = clock;
+    }
+
+    public void recordWrite(String user) {
+        long now = clock.millis();
+        lastWriteMillis.put(user, now);
+        if (lastWriteMillis.size() > SWEEP_THRESHOLD) {
+            lastWriteMillis.values().removeIf(writtenAt -> now - writtenAt >= windowMillis);
+        }
+    }
+
+    public boolean isWithinWindow(String user) {
+        Long writtenAt = lastWriteMillis.get(user);
+        return writtenAt != null && clock.millis() - writtenAt < windowMillis;
+    }
+}
@@ -0,0 +1,43 @@
+// SqlDiagnosticsProperties.java
+package com.marketplace.emarketplacebackend.diagnostics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * marketplace.diagnostics.sql.* settings. Budgets are listed as
+ * {@code budgets[0].method=GET}, {@code budgets[0].path=/api/products/{id}}, {@code budgets[0].max-statements=3};
+ * the first entry matching a request applies.
+ */
+@Data
+@ConfigurationProperties("marketplace.diagnostics.sql")
+public class SqlDiagnosticsProperties {
+
+    private boolean enabled;
+
+    // Executions of the same SQL in one request before it is reported as a likely N+1
+    private int repeatThreshold = 3;
+
+    // Throw instead of only logging when a request goes over its budget (meant for tests)
+    private boolean failOnBudgetExceeded;
+
+    // Responses that are streamed or completed asynchronously can't be buffered to add the headers
+    private List<String> excludedPaths = new ArrayList<>(List.of("/api/export/**", "/api/catalog/**"));
+
+    private List<Budget> budgets = new ArrayList<>();
+
+    @Data
+    public static class Budget {
+
+        // Any method when empty
+        private String method;
+
+        // Spring MVC path pattern, e.g. /api/stores/{id}/products
+        private String path;
+
+        private int maxStatements;
+    }
+}
@@ -0,0 +1,104 @@
+// SqlStatementListener.java
+package com.marketplace.emarketplacebackend.diagnostics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Feeds every statement executed through the proxied datasource into the current request's
+ * {@link SqlStatementStats}. Rows read are counted as ResultSet.next() calls that returned a row, rows written
+ * from the update counts. Does nothing on threads without a request (startup, @Async jobs).
+ */
+public class SqlStatementListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final String START_NANOS = "sqlStats.startNanos";
+
+    private static final String DIAGNOSTICS_PACKAGE = SqlStatementListener.class.getPackageName() + ".";
+
+    // Frames skipped when looking for where a statement was triggered from
+    private static final Set<String> INFRASTRUCTURE_PACKAGES = Set.of(
+            "java.", "javax.", "jdk.", "sun.", "com.sun.", "jakarta.", "net.ttddyy.", "com.zaxxer.",
+            "org.hibernate.", "org.springframework.", "org.apache.", "org.h2.", "com.mysql.", "org.postgresql.",
+            "org.flywaydb.");
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (SqlStatementStats.current() != null) {
+            execInfo.addCustomValue(START_NANOS, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatementStats stats = SqlStatementStats.current();
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (stats == null || start == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        long updatedRows = updatedRows(execInfo.getResult());
+
+        // A JDBC batch is one round trip by design, so it is never an N+1 candidate
+        if (execInfo.isBatch() || queryInfoList.size() != 1) {
+            stats.recordBatch(nanos, updatedRows);
+            return;
+        }
+        String sql = queryInfoList.get(0).getQuery();
+        if (stats.recordExecution(sql, nanos, updatedRows)) {
+            stats.recordRepeat(sql, callSite());
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            SqlStatementStats stats = SqlStatementStats.current();
+            if (stats != null) {
+                stats.recordRowRead();
+            }
+        }
+    }
+
+    private static long updatedRows(Object result) {
+        if (result instanceof Number count) {
+            return Math.max(count.longValue(), 0);
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0); // SUCCESS_NO_INFO is -2
+            }
+            return total;
+        }
+        return 0; // ResultSet: rows are counted as they are read
+    }
+
+    // The innermost frame that isn't JDBC, ORM, Spring or JDK code: the service method that called a repository,
+    // or e.g. a Jackson serializer when a lazy association is touched after the controller returned.
+    private static String callSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+                        .filter(frame -> !isInfrastructure(frame.getClassName()))
+                        .findFirst())
+                .map(frame -> frame.toStackTraceElement().toString())
+                .orElse("unknown");
+    }
+
+    private static boolean isInfrastructure(String className) {
+        return className.startsWith(DIAGNOSTICS_PACKAGE)
+                || className.contains("$HibernateProxy") // Lazy entity proxies live in the model package
+                || INFRASTRUCTURE_PACKAGES.stream().anyMatch(className::startsWith);
+    }
+}
@@ -0,0 +1,108 @@
+// SqlStatementStats.java
+package com.marketplace.emarketplacebackend.diagnostics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC activity of one HTTP request: statements executed, rows read or written, time spent executing, and the
+ * statements that ran repeatedly with the same SQL (the usual N+1 shape: one lazy load per row of a previous query).
+ *
+ * Bound to the request thread by {@link SqlStatsFilter}; statements run on other threads (@Async jobs, streaming
+ * responses) are not counted. Not thread-safe, since only the owning thread records into it.
+ */
+public class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final int repeatThreshold;
+
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private final List<RepeatedStatement> repeated = new ArrayList<>();
+
+    SqlStatementStats(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    static SqlStatementStats begin(int repeatThreshold) {
+        SqlStatementStats stats = new SqlStatementStats(repeatThreshold);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The stats of the request running on this thread, or null outside a request.
+     */
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Records one execution. Returns true the first time {@code sql} reaches the repeat threshold, so the caller
+     * only pays for capturing a call site once per statement.
+     */
+    boolean recordExecution(String sql, long nanos, long updatedRows) {
+        statements++;
+        jdbcNanos += nanos;
+        rows += updatedRows;
+        return executionsBySql.merge(sql, 1, Integer::sum) == repeatThreshold;
+    }
+
+    void recordBatch(long nanos, long updatedRows) {
+        statements++;
+        jdbcNanos += nanos;
+        rows += updatedRows;
+    }
+
+    void recordRowRead() {
+        rows++;
+    }
+
+    void recordRepeat(String sql, String callSite) {
+        repeated.add(new RepeatedStatement(sql, callSite));
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getJdbcMillis() {
+        return jdbcNanos / 1_000_000;
+    }
+
+    /**
+     * Statements that ran at least the repeat threshold number of times, with their final execution count.
+     */
+    public List<RepeatedStatement> getRepeatedStatements() {
+        return repeated.stream()
+                .map(statement -> statement.withExecutions(executionsBySql.get(statement.sql())))
+                .toList();
+    }
+
+    /**
+     * @param callSite the first frame outside JDBC/ORM/framework code when the threshold was reached
+     */
+    public record RepeatedStatement(String sql, String callSite, int executions) {
+
+        RepeatedStatement(String sql, String callSite) {
+            this(sql, callSite, 0);
+        }
+
+        RepeatedStatement withExecutions(int executions) {
+            return new RepeatedStatement(sql, callSite, executions);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+// SqlStatsFilter.java
+package com.marketplace.emarketplacebackend.diagnostics;
+
+import com.marketplace.emarketplacebackend.exception.SqlBudgetExceededException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+
+// Counts the SQL statements, rows and JDBC time of each request, reports them in X-SQL-* response headers,
+// logs statements repeated within the request and checks the per-endpoint statement budgets.
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String ROWS_HEADER = "X-SQL-Rows";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+    public static final String BUDGET_HEADER = "X-SQL-Budget";
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatsFilter.class);
+
+    private final SqlDiagnosticsProperties properties;
+    private final List<PathPattern> excludedPaths;
+    private final List<CompiledBudget> budgets;
+
+    public SqlStatsFilter(SqlDiagnosticsProperties properties) {
+        this.properties = properties;
+        this.excludedPaths = properties.getExcludedPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        this.budgets = properties.getBudgets().stream()
+                .map(budget -> new CompiledBudget(budget.getMethod(),
+                        PathPatternParser.defaultInstance.parse(budget.getPath()), budget.getMaxStatements()))
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(path(request));
+        return excludedPaths.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.begin(properties.getRepeatThreshold());
+        // Buffered so the headers can still be set after lazy loads that happen while the body is serialized
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            SqlStatementStats.end();
+        }
+
+        String endpoint = request.getMethod() + " " + path(request);
+        wrapper.setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+        wrapper.setHeader(ROWS_HEADER, String.valueOf(stats.getRows()));
+        wrapper.setHeader(TIME_HEADER, String.valueOf(stats.getJdbcMillis()));
+        for (SqlStatementStats.RepeatedStatement repeated : stats.getRepeatedStatements()) {
+            logger.warn("{}: same statement executed {} times (possible N+1), first repeated from {}: {}",
+                    endpoint, repeated.executions(), repeated.callSite(), repeated.sql());
+        }
+        logger.debug("{}: {} statements, {} rows, {} ms in JDBC",
+                endpoint, stats.getStatements(), stats.getRows(), stats.getJdbcMillis());
+
+        CompiledBudget budget = budgetFor(request);
+        if (budget != null) {
+            wrapper.setHeader(BUDGET_HEADER, String.valueOf(budget.maxStatements()));
+            if (stats.getStatements() > budget.maxStatements()) {
+                if (properties.isFailOnBudgetExceeded()) {
+                    throw new SqlBudgetExceededException(endpoint, stats.getStatements(), budget.maxStatements());
+                }
+                logger.warn("{}: {} SQL statements, over the budget of {}",
+                        endpoint, stats.getStatements(), budget.maxStatements());
+            }
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private CompiledBudget budgetFor(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(path(request));
+        for (CompiledBudget budget : budgets) {
+            boolean methodMatches = !StringUtils.hasText(budget.method())
+                    || budget.method().equalsIgnoreCase(request.getMethod());
+            if (methodMatches && budget.path().matches(path)) {
+                return budget;
+            }
+        }
+        return null;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private record CompiledBudget(String method, PathPattern path, int maxStatements) {
+    }
+}
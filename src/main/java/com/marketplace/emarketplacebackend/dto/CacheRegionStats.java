@@ -0,0 +1,10 @@
+// CacheRegionStats.java
+package com.marketplace.emarketplacebackend.dto;
+
+// Hit/miss counters of one second-level cache region since startup.
+public record CacheRegionStats(String region, long hits, long misses, long puts, long entriesInMemory, double hitRatio) {
+
+    public CacheRegionStats(String region, long hits, long misses, long puts, long entriesInMemory) {
+        this(region, hits, misses, puts, entriesInMemory, hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+    }
+}
@@ -0,0 +1,12 @@
+// LocationSearchResult.java
+package com.marketplace.emarketplacebackend.dto;
+
+import com.marketplace.emarketplacebackend.service.StoreLocationIndex.LocationMatch;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+// Answer to a fuzzy location search: the stored locations the query was resolved to (best first)
+// and one page of the stores in them, ordered by location score then store id.
+public record LocationSearchResult(String query, List<LocationMatch> locations, Page<StoreSummary> stores) {
+}
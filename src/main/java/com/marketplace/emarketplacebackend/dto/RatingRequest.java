@@ -0,0 +1,16 @@
+// RatingRequest.java
+package com.marketplace.emarketplacebackend.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class RatingRequest {
+
+    @NotNull(message = "Score cannot be null")
+    @Min(value = 1, message = "Score must be between 1 and 5")
+    @Max(value = 5, message = "Score must be between 1 and 5")
+    private Integer score;
+}
@@ -0,0 +1,10 @@
+// SellerDashboard.java
+package com.marketplace.emarketplacebackend.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Inventory totals for a seller across all its stores, plus the per-store breakdown.
+public record SellerDashboard(Long sellerId, int storeCount, long productCount, long stockUnits,
+                              BigDecimal inventoryValue, List<StoreInventory> stores) {
+}
@@ -0,0 +1,7 @@
+// StockLevel.java
+package com.marketplace.emarketplacebackend.dto;
+
+// What StockService needs to account for a stock change. Built by the JPQL constructor expression in
+// ProductRepository.findStockLevel.
+public record StockLevel(Long productId, Long storeId, Double price, Integer stock, Integer stockShards) {
+}
@@ -0,0 +1,8 @@
+// StoreInventory.java
+package com.marketplace.emarketplacebackend.dto;
+
+import java.math.BigDecimal;
+
+// One store's line on the seller dashboard. Built by the JPQL constructor expression in StoreInventoryStatsRepository.
+public record StoreInventory(Long storeId, String storeName, Long productCount, Long stockUnits, BigDecimal inventoryValue) {
+}
@@ -0,0 +1,10 @@
+// StoreRank.java
+package com.marketplace.emarketplacebackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// A store's position data on the top-rated leaderboard. Immutable, so leaderboard entries can be swapped atomically.
+// Built by the JPQL constructor expressions in StoreRepository. ratingVersion orders entries of the same store.
+public record StoreRank(Long storeId, String name, String location, Double averageRating, Long ratingCount,
+                        @JsonIgnore Long ratingVersion) {
+}
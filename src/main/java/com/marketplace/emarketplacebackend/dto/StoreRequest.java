@@ -1,10 +1,14 @@
 // StoreRequest.java
 package com.marketplace.emarketplacebackend.dto; // or payload.request
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.marketplace.emarketplacebackend.model.CategoryNames;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
+import java.util.Set;
+
 @Data
 public class StoreRequest {
     @NotBlank
@@ -14,9 +18,14 @@ public class StoreRequest {
     private String description;
     private String contactInfo;
     private String profileImageUrl;
-    private Double rating;
-    private String categories; // Comma-separated string if applicable
+    // Rating is not client-settable; it is aggregated from POST /api/stores/{id}/ratings
+    private String categories; // Comma-separated names of existing categories, e.g. "Electronics, Sports"
 
     @NotNull(message = "Seller ID cannot be null")
     private Long sellerId; // When creating a store, you link it to a seller
+
+    @JsonIgnore
+    public Set<String> getCategoryNames() {
+        return CategoryNames.split(categories);
+    }
 }
\ No newline at end of file
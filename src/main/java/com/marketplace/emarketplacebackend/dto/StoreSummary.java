@@ -0,0 +1,29 @@
+// StoreSummary.java
+package com.marketplace.emarketplacebackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Read-only view of a store for listings: carries a product count instead of the product collection.
+// Built by the JPQL constructor expressions in StoreRepository (categories are filled in afterwards with one batched query).
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoreSummary {
+    private Long id;
+    private String name;
+    private String location;
+    private String description;
+    private String contactInfo;
+    private String profileImageUrl;
+    private Double rating;
+    private Long sellerId;
+    private Long productCount;
+    private String categories; // Comma-separated names, as on the store itself
+
+    public StoreSummary(Long id, String name, String location, String description, String contactInfo,
+                        String profileImageUrl, Double rating, Long sellerId, Long productCount) {
+        this(id, name, location, description, contactInfo, profileImageUrl, rating, sellerId, productCount, null);
+    }
+}
@@ -0,0 +1,25 @@
+// CartItemChangedEvent.java
+package com.marketplace.emarketplacebackend.event;
+
+import java.time.Instant;
+
+// A cart line was added, changed or removed; quantity is the line's new quantity, 0 once removed
+public record CartItemChangedEvent(Long cartId, Long userId, Long productId, int quantity, Instant occurredAt)
+        implements DomainEvent {
+
+    public static final String AGGREGATE_TYPE = "cart";
+
+    public static CartItemChangedEvent of(Long cartId, Long userId, Long productId, int quantity) {
+        return new CartItemChangedEvent(cartId, userId, productId, quantity, Instant.now());
+    }
+
+    @Override
+    public String aggregateType() {
+        return AGGREGATE_TYPE;
+    }
+
+    @Override
+    public String aggregateId() {
+        return String.valueOf(cartId);
+    }
+}
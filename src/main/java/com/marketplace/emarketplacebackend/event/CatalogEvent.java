@@ -0,0 +1,10 @@
+// CatalogEvent.java
+package com.marketplace.emarketplacebackend.event;
+
+/**
+ * A change to the product catalog. Events carry the changed state itself, so consumers (the product document
+ * projection) never read it back from the relational tables.
+ */
+public sealed interface CatalogEvent extends DomainEvent permits ProductChangedEvent, ProductDeletedEvent,
+        ProductStockChangedEvent, StoreChangedEvent, StoreDeletedEvent {
+}
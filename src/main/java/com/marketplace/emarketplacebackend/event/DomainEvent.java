@@ -0,0 +1,19 @@
+// DomainEvent.java
+package com.marketplace.emarketplacebackend.event;
+
+import java.time.Instant;
+
+/**
+ * A change made by one of the services, published through the application event publisher inside the
+ * transaction that makes it. The outbox stores each event in that same transaction and relays it to subscribers
+ * after commit, in order per aggregate (the entity the event is about, identified by type and id).
+ */
+public sealed interface DomainEvent permits CatalogEvent, CartItemChangedEvent {
+
+    String aggregateType();
+
+    String aggregateId();
+
+    // When the service published the event, inside the writing transaction
+    Instant occurredAt();
+}
@@ -0,0 +1,41 @@
+// ProductChangedEvent.java
+package com.marketplace.emarketplacebackend.event;
+
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.model.Store;
+
+import java.time.Instant;
+
+// A product was created or updated; carries its full state, with category and store denormalized in
+public record ProductChangedEvent(Long productId,
+                                  String name,
+                                  String description,
+                                  Double price,
+                                  Integer stock,
+                                  String category,
+                                  Long storeId,
+                                  String storeName,
+                                  String storeLocation,
+                                  Long sellerId,
+                                  Instant occurredAt) implements CatalogEvent {
+
+    public static final String AGGREGATE_TYPE = "product";
+
+    // The product's category and store must be loaded, as they are right after a service write
+    public static ProductChangedEvent of(Product product) {
+        Store store = product.getStore();
+        return new ProductChangedEvent(product.getId(), product.getName(), product.getDescription(),
+                product.getPrice(), product.getStock(), product.getCategory().getName(), store.getId(),
+                store.getName(), store.getLocation(), store.getSeller().getId(), Instant.now());
+    }
+
+    @Override
+    public String aggregateType() {
+        return AGGREGATE_TYPE;
+    }
+
+    @Override
+    public String aggregateId() {
+        return String.valueOf(productId);
+    }
+}
@@ -0,0 +1,21 @@
+// ProductDeletedEvent.java
+package com.marketplace.emarketplacebackend.event;
+
+import java.time.Instant;
+
+public record ProductDeletedEvent(Long productId, Long storeId, Instant occurredAt) implements CatalogEvent {
+
+    public static ProductDeletedEvent of(Long productId, Long storeId) {
+        return new ProductDeletedEvent(productId, storeId, Instant.now());
+    }
+
+    @Override
+    public String aggregateType() {
+        return ProductChangedEvent.AGGREGATE_TYPE;
+    }
+
+    @Override
+    public String aggregateId() {
+        return String.valueOf(productId);
+    }
+}
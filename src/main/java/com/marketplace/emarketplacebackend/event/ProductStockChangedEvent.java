@@ -0,0 +1,23 @@
+// ProductStockChangedEvent.java
+package com.marketplace.emarketplacebackend.event;
+
+import java.time.Instant;
+
+// Only a product's stock changed (a purchase, a release, or the periodic sync of a sharded product's stock)
+public record ProductStockChangedEvent(Long productId, Long storeId, Integer stock, Instant occurredAt)
+        implements CatalogEvent {
+
+    public static ProductStockChangedEvent of(Long productId, Long storeId, Integer stock) {
+        return new ProductStockChangedEvent(productId, storeId, stock, Instant.now());
+    }
+
+    @Override
+    public String aggregateType() {
+        return ProductChangedEvent.AGGREGATE_TYPE;
+    }
+
+    @Override
+    public String aggregateId() {
+        return String.valueOf(productId);
+    }
+}
@@ -0,0 +1,28 @@
+// StoreChangedEvent.java
+package com.marketplace.emarketplacebackend.event;
+
+import com.marketplace.emarketplacebackend.model.Store;
+
+import java.time.Instant;
+
+// A store's name, location or seller may have changed; its products carry these fields in their documents
+public record StoreChangedEvent(Long storeId, String name, String location, Long sellerId, Instant occurredAt)
+        implements CatalogEvent {
+
+    public static final String AGGREGATE_TYPE = "store";
+
+    public static StoreChangedEvent of(Store store) {
+        return new StoreChangedEvent(store.getId(), store.getName(), store.getLocation(), store.getSeller().getId(),
+                Instant.now());
+    }
+
+    @Override
+    public String aggregateType() {
+        return AGGREGATE_TYPE;
+    }
+
+    @Override
+    public String aggregateId() {
+        return String.valueOf(storeId);
+    }
+}
@@ -0,0 +1,22 @@
+// StoreDeletedEvent.java
+package com.marketplace.emarketplacebackend.event;
+
+import java.time.Instant;
+
+// A store removed by a bulk deletion job, together with all its products
+public record StoreDeletedEvent(Long storeId, Instant occurredAt) implements CatalogEvent {
+
+    public static StoreDeletedEvent of(Long storeId) {
+        return new StoreDeletedEvent(storeId, Instant.now());
+    }
+
+    @Override
+    public String aggregateType() {
+        return StoreChangedEvent.AGGREGATE_TYPE;
+    }
+
+    @Override
+    public String aggregateId() {
+        return String.valueOf(storeId);
+    }
+}
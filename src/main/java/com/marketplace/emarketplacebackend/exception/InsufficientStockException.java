@@ -0,0 +1,13 @@
+package com.marketplace.emarketplacebackend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Thrown when a stock decrement asks for more units than the product has left; nothing is taken
+@ResponseStatus(HttpStatus.CONFLICT)
+public class InsufficientStockException extends RuntimeException {
+
+    public InsufficientStockException(Long productId, int requested, long available) {
+        super(String.format("Product %d has %d units in stock, %d requested", productId, available, requested));
+    }
+}
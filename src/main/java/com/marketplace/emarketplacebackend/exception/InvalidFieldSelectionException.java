@@ -0,0 +1,13 @@
+package com.marketplace.emarketplacebackend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Thrown when ?fields= or ?expand= names something the resource doesn't expose
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidFieldSelectionException extends RuntimeException {
+
+    public InvalidFieldSelectionException(String resourceName, String kind, String name) {
+        super(String.format("%s has no %s '%s'", resourceName, kind, name));
+    }
+}
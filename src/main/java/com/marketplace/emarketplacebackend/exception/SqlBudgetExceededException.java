@@ -0,0 +1,10 @@
+package com.marketplace.emarketplacebackend.exception;
+
+// Thrown by the SQL diagnostics filter when marketplace.diagnostics.sql.fail-on-budget-exceeded is set,
+// so an endpoint that starts issuing more statements than its budget fails the test that calls it.
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String endpoint, int statements, int budget) {
+        super(String.format("%s executed %d SQL statements, budget is %d", endpoint, statements, budget));
+    }
+}
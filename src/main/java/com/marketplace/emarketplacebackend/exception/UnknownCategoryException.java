@@ -0,0 +1,15 @@
+package com.marketplace.emarketplacebackend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.Collection;
+
+// Thrown when a store request names categories that don't exist; categories are only created by the reference data
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnknownCategoryException extends RuntimeException {
+
+    public UnknownCategoryException(Collection<String> names) {
+        super("Unknown categories: " + String.join(", ", names));
+    }
+}
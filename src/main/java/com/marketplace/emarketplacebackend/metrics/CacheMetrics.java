@@ -0,0 +1,62 @@
+// CacheMetrics.java
+package com.marketplace.emarketplacebackend.metrics;
+
+import com.marketplace.emarketplacebackend.cache.CatalogResponseCache;
+import com.marketplace.emarketplacebackend.service.CacheStatisticsService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hit ratio gauges (marketplace.cache.hit.ratio, tagged by cache) for the catalog response cache and every
+ * second-level cache region, plus request counters and the size of the response cache. Per-region hit/miss
+ * counters come from hibernate-micrometer (hibernate.second.level.cache.requests). Both need Hibernate statistics,
+ * so without them (production) only the response cache is reported.
+ */
+@Component
+public class CacheMetrics implements MeterBinder {
+
+    public static final String HIT_RATIO = "marketplace.cache.hit.ratio";
+    public static final String CATALOG_RESPONSE_CACHE = "catalog-responses";
+    private static final String CATALOG_REQUESTS = "marketplace.catalog.cache.requests";
+
+    private final CatalogResponseCache catalogResponseCache;
+    private final CacheStatisticsService cacheStatisticsService;
+
+    public CacheMetrics(CatalogResponseCache catalogResponseCache, CacheStatisticsService cacheStatisticsService) {
+        this.catalogResponseCache = catalogResponseCache;
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(HIT_RATIO, catalogResponseCache, CacheMetrics::hitRatio)
+                .tag("cache", CATALOG_RESPONSE_CACHE)
+                .register(registry);
+        FunctionCounter.builder(CATALOG_REQUESTS, catalogResponseCache, CatalogResponseCache::getHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(CATALOG_REQUESTS, catalogResponseCache, CatalogResponseCache::getMissCount)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("marketplace.catalog.cache.size", catalogResponseCache, CatalogResponseCache::size)
+                .register(registry);
+
+        if (!cacheStatisticsService.isEnabled()) {
+            return;
+        }
+        for (String region : cacheStatisticsService.getRegionNames()) {
+            Gauge.builder(HIT_RATIO, cacheStatisticsService, service -> service.getRegionStatistics(region).hitRatio())
+                    .tag("cache", region)
+                    .register(registry);
+        }
+    }
+
+    private static double hitRatio(CatalogResponseCache cache) {
+        long hits = cache.getHitCount();
+        long total = hits + cache.getMissCount();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,18 @@
+// CacheRegions.java
+package com.marketplace.emarketplacebackend.model;
+
+// Hibernate second-level cache region names. Each must have a cache with its size and TTL in src/main/resources/ehcache.xml.
+public final class CacheRegions {
+
+    public static final String CATEGORY = "entity.category";
+    public static final String ROLE = "entity.role";
+    public static final String STORE = "entity.store";
+    // Results of the cacheable reference-data lookups (category and role by name)
+    public static final String REFERENCE_QUERIES = "query.reference";
+    // Hibernate's own regions: default query results, and last-write timestamps per table used to invalidate them
+    public static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,42 @@
+// CategoryNames.java
+package com.marketplace.emarketplacebackend.model;
+
+import com.fasterxml.jackson.databind.util.StdConverter;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Store categories travel over the API in their original shape, a comma-separated string such as
+ * "Electronics, Sports", even though they are stored as rows of store_categories.
+ * As a Jackson converter it renders a store's category collection in that form.
+ */
+public class CategoryNames extends StdConverter<Collection<Category>, String> {
+
+    @Override
+    public String convert(Collection<Category> categories) {
+        return join(categories.stream().map(Category::getName).toList());
+    }
+
+    // Sorted so the same categories always render the same string; null when there are none, as before
+    public static String join(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return null;
+        }
+        return names.stream().sorted().collect(Collectors.joining(", "));
+    }
+
+    // "Electronics, Sports" -> [Electronics, Sports]; blank entries are dropped
+    public static Set<String> split(String names) {
+        if (names == null || names.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(names.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
@@ -0,0 +1,56 @@
+// OutboxEvent.java
+package com.marketplace.emarketplacebackend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+// A domain event stored in the transaction that produced it, until OutboxRelay has delivered it.
+// IDENTITY ids (unlike every other entity): see V4__outbox.sql for why delivery order depends on them.
+// No @Index here: the indexes differ per database (PostgreSQL indexes only the unpublished rows, which JPA can't
+// express), so the V4 migrations are their only definition.
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 50)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false, length = 100)
+    private String aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    // The event as JSON
+    @Column(name = "payload", nullable = false, length = 4000)
+    private String payload;
+
+    @JdbcTypeCode(SqlTypes.TIMESTAMP)
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // Null until delivered
+    @JdbcTypeCode(SqlTypes.TIMESTAMP)
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    public OutboxEvent(String aggregateType, String aggregateId, String eventType, String payload,
+                       Instant createdAt) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+}
@@ -2,7 +2,7 @@
 package com.marketplace.emarketplacebackend.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.annotation.JsonBackReference;   // NEW IMPORT
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -20,7 +20,8 @@ import lombok.NoArgsConstructor;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -35,6 +36,13 @@ public class Product {
     @Column(nullable = false)
     private Integer stock; // Make sure this is initialized or set upon creation
 
+    // 0: stock is decremented in this row. N > 0: it is split across N product_stock_shards rows (see StockService)
+    // and stock above is a periodically refreshed snapshot. Only StockService changes it, with its own UPDATE, so a
+    // concurrent product edit can't write back a stale value.
+    @Column(name = "stock_shards", nullable = false, updatable = false)
+    @JsonIgnore
+    private int stockShards;
+
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
@@ -43,7 +51,7 @@ public class Product {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "store_id", nullable = false)
-    @JsonBackReference // Prevents infinite recursion when serializing Store -> Products -> Store
+    @JsonIgnore // Store is not serialized with the product (Store.products is not serialized either)
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "products"}) // Adjust as needed
     private Store store;
 
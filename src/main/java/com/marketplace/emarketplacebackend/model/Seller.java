@@ -9,7 +9,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode; // Assuming you're using this for @EqualsAndHashCode.Exclude
 import lombok.NoArgsConstructor;
-import com.fasterxml.jackson.annotation.JsonManagedReference;   // NEW IMPORT
+import com.fasterxml.jackson.annotation.JsonIgnore;
 // import com.fasterxml.jackson.annotation.JsonIgnoreProperties; // If you use it for bidirectional relationships
 
 @Entity
@@ -22,7 +22,8 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;   // NEW IMPORT
 public class Seller {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sellers_seq")
+    @SequenceGenerator(name = "sellers_seq", sequenceName = "sellers_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false, unique = true) // Added unique=true as names are often unique
@@ -32,7 +33,7 @@ public class Seller {
     private String email;
 
     @OneToMany(mappedBy = "seller", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    @JsonManagedReference // Essential for bidirectional JSON serialization
+    @JsonIgnore // Never serialized with the seller; use ?expand=stores or the seller's store endpoint instead
     private Set<Store> stores = new HashSet<>();
 
     // OPTIONAL: Add a custom constructor for common initializations if you don't want to pass all fields
@@ -1,12 +1,16 @@
 package com.marketplace.emarketplacebackend.model;
 
-import com.fasterxml.jackson.annotation.JsonBackReference;
-import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -16,11 +20,15 @@ import java.util.Set;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@EqualsAndHashCode(exclude = {"seller", "products"}) // Exclude bidirectional relationships
+@EqualsAndHashCode(exclude = {"seller", "products", "categories"}) // Exclude bidirectional relationships
+@DynamicUpdate // Only write changed columns, so saving a store never overwrites rating aggregates updated concurrently
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.STORE) // Re-read by id on every product write
 public class Store {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stores_seq")
+    @SequenceGenerator(name = "stores_seq", sequenceName = "stores_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -32,16 +40,39 @@ public class Store {
     private String description;
     private String contactInfo;
     private String profileImageUrl;
-    private Double rating; // Store-specific rating
-    private String categories; // Categories specific to this store (if distinct from seller's overall categories)
+    private Double rating; // Average rating, kept equal to ratingSum / ratingCount by StoreRepository
+
+    // Running aggregates so a new rating never needs to re-read earlier ones
+    @Column(nullable = false)
+    private Long ratingCount = 0L;
+
+    @Column(nullable = false)
+    @JsonIgnore
+    private Double ratingSum = 0.0;
+
+    // Incremented with every rating change, so late leaderboard updates can be told from newer ones
+    @Column(nullable = false)
+    @JsonIgnore
+    private Long ratingVersion = 0L;
+
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "seller_id", nullable = false)
-    @JsonBackReference // Prevents infinite recursion when serializing Seller -> Stores -> Seller
+    @JsonIgnore // Exposed as sellerId through ?fields=; loading it per store would be an N+1
     private Seller seller;
 
+    // Categories this store sells in (shared with products), normalized into the store_categories join table.
+    // Serialized in the API's original shape, a comma-separated string of names.
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "store_categories",
+               joinColumns = @JoinColumn(name = "store_id"),
+               inverseJoinColumns = @JoinColumn(name = "category_id"))
+    @BatchSize(size = 50) // Rendering a list of stores loads their categories 50 stores at a time
+    @JsonSerialize(converter = CategoryNames.class)
+    private Set<Category> categories = new HashSet<>();
+
     @OneToMany(mappedBy = "store", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    @JsonManagedReference // Ensures products are serialized when a store is fetched
+    @JsonIgnore // Never serialized with the store; use the paginated product endpoints instead
     private Set<Product> products = new HashSet<>();
 
     // Optional: Constructor for convenience
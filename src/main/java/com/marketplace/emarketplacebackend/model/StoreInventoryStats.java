@@ -0,0 +1,44 @@
+// StoreInventoryStats.java
+package com.marketplace.emarketplacebackend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Running inventory totals for one store, maintained by delta updates from the product write paths
+// so the seller dashboard never has to scan the products table. Keyed by store id without a foreign key,
+// so bulk deletion can drop it in the same batch as the store.
+@Entity
+@Table(name = "store_inventory_stats",
+       indexes = @Index(name = "idx_store_inventory_stats_seller", columnList = "seller_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoreInventoryStats {
+
+    @Id
+    @Column(name = "store_id")
+    private Long storeId;
+
+    @Column(name = "seller_id", nullable = false)
+    private Long sellerId;
+
+    @Column(name = "product_count", nullable = false)
+    private long productCount;
+
+    // Sum of product stock
+    @Column(name = "stock_units", nullable = false)
+    private long stockUnits;
+
+    // Sum of price * stock
+    @Column(name = "inventory_value", nullable = false, precision = 19, scale = 2)
+    private BigDecimal inventoryValue = BigDecimal.ZERO;
+
+    public StoreInventoryStats(Long storeId, Long sellerId) {
+        this.storeId = storeId;
+        this.sellerId = sellerId;
+    }
+}
@@ -0,0 +1,39 @@
+// StoreRating.java
+package com.marketplace.emarketplacebackend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// One user's current score for a store. Re-rating replaces the score, so each user counts once in the store's
+// ratingCount/ratingSum aggregates.
+@Entity
+@Table(name = "store_ratings")
+@IdClass(StoreRating.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoreRating {
+
+    @Id
+    @Column(name = "store_id")
+    private Long storeId;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "score", nullable = false)
+    private int score;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long storeId;
+        private Long userId;
+    }
+}
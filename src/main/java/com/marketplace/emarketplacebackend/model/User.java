@@ -24,7 +24,8 @@ import java.util.Set;      // For storing roles in a Set
 public class User {
 
     @Id // Marks this field as the primary key
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-increments the ID
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id; // Unique identifier for each user
 
     @Column(nullable = false, unique = true) // Username cannot be null and must be unique
@@ -0,0 +1,64 @@
+// DomainEventCodec.java
+package com.marketplace.emarketplacebackend.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.emarketplacebackend.event.CartItemChangedEvent;
+import com.marketplace.emarketplacebackend.event.DomainEvent;
+import com.marketplace.emarketplacebackend.event.ProductChangedEvent;
+import com.marketplace.emarketplacebackend.event.ProductDeletedEvent;
+import com.marketplace.emarketplacebackend.event.ProductStockChangedEvent;
+import com.marketplace.emarketplacebackend.event.StoreChangedEvent;
+import com.marketplace.emarketplacebackend.event.StoreDeletedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Domain events as stored in the outbox: JSON payloads, typed by the event record's simple name
+@Component
+public class DomainEventCodec {
+
+    private static final Map<String, Class<? extends DomainEvent>> EVENT_TYPES = List.of(
+                    ProductChangedEvent.class, ProductDeletedEvent.class, ProductStockChangedEvent.class,
+                    StoreChangedEvent.class, StoreDeletedEvent.class, CartItemChangedEvent.class).stream()
+            .collect(Collectors.toUnmodifiableMap(Class::getSimpleName, Function.identity()));
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public DomainEventCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public String typeOf(DomainEvent event) {
+        return event.getClass().getSimpleName();
+    }
+
+    public String encode(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + typeOf(event), e);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the type is unknown or the payload doesn't match it; such a row can
+     *                                  never be delivered.
+     */
+    public DomainEvent decode(String type, String payload) {
+        Class<? extends DomainEvent> eventClass = EVENT_TYPES.get(type);
+        if (eventClass == null) {
+            throw new IllegalArgumentException("Unknown domain event type: " + type);
+        }
+        try {
+            return objectMapper.readValue(payload, eventClass);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unreadable " + type + " payload: " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+// OutboxMessage.java
+package com.marketplace.emarketplacebackend.outbox;
+
+import com.marketplace.emarketplacebackend.event.DomainEvent;
+
+import java.time.Instant;
+
+// One relayed outbox row: the stored JSON for subscribers that forward it, and the decoded event for the others
+public record OutboxMessage(long id,
+                            String aggregateType,
+                            String aggregateId,
+                            String eventType,
+                            String payload,
+                            Instant createdAt,
+                            DomainEvent event) {
+}
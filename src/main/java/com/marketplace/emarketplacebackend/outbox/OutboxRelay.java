@@ -0,0 +1,183 @@
+// OutboxRelay.java
+package com.marketplace.emarketplacebackend.outbox;
+
+import com.marketplace.emarketplacebackend.event.DomainEvent;
+import com.marketplace.emarketplacebackend.model.OutboxEvent;
+import com.marketplace.emarketplacebackend.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Delivers committed outbox rows to every {@link OutboxSubscriber}, oldest first, batch-size rows per query.
+ * Each batch is handed over in id order and marked published with one UPDATE. When delivery of an event fails,
+ * the later events of the same aggregate are held back for the rest of the run, so an aggregate's events are never
+ * seen out of order; the relay pages past them to the other aggregates, and retries them on the next run.
+ *
+ * Exactly one instance should relay (marketplace.outbox.relay.enabled): concurrent relays would deliver the same
+ * rows twice and interleave them. Published rows are kept for the retention period, then deleted.
+ *
+ * Metrics: marketplace.outbox.relayed, marketplace.outbox.delivery.failures and marketplace.outbox.lag (age of
+ * the oldest undelivered event at the last run, 0 when the outbox was drained).
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final DomainEventCodec codec;
+    private final List<OutboxSubscriber> subscribers;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter relayed;
+    private final Counter failures;
+
+    // Scheduled runs and direct calls (tests) never overlap
+    private final ReentrantLock relayLock = new ReentrantLock();
+    private volatile Instant oldestPending;
+
+    @Value("${marketplace.outbox.relay.enabled:true}")
+    private boolean enabled;
+
+    @Value("${marketplace.outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${marketplace.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, DomainEventCodec codec,
+                       List<OutboxSubscriber> subscribers, TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.codec = codec;
+        this.subscribers = subscribers;
+        this.transactionTemplate = transactionTemplate;
+        this.relayed = Counter.builder("marketplace.outbox.relayed")
+                .description("Outbox events delivered to every subscriber")
+                .register(meterRegistry);
+        this.failures = Counter.builder("marketplace.outbox.delivery.failures")
+                .description("Outbox deliveries that failed and will be retried, or rows that could not be read")
+                .register(meterRegistry);
+        Gauge.builder("marketplace.outbox.lag", this, OutboxRelay::lagSeconds)
+                .description("Age of the oldest undelivered outbox event at the last relay run")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${marketplace.outbox.relay.interval-ms:200}")
+    public void relayScheduled() {
+        if (enabled) {
+            relayPending();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${marketplace.outbox.cleanup.interval-ms:600000}")
+    public void deleteExpired() {
+        if (enabled) {
+            Instant cutoff = Instant.now().minus(Duration.ofHours(retentionHours));
+            Integer deleted =
+                    transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(cutoff));
+            if (deleted != null && deleted > 0) {
+                logger.debug("Deleted {} outbox events published before {}", deleted, cutoff);
+            }
+        }
+    }
+
+    /**
+     * Relays batches until the end of the outbox. Events held back after a failed delivery stay unpublished and
+     * are paged past, so they never stall the aggregates behind them.
+     * @return The number of events delivered.
+     */
+    public int relayPending() {
+        relayLock.lock();
+        try {
+            int delivered = 0;
+            // Aggregates with a failed delivery in this run: their later events, in any batch, wait for the next run
+            Set<String> heldBack = new HashSet<>();
+            long afterId = 0;
+            while (true) {
+                List<OutboxEvent> batch = outboxEventRepository.findUnpublished(afterId, PageRequest.of(0, batchSize));
+                if (afterId == 0) {
+                    oldestPending = batch.isEmpty() ? null : batch.get(0).getCreatedAt();
+                }
+                if (batch.isEmpty()) {
+                    break;
+                }
+                List<Long> done = deliver(batch, heldBack);
+                if (!done.isEmpty()) {
+                    Instant now = Instant.now();
+                    transactionTemplate.executeWithoutResult(status -> outboxEventRepository.markPublished(done, now));
+                }
+                delivered += done.size();
+                if (batch.size() < batchSize) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+            if (heldBack.isEmpty()) {
+                oldestPending = null; // Drained, apart from events committed during the run
+            }
+            return delivered;
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    // Returns the ids to mark published
+    private List<Long> deliver(List<OutboxEvent> batch, Set<String> heldBack) {
+        List<Long> done = new ArrayList<>(batch.size());
+        for (OutboxEvent row : batch) {
+            String aggregate = row.getAggregateType() + ":" + row.getAggregateId();
+            if (heldBack.contains(aggregate)) {
+                continue;
+            }
+            DomainEvent event;
+            try {
+                event = codec.decode(row.getEventType(), row.getPayload());
+            } catch (IllegalArgumentException e) {
+                // Retrying can't help, and holding it would block its aggregate for good
+                logger.error("Dropping outbox event {} for {}: {}", row.getId(), aggregate, e.getMessage());
+                failures.increment();
+                done.add(row.getId());
+                continue;
+            }
+            OutboxMessage message = new OutboxMessage(row.getId(), row.getAggregateType(), row.getAggregateId(),
+                    row.getEventType(), row.getPayload(), row.getCreatedAt(), event);
+            try {
+                for (OutboxSubscriber subscriber : subscribers) {
+                    subscriber.deliver(message);
+                }
+                done.add(row.getId());
+                relayed.increment();
+            } catch (RuntimeException e) {
+                heldBack.add(aggregate);
+                failures.increment();
+                logger.warn("Delivery of outbox event {} ({} for {}) failed, retrying on the next run: {}",
+                        row.getId(), row.getEventType(), aggregate, e.getMessage());
+            }
+        }
+        return done;
+    }
+
+    private double lagSeconds() {
+        Instant oldest = oldestPending;
+        return oldest == null ? 0.0 : Duration.between(oldest, Instant.now()).toMillis() / 1000.0;
+    }
+}
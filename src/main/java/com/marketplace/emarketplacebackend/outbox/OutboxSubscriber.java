@@ -0,0 +1,12 @@
+// OutboxSubscriber.java
+package com.marketplace.emarketplacebackend.outbox;
+
+/**
+ * Receives every committed domain event from {@link OutboxRelay}, in order per aggregate. Delivery is at least
+ * once: when any subscriber throws, the event and the rest of its aggregate's events are offered again to every
+ * subscriber on the next relay run, so handlers must be idempotent.
+ */
+public interface OutboxSubscriber {
+
+    void deliver(OutboxMessage message);
+}
@@ -0,0 +1,45 @@
+// OutboxWriter.java
+package com.marketplace.emarketplacebackend.outbox;
+
+import com.marketplace.emarketplacebackend.event.DomainEvent;
+import com.marketplace.emarketplacebackend.model.OutboxEvent;
+import com.marketplace.emarketplacebackend.repository.OutboxEventRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Stores every published domain event in the outbox table, synchronously, inside the publisher's transaction:
+ * the event is committed exactly when the change it describes is, and is lost with it on rollback.
+ */
+@Component
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final DomainEventCodec codec;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public OutboxWriter(OutboxEventRepository outboxEventRepository, DomainEventCodec codec) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.codec = codec;
+    }
+
+    @EventListener
+    public void write(DomainEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException(codec.typeOf(event)
+                    + " published outside a transaction; it must be written with the change it describes");
+        }
+        // Write the change (and take its row locks) before the outbox row gets its id, so that a concurrent change
+        // to the same aggregate can't commit later with a lower id
+        entityManager.flush();
+        outboxEventRepository.save(new OutboxEvent(event.aggregateType(), event.aggregateId(), codec.typeOf(event),
+                codec.encode(event), event.occurredAt()));
+    }
+}
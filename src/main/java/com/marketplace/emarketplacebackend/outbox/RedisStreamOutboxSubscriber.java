@@ -0,0 +1,35 @@
+// RedisStreamOutboxSubscriber.java
+package com.marketplace.emarketplacebackend.outbox;
+
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Map;
+
+/**
+ * Appends every outbox event to a Redis stream (XADD), for consumers outside this application. Each entry holds
+ * the outbox id, event type, aggregate, creation time and the JSON payload; consumers that need per-aggregate
+ * order read the stream with a single consumer per aggregate or skip outbox ids they have already seen.
+ */
+public class RedisStreamOutboxSubscriber implements OutboxSubscriber {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String streamKey;
+
+    public RedisStreamOutboxSubscriber(StringRedisTemplate redisTemplate, String streamKey) {
+        this.redisTemplate = redisTemplate;
+        this.streamKey = streamKey;
+    }
+
+    @Override
+    public void deliver(OutboxMessage message) {
+        Map<String, String> fields = Map.of(
+                "outboxId", String.valueOf(message.id()),
+                "type", message.eventType(),
+                "aggregateType", message.aggregateType(),
+                "aggregateId", message.aggregateId(),
+                "createdAt", message.createdAt().toString(),
+                "payload", message.payload());
+        redisTemplate.opsForStream().add(StreamRecords.string(fields).withStreamKey(streamKey));
+    }
+}
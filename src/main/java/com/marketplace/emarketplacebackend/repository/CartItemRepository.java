@@ -5,8 +5,12 @@ import com.marketplace.emarketplacebackend.model.Cart;
 import com.marketplace.emarketplacebackend.model.CartItem;
 import com.marketplace.emarketplacebackend.model.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
@@ -18,4 +22,9 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
     // Optional: Delete a CartItem by Cart and Product (if not using orphanRemoval via entity relationship)
     // int deleteByCartAndProduct(Cart cart, Product product);
+
+    // Set-based removal of every cart line pointing at the given products (bulk store/seller deletion)
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.product.id IN :productIds")
+    int deleteByProductIdIn(@Param("productIds") Collection<Long> productIds);
 }
\ No newline at end of file
@@ -1,12 +1,29 @@
 package com.marketplace.emarketplacebackend.repository;
 
+import com.marketplace.emarketplacebackend.model.CacheRegions;
 import com.marketplace.emarketplacebackend.model.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional; // Add this import
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    // Served from the query cache (region CacheRegions.REFERENCE_QUERIES); any write to categories invalidates it
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)
+    })
     Optional<Category> findByName(String name); // Add this method
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)
+    })
+    List<Category> findByNameIn(Collection<String> names);
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+// OutboxEventRepository.java
+package com.marketplace.emarketplacebackend.repository;
+
+import com.marketplace.emarketplacebackend.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // The oldest undelivered events after afterId (0 for the start of the backlog), in delivery order
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL AND e.id > :afterId ORDER BY e.id")
+    List<OutboxEvent> findUnpublished(@Param("afterId") Long afterId, Pageable pageable);
+
+    // One statement per relayed batch
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff);
+}
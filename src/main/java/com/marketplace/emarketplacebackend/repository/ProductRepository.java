@@ -1,22 +1,38 @@
 // ProductRepository.java
 package com.marketplace.emarketplacebackend.repository;
 
+import com.marketplace.emarketplacebackend.dto.StockLevel;
 import com.marketplace.emarketplacebackend.model.Product;
 import org.springframework.data.domain.Page; // NEW IMPORT
 import org.springframework.data.domain.Pageable; // NEW IMPORT
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Optional; 
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository // Optional but good practice for clarity
 public interface ProductRepository extends JpaRepository<Product, Long> {
+    // Rows the JDBC driver pulls per round trip while streaming the catalog export
+    String EXPORT_FETCH_SIZE = "1000";
+
     // JpaRepository provides methods like save(), findById(), findAll(), deleteById(), etc.
 
     // You can define custom query methods by following Spring Data JPA naming conventions:
     Optional<Product> findByName(String name);
 
+    List<Product> findByNameIn(Collection<String> names);
+
     Page<Product> findByStore_Id(Long storeId, Pageable pageable);
 
     Page<Product> findByStore_Seller_Id(Long sellerId, Pageable pageable); // To get all products for a seller across all their stores
@@ -35,4 +51,64 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     // Or more advanced queries for geo-spatial searching once you implement that.    
 
+    // Forward-only cursor over the whole catalog for the NDJSON export. Must be consumed inside a transaction
+    // and closed afterwards. Category is join-fetched because every exported row needs its name; the store
+    // is only exported by id, which the lazy proxy provides without a query.
+    // (On MySQL the driver only streams with useCursorFetch=true on the JDBC URL.)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Product p JOIN FETCH p.category ORDER BY p.id")
+    Stream<Product> streamAllForExport();
+
+    // Same cursor for rebuilding the catalog document projection, which also denormalizes the store's name and
+    // location; the seller id comes from the store's lazy seller proxy.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Product p JOIN FETCH p.category JOIN FETCH p.store ORDER BY p.id")
+    Stream<Product> streamAllWithStore();
+
+    // Ids only, so bulk deletion can walk a store's products in chunks without loading the entities
+    @Query("SELECT p.id FROM Product p WHERE p.store.id IN :storeIds ORDER BY p.id")
+    List<Long> findIdsByStoreIdIn(@Param("storeIds") Collection<Long> storeIds, Pageable pageable);
+
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.store.id IN :storeIds")
+    long countByStoreIdIn(@Param("storeIds") Collection<Long> storeIds);
+
+    // Atomic, conditional stock changes for products whose stock lives in this row (not sharded). Both return the
+    // number of rows changed: 0 when the product doesn't exist, is sharded, or (decrement) has less than quantity.
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity " +
+           "WHERE p.id = :id AND p.stockShards = 0 AND p.stock >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock + :quantity WHERE p.id = :id AND p.stockShards = 0")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // The only write to stock_shards (the column isn't updatable through the entity); see StockService.shard
+    @Modifying
+    @Query("UPDATE Product p SET p.stockShards = :shards, p.stock = :stock WHERE p.id = :id")
+    int updateStockShards(@Param("id") Long id, @Param("shards") int shards, @Param("stock") int stock);
+
+    @Query("SELECT new com.marketplace.emarketplacebackend.dto.StockLevel(p.id, p.store.id, p.price, p.stock, " +
+           "p.stockShards) FROM Product p WHERE p.id = :id")
+    Optional<StockLevel> findStockLevel(@Param("id") Long id);
+
+    // Ownership check: the product's store belongs to the seller registered with this email
+    boolean existsByIdAndStore_Seller_EmailIgnoreCase(Long id, String email);
+
+    // Taken before a product's stock shards are locked, so stock reconfigurations and syncs never deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT p.id FROM Product p WHERE p.stockShards > 0")
+    List<Long> findIdsWithShardedStock();
+
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+// ProductStockShardRepository.java
+package com.marketplace.emarketplacebackend.repository;
+
+import com.marketplace.emarketplacebackend.model.ProductStockShard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProductStockShardRepository extends JpaRepository<ProductStockShard, ProductStockShard.Key> {
+
+    // Atomic and conditional: returns 0, changing nothing, when the shard holds less than the quantity. Both
+    // clear the persistence context, so shards locked later in the same transaction are read afresh.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProductStockShard s SET s.stock = s.stock - :quantity " +
+           "WHERE s.productId = :productId AND s.shard = :shard AND s.stock >= :quantity")
+    int decrement(@Param("productId") Long productId, @Param("shard") int shard, @Param("quantity") int quantity);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProductStockShard s SET s.stock = s.stock + :quantity " +
+           "WHERE s.productId = :productId AND s.shard = :shard")
+    int increment(@Param("productId") Long productId, @Param("shard") int shard, @Param("quantity") int quantity);
+
+    // Plain values rather than entities, so reading them never leaves stale shards in the persistence context
+    @Query("SELECT s.stock FROM ProductStockShard s WHERE s.productId = :productId")
+    List<Integer> findStockByProductId(@Param("productId") Long productId);
+
+    // Always locked in shard order, so two rebalances of the same product can't deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ProductStockShard s WHERE s.productId = :productId ORDER BY s.shard")
+    List<ProductStockShard> findByProductIdForUpdate(@Param("productId") Long productId);
+
+    @Query("SELECT COALESCE(SUM(s.stock), 0) FROM ProductStockShard s WHERE s.productId = :productId")
+    long sumStock(@Param("productId") Long productId);
+
+    @Modifying
+    @Query("DELETE FROM ProductStockShard s WHERE s.productId IN :productIds")
+    int deleteByProductIdIn(@Param("productIds") Collection<Long> productIds);
+}
@@ -3,13 +3,26 @@ package com.marketplace.emarketplacebackend.repository;
 
 import com.marketplace.emarketplacebackend.model.Role;
 import com.marketplace.emarketplacebackend.model.ERole; // NEW IMPORT
+import com.marketplace.emarketplacebackend.model.CacheRegions;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
     // Change method signature to accept ERole
+    // Looked up on every sign-up; served from the query cache
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)
+    })
     Optional<Role> findByName(ERole name); // CHANGE HERE
+
+    List<Role> findByNameIn(Collection<ERole> names);
 }
\ No newline at end of file
@@ -7,6 +7,8 @@ import org.springframework.data.domain.Pageable; // NEW IMPORT
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional; 
 
 @Repository
@@ -16,6 +18,11 @@ public interface SellerRepository extends JpaRepository<Seller, Long> {
     // You can add custom methods here if needed, e.g.,
      Optional<Seller> findByName(String name);
 
+    List<Seller> findByNameIn(Collection<String> names);
+
     // NEW: Method for finding sellers by name with pagination and sorting
     Page<Seller> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    // Ownership check: a seller belongs to the user account registered with the seller's email
+    boolean existsByIdAndEmailIgnoreCase(Long id, String email);
 }
\ No newline at end of file
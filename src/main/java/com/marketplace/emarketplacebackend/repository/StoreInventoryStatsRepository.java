@@ -0,0 +1,54 @@
+// StoreInventoryStatsRepository.java
+package com.marketplace.emarketplacebackend.repository;
+
+import com.marketplace.emarketplacebackend.dto.StoreInventory;
+import com.marketplace.emarketplacebackend.model.StoreInventoryStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface StoreInventoryStatsRepository extends JpaRepository<StoreInventoryStats, Long> {
+
+    // Applied as a relative update so concurrent product writes to the same store never overwrite each other.
+    // Returns 0 when the store has no stats row yet.
+    @Modifying
+    @Query("UPDATE StoreInventoryStats s SET s.productCount = s.productCount + :products, " +
+           "s.stockUnits = s.stockUnits + :units, s.inventoryValue = s.inventoryValue + :value " +
+           "WHERE s.storeId = :storeId")
+    int applyDelta(@Param("storeId") Long storeId, @Param("products") long products,
+                   @Param("units") long units, @Param("value") BigDecimal value);
+
+    @Modifying
+    @Query("UPDATE StoreInventoryStats s SET s.sellerId = :sellerId WHERE s.storeId = :storeId")
+    int reassignSeller(@Param("storeId") Long storeId, @Param("sellerId") Long sellerId);
+
+    @Query("SELECT new com.marketplace.emarketplacebackend.dto.StoreInventory(" +
+           "s.storeId, st.name, s.productCount, s.stockUnits, s.inventoryValue) " +
+           "FROM StoreInventoryStats s, Store st WHERE st.id = s.storeId AND s.sellerId = :sellerId ORDER BY s.storeId")
+    List<StoreInventory> findInventoryBySellerId(@Param("sellerId") Long sellerId);
+
+    // Builds the missing rows from the products table, e.g. for stores that existed before this table
+    // or were written by the startup seeder. Rows that already exist are left alone.
+    // (The CAST is needed on PostgreSQL, which only rounds numerics to a given scale, not doubles.)
+    @Modifying
+    @Query(value = "INSERT INTO store_inventory_stats (store_id, seller_id, product_count, stock_units, inventory_value) " +
+                   "SELECT s.id, s.seller_id, COUNT(p.id), COALESCE(SUM(p.stock), 0), COALESCE(SUM(ROUND(CAST(p.price * p.stock AS DECIMAL(19, 4)), 2)), 0) " +
+                   "FROM stores s LEFT JOIN products p ON p.store_id = s.id " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM store_inventory_stats x WHERE x.store_id = s.id) " +
+                   "GROUP BY s.id, s.seller_id", nativeQuery = true)
+    int backfillMissing();
+
+    @Modifying
+    @Query(value = "INSERT INTO store_inventory_stats (store_id, seller_id, product_count, stock_units, inventory_value) " +
+                   "SELECT s.id, s.seller_id, COUNT(p.id), COALESCE(SUM(p.stock), 0), COALESCE(SUM(ROUND(CAST(p.price * p.stock AS DECIMAL(19, 4)), 2)), 0) " +
+                   "FROM stores s LEFT JOIN products p ON p.store_id = s.id " +
+                   "WHERE s.id = :storeId AND NOT EXISTS (SELECT 1 FROM store_inventory_stats x WHERE x.store_id = s.id) " +
+                   "GROUP BY s.id, s.seller_id", nativeQuery = true)
+    int backfillStore(@Param("storeId") Long storeId);
+}
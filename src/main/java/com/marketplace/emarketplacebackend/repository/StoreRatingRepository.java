@@ -0,0 +1,33 @@
+// StoreRatingRepository.java
+package com.marketplace.emarketplacebackend.repository;
+
+import com.marketplace.emarketplacebackend.model.StoreRating;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface StoreRatingRepository extends JpaRepository<StoreRating, StoreRating.Key> {
+
+    // Locked, so two re-ratings by the same user apply their differences one after the other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StoreRating r WHERE r.storeId = :storeId AND r.userId = :userId")
+    Optional<StoreRating> findForUpdate(@Param("storeId") Long storeId, @Param("userId") Long userId);
+
+    // A plain INSERT, unlike save() (merge), so a concurrent first rating by the same user fails on the primary key
+    // instead of being silently turned into an update that the store's aggregates never see
+    @Modifying
+    @Query("INSERT INTO StoreRating (storeId, userId, score) VALUES (:storeId, :userId, :score)")
+    int insert(@Param("storeId") Long storeId, @Param("userId") Long userId, @Param("score") int score);
+
+    @Modifying
+    @Query("DELETE FROM StoreRating r WHERE r.storeId IN :storeIds")
+    int deleteByStoreIdIn(@Param("storeIds") Collection<Long> storeIds);
+}
@@ -1,20 +1,95 @@
 package com.marketplace.emarketplacebackend.repository;
 
+import com.marketplace.emarketplacebackend.dto.StoreRank;
+import com.marketplace.emarketplacebackend.dto.StoreSummary;
 import com.marketplace.emarketplacebackend.model.Seller;
 import com.marketplace.emarketplacebackend.model.Store;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Page;    // NEW IMPORT
 import org.springframework.data.domain.Pageable; // NEW IMPORT
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StoreRepository extends JpaRepository<Store, Long> {
     Optional<Store>  findByName(String name);
+    List<Store> findByNameIn(Collection<String> names);
     Page<Store> findBySeller_Id(Long sellerId, Pageable pageable);
+    List<Store> findBySeller_IdIn(Collection<Long> sellerIds); // Batched store fetch for ?expand=stores on sellers
     Page<Store> findByLocationIgnoreCase(String locationPart, Pageable pageable); // For simple location search
     // You might need more complex queries for geographical proximity later
-}
\ No newline at end of file
+
+    // Store listings as projections: product counts come from a correlated subquery, so no product rows
+    // are loaded or serialized. Use the paginated product endpoints to list a store's products.
+    @Query(value = "SELECT new com.marketplace.emarketplacebackend.dto.StoreSummary(" +
+                   "s.id, s.name, s.location, s.description, s.contactInfo, s.profileImageUrl, s.rating, " +
+                   "s.seller.id, (SELECT COUNT(p) FROM Product p WHERE p.store = s)) " +
+                   "FROM Store s",
+           countQuery = "SELECT COUNT(s) FROM Store s")
+    Page<StoreSummary> findAllSummaries(Pageable pageable);
+
+    @Query(value = "SELECT new com.marketplace.emarketplacebackend.dto.StoreSummary(" +
+                   "s.id, s.name, s.location, s.description, s.contactInfo, s.profileImageUrl, s.rating, " +
+                   "s.seller.id, (SELECT COUNT(p) FROM Product p WHERE p.store = s)) " +
+                   "FROM Store s WHERE s.seller.id = :sellerId",
+           countQuery = "SELECT COUNT(s) FROM Store s WHERE s.seller.id = :sellerId")
+    Page<StoreSummary> findSummariesBySellerId(@Param("sellerId") Long sellerId, Pageable pageable);
+
+    // Adds one rating to the running aggregates in a single atomic statement (the row lock serializes
+    // concurrent raters). rating is assigned first so it is computed from the pre-update values on every
+    // database, including MySQL, which evaluates SET clauses left to right.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Store s SET s.rating = (s.ratingSum + :score) / (s.ratingCount + 1), " +
+           "s.ratingCount = s.ratingCount + 1, s.ratingSum = s.ratingSum + :score, " +
+           "s.ratingVersion = s.ratingVersion + 1 WHERE s.id = :id")
+    int addRating(@Param("id") Long id, @Param("score") double score);
+
+    // A user re-rated the store: the count stays, the sum moves by the difference between the new and old score
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Store s SET s.rating = (s.ratingSum + :difference) / s.ratingCount, " +
+           "s.ratingSum = s.ratingSum + :difference, s.ratingVersion = s.ratingVersion + 1 WHERE s.id = :id")
+    int changeRating(@Param("id") Long id, @Param("difference") double difference);
+
+    @Query("SELECT new com.marketplace.emarketplacebackend.dto.StoreRank(s.id, s.name, s.location, s.rating, " +
+           "s.ratingCount, s.ratingVersion) " +
+           "FROM Store s WHERE s.id = :id")
+    Optional<StoreRank> findRankById(@Param("id") Long id);
+
+    // Used once at startup to seed the in-memory leaderboard
+    @Query("SELECT new com.marketplace.emarketplacebackend.dto.StoreRank(s.id, s.name, s.location, s.rating, " +
+           "s.ratingCount, s.ratingVersion) " +
+           "FROM Store s WHERE s.ratingCount > 0")
+    List<StoreRank> findAllRanked();
+
+    @Query("SELECT new com.marketplace.emarketplacebackend.dto.StoreSummary(" +
+           "s.id, s.name, s.location, s.description, s.contactInfo, s.profileImageUrl, s.rating, " +
+           "s.seller.id, (SELECT COUNT(p) FROM Product p WHERE p.store = s)) " +
+           "FROM Store s WHERE s.id IN :ids ORDER BY s.id")
+    List<StoreSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // (store id, category) pairs for a batch of stores: one query instead of one lazy load per store
+    @Query("SELECT s.id, c FROM Store s JOIN s.categories c WHERE s.id IN :storeIds")
+    List<Object[]> findCategoriesByStoreIdIn(@Param("storeIds") Collection<Long> storeIds);
+
+    // Used once at startup to build the store filter index
+    @Query("SELECT s.id, s.location FROM Store s")
+    List<Object[]> findAllLocations();
+
+    @Query("SELECT s.id, c.id, c.name FROM Store s JOIN s.categories c")
+    List<Object[]> findAllCategoryLinks();
+
+    @Query("SELECT s.id FROM Store s WHERE s.seller.id = :sellerId")
+    List<Long> findIdsBySellerId(@Param("sellerId") Long sellerId);
+
+    // Bulk deletion bypasses the entity cascade, so the join table rows have to go first
+    @Modifying
+    @Query(value = "DELETE FROM store_categories WHERE store_id IN (:storeIds)", nativeQuery = true)
+    int deleteCategoryLinksByStoreIdIn(@Param("storeIds") Collection<Long> storeIds);
+}
@@ -5,6 +5,8 @@ import com.marketplace.emarketplacebackend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository; // Provides basic CRUD operations
 import org.springframework.stereotype.Repository; // Marks this as a Spring Repository component
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional; // Used for methods that might return no result
 
 @Repository
@@ -14,6 +16,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Custom query method: Find a User by their username. Returns Optional to handle cases where user is not found.
     Optional<User> findByUsername(String username);
 
+    List<User> findByUsernameIn(Collection<String> usernames);
+
     // Custom query method: Check if a user with the given username already exists.
     Boolean existsByUsername(String username);
 
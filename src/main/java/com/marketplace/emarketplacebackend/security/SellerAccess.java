@@ -0,0 +1,40 @@
+// SellerAccess.java
+package com.marketplace.emarketplacebackend.security;
+
+import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import com.marketplace.emarketplacebackend.repository.SellerRepository;
+import com.marketplace.emarketplacebackend.service.UserDetailsImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ownership checks for seller endpoints, used from @PreAuthorize as {@code @sellerAccess.isOwner(#id, authentication)}.
+ * A seller is owned by the user account registered with the seller's email, and so are its stores' products.
+ */
+@Component("sellerAccess")
+public class SellerAccess {
+
+    private final SellerRepository sellerRepository;
+    private final ProductRepository productRepository;
+
+    @Autowired
+    public SellerAccess(SellerRepository sellerRepository, ProductRepository productRepository) {
+        this.sellerRepository = sellerRepository;
+        this.productRepository = productRepository;
+    }
+
+    public boolean isOwner(Long sellerId, Authentication authentication) {
+        return sellerId != null
+                && authentication != null
+                && authentication.getPrincipal() instanceof UserDetailsImpl user
+                && sellerRepository.existsByIdAndEmailIgnoreCase(sellerId, user.getEmail());
+    }
+
+    public boolean ownsProduct(Long productId, Authentication authentication) {
+        return productId != null
+                && authentication != null
+                && authentication.getPrincipal() instanceof UserDetailsImpl user
+                && productRepository.existsByIdAndStore_Seller_EmailIgnoreCase(productId, user.getEmail());
+    }
+}
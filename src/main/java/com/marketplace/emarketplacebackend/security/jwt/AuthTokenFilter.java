@@ -1,6 +1,7 @@
 // AuthTokenFilter.java
 package com.marketplace.emarketplacebackend.security.jwt;
 
+import com.marketplace.emarketplacebackend.config.WebSecurityConfig;
 import com.marketplace.emarketplacebackend.service.UserDetailsServiceImpl; // Our custom service to load user details
 import jakarta.servlet.FilterChain; // For chaining filters
 import jakarta.servlet.ServletException;
@@ -9,6 +10,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired; // For dependency injection
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken; // For creating an authentication object
 import org.springframework.security.core.context.SecurityContextHolder; // To set the authenticated user in the security context
 import org.springframework.security.core.userdetails.UserDetails; // Spring Security's user details interface
@@ -27,8 +29,19 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired // Injects our UserDetailsServiceImpl bean
     private UserDetailsServiceImpl userDetailsService;
 
+    @Value("${marketplace.catalog.public:true}")
+    private boolean publicCatalog;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
+    /**
+     * Public catalog reads don't need an authenticated user, so skip JWT parsing and the user lookup for them.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return publicCatalog && WebSecurityConfig.isPublicCatalogRequest(request);
+    }
+
     /**
      * This is the core method of the filter that performs JWT validation.
      * @param request The incoming HTTP request.
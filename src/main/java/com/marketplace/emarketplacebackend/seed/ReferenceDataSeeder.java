@@ -0,0 +1,220 @@
+// ReferenceDataSeeder.java
+package com.marketplace.emarketplacebackend.seed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.emarketplacebackend.model.Category;
+import com.marketplace.emarketplacebackend.model.ERole;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.model.Role;
+import com.marketplace.emarketplacebackend.model.Seller;
+import com.marketplace.emarketplacebackend.model.Store;
+import com.marketplace.emarketplacebackend.model.User;
+import com.marketplace.emarketplacebackend.repository.CategoryRepository;
+import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import com.marketplace.emarketplacebackend.repository.RoleRepository;
+import com.marketplace.emarketplacebackend.repository.SellerRepository;
+import com.marketplace.emarketplacebackend.repository.StoreInventoryStatsRepository;
+import com.marketplace.emarketplacebackend.repository.StoreRepository;
+import com.marketplace.emarketplacebackend.repository.UserRepository;
+import com.marketplace.emarketplacebackend.seed.ReferenceDataSet.ProductSeed;
+import com.marketplace.emarketplacebackend.seed.ReferenceDataSet.SellerSeed;
+import com.marketplace.emarketplacebackend.seed.ReferenceDataSet.StoreSeed;
+import com.marketplace.emarketplacebackend.seed.ReferenceDataSet.UserSeed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.io.Resource;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the reference dataset (roles, the admin user, sellers, stores, categories, products) at startup.
+ * The file's SHA-256 is kept in seed_state: when it matches, seeding costs one query and the file isn't even
+ * parsed. Otherwise the dataset is applied in one transaction, one lookup per table by natural key and the
+ * missing rows inserted in JDBC batches. Rows that already exist are left alone; once created, they belong to
+ * the API (stock, prices, passwords).
+ */
+@Component
+public class ReferenceDataSeeder implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataSeeder.class);
+
+    static final String DATASET = "reference-data";
+
+    private final RoleRepository roleRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserRepository userRepository;
+    private final SellerRepository sellerRepository;
+    private final StoreRepository storeRepository;
+    private final ProductRepository productRepository;
+    private final StoreInventoryStatsRepository storeInventoryStatsRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${marketplace.seed.location:classpath:seed/reference-data.json}")
+    private Resource location;
+
+    private int created;
+
+    @Autowired
+    public ReferenceDataSeeder(RoleRepository roleRepository, CategoryRepository categoryRepository,
+                               UserRepository userRepository, SellerRepository sellerRepository,
+                               StoreRepository storeRepository, ProductRepository productRepository,
+                               StoreInventoryStatsRepository storeInventoryStatsRepository,
+                               PasswordEncoder passwordEncoder, ObjectMapper objectMapper,
+                               JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.roleRepository = roleRepository;
+        this.categoryRepository = categoryRepository;
+        this.userRepository = userRepository;
+        this.sellerRepository = sellerRepository;
+        this.storeRepository = storeRepository;
+        this.productRepository = productRepository;
+        this.storeInventoryStatsRepository = storeInventoryStatsRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void run(String... args) throws IOException {
+        byte[] content = location.getContentAsByteArray();
+        String checksum = sha256(content);
+        if (checksum.equals(storedChecksum(false))) {
+            logger.info("Reference data unchanged ({}), seeding skipped", checksum.substring(0, 12));
+            return;
+        }
+
+        ReferenceDataSet dataSet = objectMapper.readValue(content, ReferenceDataSet.class);
+        transactionTemplate.executeWithoutResult(status -> {
+            // Nodes starting together queue on the row lock; the ones that waited find the new checksum
+            if (checksum.equals(storedChecksum(true))) {
+                return;
+            }
+            created = 0;
+            apply(dataSet);
+            jdbcTemplate.update("UPDATE seed_state SET checksum = ?, applied_at = ? WHERE dataset = ?",
+                    checksum, Timestamp.from(Instant.now()), DATASET);
+            logger.info("Reference data version {} applied ({}): {} rows created",
+                    dataSet.version(), checksum.substring(0, 12), created);
+        });
+    }
+
+    private void apply(ReferenceDataSet dataSet) {
+        Map<ERole, Role> roles = ensure(dataSet.roles(), Function.identity(),
+                roleRepository::findByNameIn, Role::getName, Role::new, roleRepository);
+        Map<String, Category> categories = ensure(dataSet.categories(), Function.identity(),
+                categoryRepository::findByNameIn, Category::getName, Category::new, categoryRepository);
+
+        ensure(dataSet.users(), UserSeed::username,
+                seeds -> userRepository.findByUsernameIn(keys(seeds, UserSeed::username)), User::getUsername,
+                seed -> new User(null, seed.username(), seed.email(), passwordEncoder.encode(seed.password()),
+                        seed.roles().stream().map(role -> require(roles, role, "role")).collect(Collectors.toSet()),
+                        null),
+                userRepository);
+
+        Map<String, Seller> sellers = ensure(dataSet.sellers(), SellerSeed::name,
+                seeds -> sellerRepository.findByNameIn(keys(seeds, SellerSeed::name)), Seller::getName,
+                seed -> new Seller(seed.name(), seed.email()), sellerRepository);
+        Map<String, Store> stores = ensure(dataSet.stores(), StoreSeed::name,
+                seeds -> storeRepository.findByNameIn(keys(seeds, StoreSeed::name)), Store::getName,
+                seed -> new Store(seed.name(), seed.location(), require(sellers, seed.seller(), "seller")),
+                storeRepository);
+
+        // Products are only unique within their store
+        Set<Long> restockedStoreIds = new HashSet<>();
+        ensure(dataSet.products(), seed -> List.of(seed.store(), seed.name()),
+                seeds -> productRepository.findByNameIn(keys(seeds, ProductSeed::name)),
+                product -> List.of(product.getStore().getName(), product.getName()),
+                seed -> {
+                    Store store = require(stores, seed.store(), "store");
+                    restockedStoreIds.add(store.getId());
+                    return new Product(seed.name(), seed.description(), seed.price(), seed.stock(), store,
+                            require(categories, seed.category(), "category"));
+                },
+                productRepository);
+
+        // Stores that got products here are re-summed by SellerDashboardService's backfill once the application
+        // is ready (stores created here have no stats row yet and are picked up the same way)
+        if (!restockedStoreIds.isEmpty()) {
+            storeInventoryStatsRepository.deleteAllByIdInBatch(restockedStoreIds);
+        }
+    }
+
+    /**
+     * Returns the entity for every seed, keyed like the seeds: existing rows from one lookup, missing ones
+     * created and saved together (ids come from the pooled sequences, the inserts go out batched at flush).
+     */
+    private <S, K, E> Map<K, E> ensure(List<S> seeds, Function<S, K> seedKey, Function<List<S>, List<E>> lookup,
+                                       Function<E, K> entityKey, Function<S, E> factory,
+                                       JpaRepository<E, Long> repository) {
+        Map<K, E> entities = new LinkedHashMap<>();
+        if (seeds == null || seeds.isEmpty()) {
+            return entities;
+        }
+        for (E existing : lookup.apply(seeds)) {
+            entities.put(entityKey.apply(existing), existing);
+        }
+        List<E> missing = new ArrayList<>();
+        for (S seed : seeds) {
+            K key = seedKey.apply(seed);
+            if (!entities.containsKey(key)) {
+                E entity = factory.apply(seed);
+                entities.put(key, entity);
+                missing.add(entity);
+            }
+        }
+        repository.saveAll(missing);
+        created += missing.size();
+        return entities;
+    }
+
+    private String storedChecksum(boolean forUpdate) {
+        List<String> checksums = jdbcTemplate.queryForList(
+                "SELECT checksum FROM seed_state WHERE dataset = ?" + (forUpdate ? " FOR UPDATE" : ""),
+                String.class, DATASET);
+        return checksums.isEmpty() ? null : checksums.get(0);
+    }
+
+    private static <S> List<String> keys(List<S> seeds, Function<S, String> key) {
+        return seeds.stream().map(key).distinct().toList();
+    }
+
+    private static <K, E> E require(Map<K, E> entities, K key, String kind) {
+        E entity = entities.get(key);
+        if (entity == null) {
+            throw new IllegalStateException("Reference data refers to unknown " + kind + " '" + key + "'");
+        }
+        return entity;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
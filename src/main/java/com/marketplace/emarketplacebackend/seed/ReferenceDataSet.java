@@ -0,0 +1,31 @@
+// ReferenceDataSet.java
+package com.marketplace.emarketplacebackend.seed;
+
+import com.marketplace.emarketplacebackend.model.ERole;
+
+import java.util.List;
+
+// The startup dataset in seed/reference-data.json. Rows refer to each other by natural key (seller and store
+// names, category names), never by id, so the file doesn't depend on what the id sequences hand out.
+public record ReferenceDataSet(int version,
+                               List<ERole> roles,
+                               List<String> categories,
+                               List<UserSeed> users,
+                               List<SellerSeed> sellers,
+                               List<StoreSeed> stores,
+                               List<ProductSeed> products) {
+
+    // password is the plain-text initial password; it's only hashed when the user is created
+    public record UserSeed(String username, String email, String password, List<ERole> roles) {
+    }
+
+    public record SellerSeed(String name, String email) {
+    }
+
+    public record StoreSeed(String name, String location, String seller) {
+    }
+
+    public record ProductSeed(String name, String description, Double price, Integer stock, String store,
+                              String category) {
+    }
+}
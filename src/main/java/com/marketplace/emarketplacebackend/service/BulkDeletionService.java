@@ -0,0 +1,103 @@
+// BulkDeletionService.java
+package com.marketplace.emarketplacebackend.service;
+
+import com.marketplace.emarketplacebackend.exception.ResourceNotFoundException;
+import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import com.marketplace.emarketplacebackend.repository.SellerRepository;
+import com.marketplace.emarketplacebackend.repository.StoreRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Starts background store/seller deletions and keeps their progress for polling.
+ *
+ * Jobs live in this instance's memory only: GET /api/deletion-jobs/{id} must reach the instance that accepted the
+ * DELETE, and a restart forgets jobs and stops the ones running. Nothing is lost by that, since each chunk commits on
+ * its own and the rows are found again by query: repeating the DELETE starts a job for whatever is left.
+ */
+@Service
+public class BulkDeletionService {
+
+    // Finished jobs stay visible for this long after completion
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+
+    private final StoreRepository storeRepository;
+    private final SellerRepository sellerRepository;
+    private final ProductRepository productRepository;
+    private final BulkDeletionWorker bulkDeletionWorker;
+
+    private final Map<String, DeletionJob> jobs = new ConcurrentHashMap<>();
+    // Not synchronized: the product count is a query, and a virtual thread blocking in a monitor pins its carrier
+    private final ReentrantLock startLock = new ReentrantLock();
+
+    @Autowired
+    public BulkDeletionService(StoreRepository storeRepository, SellerRepository sellerRepository,
+                               ProductRepository productRepository, BulkDeletionWorker bulkDeletionWorker) {
+        this.storeRepository = storeRepository;
+        this.sellerRepository = sellerRepository;
+        this.productRepository = productRepository;
+        this.bulkDeletionWorker = bulkDeletionWorker;
+    }
+
+    /**
+     * Schedules deletion of a store with its products. Returns immediately; poll the job for progress.
+     * @throws ResourceNotFoundException if the store does not exist.
+     */
+    public DeletionJob startStoreDeletion(Long storeId) {
+        if (!storeRepository.existsById(storeId)) {
+            throw new ResourceNotFoundException("Store not found with id: " + storeId);
+        }
+        return start("store", storeId, List.of(storeId), null);
+    }
+
+    /**
+     * Schedules deletion of a seller with all its stores and products. Returns immediately; poll the job for progress.
+     * @throws ResourceNotFoundException if the seller does not exist.
+     */
+    public DeletionJob startSellerDeletion(Long sellerId) {
+        if (!sellerRepository.existsById(sellerId)) {
+            throw new ResourceNotFoundException("Seller not found with id: " + sellerId);
+        }
+        return start("seller", sellerId, storeRepository.findIdsBySellerId(sellerId), sellerId);
+    }
+
+    public DeletionJob getJob(String jobId) {
+        DeletionJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Deletion job", "id", jobId);
+        }
+        return job;
+    }
+
+    private DeletionJob start(String targetType, Long targetId, List<Long> storeIds, Long sellerId) {
+        startLock.lock();
+        try {
+            pruneFinishedJobs();
+            // A second delete request for the same target joins the job already in progress
+            for (DeletionJob existing : jobs.values()) {
+                if (!existing.isFinished() && existing.getTargetType().equals(targetType) && existing.getTargetId().equals(targetId)) {
+                    return existing;
+                }
+            }
+            long totalProducts = storeIds.isEmpty() ? 0 : productRepository.countByStoreIdIn(storeIds);
+            DeletionJob job = new DeletionJob(targetType, targetId, totalProducts, storeIds.size());
+            jobs.put(job.getId(), job);
+            bulkDeletionWorker.run(job, storeIds, sellerId);
+            return job;
+        } finally {
+            startLock.unlock();
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        Instant cutoff = Instant.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+}
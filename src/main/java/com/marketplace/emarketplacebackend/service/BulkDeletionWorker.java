@@ -0,0 +1,165 @@
+// BulkDeletionWorker.java
+package com.marketplace.emarketplacebackend.service;
+
+import com.marketplace.emarketplacebackend.cache.CatalogResponseCache;
+import com.marketplace.emarketplacebackend.event.StoreDeletedEvent;
+import com.marketplace.emarketplacebackend.repository.CartItemRepository;
+import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import com.marketplace.emarketplacebackend.repository.ProductStockShardRepository;
+import com.marketplace.emarketplacebackend.repository.SellerRepository;
+import com.marketplace.emarketplacebackend.repository.StoreInventoryStatsRepository;
+import com.marketplace.emarketplacebackend.repository.StoreRatingRepository;
+import com.marketplace.emarketplacebackend.repository.StoreRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Executes deletion jobs off the request thread with set-based statements instead of entity cascades.
+ * Rows are removed children first (cart items, stock shards, products, store category links and ratings, stores,
+ * seller), products in chunks with one short transaction each, so a huge seller never holds long locks or loads its
+ * products.
+ */
+@Component
+public class BulkDeletionWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkDeletionWorker.class);
+
+    private final ProductRepository productRepository;
+    private final CartItemRepository cartItemRepository;
+    private final ProductStockShardRepository productStockShardRepository;
+    private final StoreRepository storeRepository;
+    private final SellerRepository sellerRepository;
+    private final StoreInventoryStatsRepository storeInventoryStatsRepository;
+    private final StoreRatingRepository storeRatingRepository;
+    private final CatalogResponseCache catalogResponseCache;
+    private final StoreLeaderboard storeLeaderboard;
+    private final StoreFilterIndex storeFilterIndex;
+    private final StoreLocationIndex storeLocationIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${marketplace.deletion.chunk-size:1000}")
+    private int chunkSize;
+
+    @Autowired
+    public BulkDeletionWorker(ProductRepository productRepository, CartItemRepository cartItemRepository,
+                              ProductStockShardRepository productStockShardRepository,
+                              StoreRepository storeRepository, SellerRepository sellerRepository,
+                              StoreInventoryStatsRepository storeInventoryStatsRepository,
+                              StoreRatingRepository storeRatingRepository,
+                              CatalogResponseCache catalogResponseCache, StoreLeaderboard storeLeaderboard,
+                              StoreFilterIndex storeFilterIndex, StoreLocationIndex storeLocationIndex,
+                              ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate) {
+        this.productRepository = productRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.productStockShardRepository = productStockShardRepository;
+        this.storeRepository = storeRepository;
+        this.sellerRepository = sellerRepository;
+        this.storeInventoryStatsRepository = storeInventoryStatsRepository;
+        this.storeRatingRepository = storeRatingRepository;
+        this.catalogResponseCache = catalogResponseCache;
+        this.storeLeaderboard = storeLeaderboard;
+        this.storeFilterIndex = storeFilterIndex;
+        this.storeLocationIndex = storeLocationIndex;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Deletes the given stores with all their products (and the cart items referencing them), then the seller if given.
+     * A seller's stores are looked up again before the seller row goes: stores it opened while the job ran are deleted
+     * as well, since their foreign key would otherwise block the seller's deletion.
+     * @param sellerId The seller to delete after its stores, or null for a store-only deletion.
+     */
+    @Async
+    public void run(DeletionJob job, List<Long> storeIds, Long sellerId) {
+        job.markRunning();
+        List<Long> deletedStoreIds = new ArrayList<>();
+        try {
+            deleteStores(job, storeIds, deletedStoreIds);
+            if (sellerId != null) {
+                List<Long> remaining = deleteSellerUnlessItHasStores(sellerId);
+                while (!remaining.isEmpty()) {
+                    job.addTotals(productRepository.countByStoreIdIn(remaining), remaining.size());
+                    deleteStores(job, remaining, deletedStoreIds);
+                    remaining = deleteSellerUnlessItHasStores(sellerId);
+                }
+            }
+            job.markCompleted();
+            logger.info("Deletion job {} removed {} products, {} cart items and {} stores",
+                    job.getId(), job.getDeletedProducts(), job.getDeletedCartItems(), job.getDeletedStores());
+        } catch (RuntimeException e) {
+            logger.error("Deletion job {} failed: {}", job.getId(), e.getMessage(), e);
+            job.markFailed(e.getMessage());
+        } finally {
+            // Even a failed job may have removed some rows, so always resync the in-memory views.
+            catalogResponseCache.evictAll();
+            deletedStoreIds.forEach(storeId -> {
+                storeLeaderboard.remove(storeId);
+                storeFilterIndex.remove(storeId);
+                storeLocationIndex.remove(storeId);
+            });
+        }
+    }
+
+    private void deleteStores(DeletionJob job, List<Long> storeIds, List<Long> deletedStoreIds) {
+        if (storeIds.isEmpty()) {
+            return;
+        }
+        deletedStoreIds.addAll(storeIds); // Before deleting, so a failure part-way still resyncs them
+        deleteProducts(job, storeIds);
+        for (int from = 0; from < storeIds.size(); from += chunkSize) {
+            List<Long> chunk = storeIds.subList(from, Math.min(from + chunkSize, storeIds.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                storeRepository.deleteCategoryLinksByStoreIdIn(chunk);
+                storeInventoryStatsRepository.deleteAllByIdInBatch(chunk);
+                storeRatingRepository.deleteByStoreIdIn(chunk);
+                storeRepository.deleteAllByIdInBatch(chunk);
+                chunk.forEach(storeId -> eventPublisher.publishEvent(StoreDeletedEvent.of(storeId)));
+            });
+            job.addDeletedStores(chunk.size());
+        }
+    }
+
+    // Deletes the seller and returns an empty list, or returns the stores still in the way. Checking in the deleting
+    // transaction leaves only a store inserted concurrently with it to fail the job on the foreign key.
+    private List<Long> deleteSellerUnlessItHasStores(Long sellerId) {
+        return transactionTemplate.execute(status -> {
+            List<Long> remaining = storeRepository.findIdsBySellerId(sellerId);
+            if (remaining.isEmpty()) {
+                sellerRepository.deleteAllByIdInBatch(List.of(sellerId));
+            }
+            return remaining;
+        });
+    }
+
+    private void deleteProducts(DeletionJob job, List<Long> storeIds) {
+        List<Long> productIds;
+        do {
+            // Always the first chunk: the previous one is gone by now
+            productIds = productRepository.findIdsByStoreIdIn(storeIds, PageRequest.of(0, chunkSize));
+            if (productIds.isEmpty()) {
+                break;
+            }
+            List<Long> chunk = productIds;
+            Integer cartItems = transactionTemplate.execute(status -> {
+                int deletedCartItems = cartItemRepository.deleteByProductIdIn(chunk);
+                productStockShardRepository.deleteByProductIdIn(chunk);
+                productRepository.deleteAllByIdInBatch(chunk);
+                return deletedCartItems;
+            });
+            job.addDeletedCartItems(cartItems == null ? 0 : cartItems);
+            job.addDeletedProducts(chunk.size());
+        } while (productIds.size() == chunkSize);
+    }
+}
@@ -0,0 +1,57 @@
+// CacheStatisticsService.java
+package com.marketplace.emarketplacebackend.service;
+
+import com.marketplace.emarketplacebackend.dto.CacheRegionStats;
+import com.marketplace.emarketplacebackend.model.CacheRegions;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// Reads the second-level cache counters Hibernate collects. They are only collected with hibernate.generate_statistics,
+// which follows marketplace.diagnostics.sql.enabled (off in production): without them no regions are reported.
+@Service
+public class CacheStatisticsService {
+
+    private static final List<String> ENTITY_REGIONS = List.of(CacheRegions.CATEGORY, CacheRegions.ROLE, CacheRegions.STORE);
+    private static final List<String> QUERY_REGIONS = List.of(CacheRegions.REFERENCE_QUERIES, CacheRegions.DEFAULT_QUERY_RESULTS);
+
+    private final Statistics statistics;
+
+    @Autowired
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public boolean isEnabled() {
+        return statistics.isStatisticsEnabled();
+    }
+
+    public List<CacheRegionStats> getRegionStatistics() {
+        return isEnabled() ? getRegionNames().stream().map(this::getRegionStatistics).toList() : List.of();
+    }
+
+    public List<String> getRegionNames() {
+        return Stream.concat(ENTITY_REGIONS.stream(), QUERY_REGIONS.stream()).toList();
+    }
+
+    public CacheRegionStats getRegionStatistics(String region) {
+        return QUERY_REGIONS.contains(region)
+                ? toStats(region, statistics.getQueryRegionStatistics(region))
+                : toStats(region, statistics.getDomainDataRegionStatistics(region));
+    }
+
+    private static CacheRegionStats toStats(String region, CacheRegionStatistics statistics) {
+        if (statistics == null) {
+            return new CacheRegionStats(region, 0, 0, 0, 0); // Region not used since startup
+        }
+        // Element counts are -1 when the provider doesn't report them
+        return new CacheRegionStats(region, statistics.getHitCount(), statistics.getMissCount(),
+                statistics.getPutCount(), Math.max(0, statistics.getElementCountInMemory()));
+    }
+}
@@ -1,6 +1,7 @@
 // CartService.java
 package com.marketplace.emarketplacebackend.service;
 
+import com.marketplace.emarketplacebackend.event.CartItemChangedEvent;
 import com.marketplace.emarketplacebackend.exception.ResourceNotFoundException;
 import com.marketplace.emarketplacebackend.model.Cart;
 import com.marketplace.emarketplacebackend.model.CartItem;
@@ -11,6 +12,7 @@ import com.marketplace.emarketplacebackend.repository.CartRepository;
 import com.marketplace.emarketplacebackend.repository.ProductRepository;
 import com.marketplace.emarketplacebackend.repository.UserRepository; // We need this to get the User object
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional; // Import Transactional annotation
@@ -24,14 +26,17 @@ public class CartService {
     private final CartItemRepository cartItemRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository; // To fetch the full User object
+    private final ApplicationEventPublisher eventPublisher; // Cart line changes go to the outbox
 
     @Autowired
     public CartService(CartRepository cartRepository, CartItemRepository cartItemRepository,
-                       ProductRepository productRepository, UserRepository userRepository) {
+                       ProductRepository productRepository, UserRepository userRepository,
+                       ApplicationEventPublisher eventPublisher) {
         this.cartRepository = cartRepository;
         this.cartItemRepository = cartItemRepository;
         this.productRepository = productRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -95,6 +100,7 @@ public class CartService {
 
         // Saving the cart will cascade the changes to cart items (due to CascadeType.ALL)
         cartRepository.save(userCart);
+        publishItemChanged(userCart, productId, cartItem.getQuantity());
 
         return cartItem;
     }
@@ -147,11 +153,13 @@ public class CartService {
             userCart.getItems().remove(cartItem); // Remove from collection
             cartItemRepository.delete(cartItem); // Explicitly delete from DB
             cartRepository.save(userCart); // Save cart to reflect changes in collection
+            publishItemChanged(userCart, productId, 0);
             return null; // Indicate item was removed
         } else {
             // Update quantity
             cartItem.setQuantity(newQuantity);
             cartItemRepository.save(cartItem); // Save the updated cart item
+            publishItemChanged(userCart, productId, newQuantity);
             // Note: saving cartItem implicitly saves cart if cart is managed.
             // cartRepository.save(userCart); // Optional, but good to keep if you want to ensure cart state is flushed
             return cartItem;
@@ -180,6 +188,11 @@ public class CartService {
         // and saving the cart *should* also delete the item.
         // However, explicit deletion ensures it regardless of the orphanRemoval configuration.
         cartRepository.save(userCart); // Save cart to reflect the change in its collection
+        publishItemChanged(userCart, productId, 0);
+    }
+
+    private void publishItemChanged(Cart cart, Long productId, int quantity) {
+        eventPublisher.publishEvent(CartItemChangedEvent.of(cart.getId(), cart.getUser().getId(), productId, quantity));
     }
         
     // You will add more methods here later:
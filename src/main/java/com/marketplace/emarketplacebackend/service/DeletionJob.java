@@ -0,0 +1,96 @@
+// DeletionJob.java
+package com.marketplace.emarketplacebackend.service;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Progress of a background store/seller deletion, polled through GET /api/deletion-jobs/{id}.
+// Counters are updated by the worker thread while clients read them, hence the atomics and volatiles.
+public class DeletionJob {
+
+    public enum Status { PENDING, RUNNING, COMPLETED, FAILED }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String targetType; // "store" or "seller"
+    private final Long targetId;
+
+    // Totals grow when a seller deletion finds stores opened after the job started
+    private final AtomicLong totalProducts = new AtomicLong();
+    private final AtomicLong totalStores = new AtomicLong();
+
+    private final AtomicLong deletedProducts = new AtomicLong();
+    private final AtomicLong deletedCartItems = new AtomicLong();
+    private final AtomicLong deletedStores = new AtomicLong();
+
+    private volatile Status status = Status.PENDING;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public DeletionJob(String targetType, Long targetId, long totalProducts, int totalStores) {
+        this.targetType = targetType;
+        this.targetId = targetId;
+        this.totalProducts.set(totalProducts);
+        this.totalStores.set(totalStores);
+    }
+
+    void markRunning() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    void markCompleted() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    void markFailed(String message) {
+        error = message;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    void addTotals(long products, long stores) {
+        totalProducts.addAndGet(products);
+        totalStores.addAndGet(stores);
+    }
+
+    void addDeletedProducts(long count) {
+        deletedProducts.addAndGet(count);
+    }
+
+    void addDeletedCartItems(long count) {
+        deletedCartItems.addAndGet(count);
+    }
+
+    void addDeletedStores(long count) {
+        deletedStores.addAndGet(count);
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    // Percentage of rows (products + stores) removed so far
+    public int getProgressPercent() {
+        long total = totalProducts.get() + totalStores.get();
+        if (total == 0) {
+            return isFinished() ? 100 : 0;
+        }
+        return (int) Math.min(100, (deletedProducts.get() + deletedStores.get()) * 100 / total);
+    }
+
+    public String getId() { return id; }
+    public String getTargetType() { return targetType; }
+    public Long getTargetId() { return targetId; }
+    public long getTotalProducts() { return totalProducts.get(); }
+    public long getTotalStores() { return totalStores.get(); }
+    public long getDeletedProducts() { return deletedProducts.get(); }
+    public long getDeletedCartItems() { return deletedCartItems.get(); }
+    public long getDeletedStores() { return deletedStores.get(); }
+    public Status getStatus() { return status; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public String getError() { return error; }
+}
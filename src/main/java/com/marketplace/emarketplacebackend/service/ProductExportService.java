@@ -0,0 +1,76 @@
+// ProductExportService.java
+package com.marketplace.emarketplacebackend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class ProductExportService {
+
+    // Detach everything read so far every N rows, so the persistence context (and the heap) stays flat.
+    private static final int CLEAR_INTERVAL = 1000;
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ProductExportService(ProductRepository productRepository, ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the whole catalog as NDJSON (one product object per line) straight from a database cursor.
+     * Output is flushed after every batch, so throughput is bounded by the client connection, not by buffering.
+     * @param out The stream to write to. It is flushed but not closed.
+     * @return The number of products written.
+     */
+    @Transactional(readOnly = true)
+    public long writeProductsNdjson(OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<Product> products = productRepository.streamAllForExport();
+             JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.setRootValueSeparator(null); // Lines are separated explicitly below
+
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                writeProduct(gen, iterator.next());
+                gen.writeRaw('\n');
+                if (++count % CLEAR_INTERVAL == 0) {
+                    gen.flush();
+                    entityManager.clear();
+                }
+            }
+            gen.flush();
+        }
+        return count;
+    }
+
+    private void writeProduct(JsonGenerator gen, Product product) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("id", product.getId());
+        gen.writeStringField("name", product.getName());
+        gen.writeStringField("description", product.getDescription());
+        gen.writeNumberField("price", product.getPrice());
+        gen.writeNumberField("stock", product.getStock());
+        gen.writeStringField("category", product.getCategory().getName());
+        gen.writeNumberField("storeId", product.getStore().getId());
+        gen.writeEndObject();
+    }
+}
@@ -1,16 +1,21 @@
 package com.marketplace.emarketplacebackend.service;
 
+import com.marketplace.emarketplacebackend.cache.CatalogResponseCache;
 import com.marketplace.emarketplacebackend.exception.ResourceNotFoundException;
 import com.marketplace.emarketplacebackend.model.Product;
 import com.marketplace.emarketplacebackend.model.Store;
 import com.marketplace.emarketplacebackend.model.Category;
 import com.marketplace.emarketplacebackend.dto.ProductRequest;
+import com.marketplace.emarketplacebackend.event.ProductChangedEvent;
+import com.marketplace.emarketplacebackend.event.ProductDeletedEvent;
 import com.marketplace.emarketplacebackend.repository.CategoryRepository;
 import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import com.marketplace.emarketplacebackend.repository.ProductStockShardRepository;
 import com.marketplace.emarketplacebackend.repository.SellerRepository;
 import com.marketplace.emarketplacebackend.repository.StoreRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page; // NEW IMPORT
 import org.springframework.data.domain.Pageable; // NEW IMPORT
 import org.springframework.stereotype.Service;
@@ -24,20 +29,35 @@ import java.util.Optional;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductStockShardRepository productStockShardRepository;
     private final CategoryRepository categoryRepository;
     private final SellerRepository sellerRepository;                
     private final StoreRepository storeRepository; // Inject the new StoreRepository
+    private final CatalogResponseCache catalogResponseCache; // Purged on every product write
+    private final SellerDashboardService sellerDashboardService; // Inventory totals adjusted on every product write
+    private final ApplicationEventPublisher eventPublisher; // Catalog events feed the product read model
+    private final StockService stockService; // Sharded products keep their stock in shard rows
 
 // Update constructor to include StoreRepository
 @Autowired
 public ProductService(ProductRepository productRepository,
+                      ProductStockShardRepository productStockShardRepository,
                       CategoryRepository categoryRepository,
                       SellerRepository sellerRepository, // May still be needed for other ops or to get a seller for a store
-                      StoreRepository storeRepository) {
+                      StoreRepository storeRepository,
+                      CatalogResponseCache catalogResponseCache,
+                      SellerDashboardService sellerDashboardService,
+                      ApplicationEventPublisher eventPublisher,
+                      StockService stockService) {
     this.productRepository = productRepository;
+    this.productStockShardRepository = productStockShardRepository;
     this.categoryRepository = categoryRepository;
     this.sellerRepository = sellerRepository;
     this.storeRepository = storeRepository;
+    this.catalogResponseCache = catalogResponseCache;
+    this.sellerDashboardService = sellerDashboardService;
+    this.eventPublisher = eventPublisher;
+    this.stockService = stockService;
 }
 
 @Transactional
@@ -57,12 +77,17 @@ public Product createProduct(ProductRequest productRequest) {
     product.setCategory(category);
     product.setStore(store); // Link to Store
 
-    return productRepository.save(product);
+    Product savedProduct = productRepository.save(product);
+    sellerDashboardService.productAdded(store.getId(), savedProduct.getPrice(), savedProduct.getStock());
+    catalogResponseCache.evictProduct(savedProduct.getId(), store.getId());
+    eventPublisher.publishEvent(ProductChangedEvent.of(savedProduct));
+    return savedProduct;
 }
 
 @Transactional
 public Product updateProduct(Long id, ProductRequest productRequest) {
-    Product existingProduct = productRepository.findById(id)
+    // Locked, so atomic stock decrements wait for the edit and the stock read below stays current
+    Product existingProduct = productRepository.findByIdForUpdate(id)
             .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
 
     Category category = categoryRepository.findByName(productRequest.getCategoryName())
@@ -72,14 +97,34 @@ public Product updateProduct(Long id, ProductRequest productRequest) {
     Store store = storeRepository.findById(productRequest.getStoreId())
             .orElseThrow(() -> new ResourceNotFoundException("Store not found with id: " + productRequest.getStoreId()));
 
+    // Captured before the update so the inventory totals can be moved by the difference
+    Double previousPrice = existingProduct.getPrice();
+    Integer previousStock = existingProduct.getStock();
+    Long previousStoreId = existingProduct.getStore().getId();
+
+    // A sharded product shows a periodically synced total, so clients send that snapshot back with edits that
+    // don't mean to change the stock. Only a value that differs from both the snapshot and the live stock replaces
+    // it; anything else keeps the live stock, so units sold since the snapshot don't come back.
+    int currentStock = stockService.currentStock(existingProduct);
+    Integer requestedStock = productRequest.getStock();
+    boolean stockEdited = !requestedStock.equals(previousStock) && requestedStock != currentStock;
+
     existingProduct.setName(productRequest.getName());
     existingProduct.setDescription(productRequest.getDescription());
     existingProduct.setPrice(productRequest.getPrice());
-    existingProduct.setStock(productRequest.getStock());
+    existingProduct.setStock(stockEdited ? requestedStock : currentStock);
     existingProduct.setCategory(category);
     existingProduct.setStore(store); // Link to Store
 
-    return productRepository.save(existingProduct);
+    Product savedProduct = productRepository.save(existingProduct);
+    sellerDashboardService.productChanged(previousStoreId, previousPrice, previousStock, savedProduct);
+    if (stockEdited) {
+        stockService.stockReplaced(id, savedProduct.getStock());
+    }
+    catalogResponseCache.evictProduct(id, previousStoreId);
+    catalogResponseCache.evictProduct(id, store.getId());
+    eventPublisher.publishEvent(ProductChangedEvent.of(savedProduct));
+    return savedProduct;
 }
 
 
@@ -93,7 +138,11 @@ public Product updateProduct(Long id, ProductRequest productRequest) {
     public void deleteProduct(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        productStockShardRepository.deleteByProductIdIn(List.of(id));
         productRepository.delete(product);
+        sellerDashboardService.productRemoved(product.getStore().getId(), product.getPrice(), product.getStock());
+        catalogResponseCache.evictProduct(id, product.getStore().getId());
+        eventPublisher.publishEvent(ProductDeletedEvent.of(id, product.getStore().getId()));
     }
 
     // MODIFIED: getAllProducts to accept Pageable
@@ -0,0 +1,123 @@
+// SellerDashboardService.java
+package com.marketplace.emarketplacebackend.service;
+
+import com.marketplace.emarketplacebackend.dto.SellerDashboard;
+import com.marketplace.emarketplacebackend.dto.StoreInventory;
+import com.marketplace.emarketplacebackend.exception.ResourceNotFoundException;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.model.StoreInventoryStats;
+import com.marketplace.emarketplacebackend.repository.SellerRepository;
+import com.marketplace.emarketplacebackend.repository.StoreInventoryStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Seller dashboard backed by the store_inventory_stats summary table. Product writes adjust the owning store's
+ * row by a delta inside their own transaction, so the dashboard reads one small row per store instead of
+ * aggregating the seller's products.
+ */
+@Service
+public class SellerDashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SellerDashboardService.class);
+
+    private final StoreInventoryStatsRepository statsRepository;
+    private final SellerRepository sellerRepository;
+
+    @Autowired
+    public SellerDashboardService(StoreInventoryStatsRepository statsRepository, SellerRepository sellerRepository) {
+        this.statsRepository = statsRepository;
+        this.sellerRepository = sellerRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        int created = statsRepository.backfillMissing();
+        logger.info("Store inventory stats backfilled for {} stores", created);
+    }
+
+    @Transactional(readOnly = true)
+    public SellerDashboard getDashboard(Long sellerId) {
+        if (!sellerRepository.existsById(sellerId)) {
+            throw new ResourceNotFoundException("Seller not found with id: " + sellerId);
+        }
+        List<StoreInventory> stores = statsRepository.findInventoryBySellerId(sellerId);
+        long products = 0;
+        long units = 0;
+        BigDecimal value = BigDecimal.ZERO;
+        for (StoreInventory store : stores) {
+            products += store.productCount();
+            units += store.stockUnits();
+            value = value.add(store.inventoryValue());
+        }
+        return new SellerDashboard(sellerId, stores.size(), products, units, value, stores);
+    }
+
+    // --- Hooks called from the store and product write paths, inside their transactions ---
+
+    @Transactional
+    public void storeCreated(Long storeId, Long sellerId) {
+        statsRepository.save(new StoreInventoryStats(storeId, sellerId));
+    }
+
+    @Transactional
+    public void storeReassigned(Long storeId, Long sellerId) {
+        if (statsRepository.reassignSeller(storeId, sellerId) == 0) {
+            statsRepository.backfillStore(storeId);
+        }
+    }
+
+    @Transactional
+    public void productAdded(Long storeId, Double price, Integer stock) {
+        apply(storeId, 1, stock, value(price, stock));
+    }
+
+    @Transactional
+    public void productRemoved(Long storeId, Double price, Integer stock) {
+        apply(storeId, -1, -stock, value(price, stock).negate());
+    }
+
+    /**
+     * Moves a product's contribution from its old values (and store) to its new ones.
+     */
+    @Transactional
+    public void productChanged(Long oldStoreId, Double oldPrice, Integer oldStock, Product updated) {
+        Long newStoreId = updated.getStore().getId();
+        if (oldStoreId.equals(newStoreId)) {
+            apply(newStoreId, 0, updated.getStock() - oldStock,
+                    value(updated.getPrice(), updated.getStock()).subtract(value(oldPrice, oldStock)));
+        } else {
+            productRemoved(oldStoreId, oldPrice, oldStock);
+            productAdded(newStoreId, updated.getPrice(), updated.getStock());
+        }
+    }
+
+    // Stock-only changes from StockService (the product's price and store are unchanged)
+    @Transactional
+    public void stockChanged(Long storeId, Double price, Integer oldStock, Integer newStock) {
+        apply(storeId, 0, newStock - oldStock, value(price, newStock).subtract(value(price, oldStock)));
+    }
+
+    private void apply(Long storeId, long products, long units, BigDecimal value) {
+        if (statsRepository.applyDelta(storeId, products, units, value) == 0) {
+            // No row yet: build it from the products table, which already reflects this write
+            // (the native insert flushes the pending product change first).
+            statsRepository.backfillStore(storeId);
+        }
+    }
+
+    // Rounded per product, the same way the backfill query does, so additions and removals cancel exactly
+    private static BigDecimal value(Double price, Integer stock) {
+        return BigDecimal.valueOf(price).multiply(BigDecimal.valueOf(stock)).setScale(2, RoundingMode.HALF_UP);
+    }
+}
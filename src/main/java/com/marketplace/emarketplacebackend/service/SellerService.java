@@ -36,10 +36,6 @@ public class SellerService {
         return sellerRepository.save(seller);
     }
 
-    public void deleteSeller(Long id) {
-        sellerRepository.deleteById(id);
-    }
-
     // NEW: Search sellers by name with pagination and sorting
     public Page<Seller> searchSellers(String searchTerm, Pageable pageable) {
         return sellerRepository.findByNameContainingIgnoreCase(searchTerm, pageable);
@@ -0,0 +1,294 @@
+// StockService.java
+package com.marketplace.emarketplacebackend.service;
+
+import com.marketplace.emarketplacebackend.cache.CatalogResponseCache;
+import com.marketplace.emarketplacebackend.dto.StockLevel;
+import com.marketplace.emarketplacebackend.event.ProductStockChangedEvent;
+import com.marketplace.emarketplacebackend.exception.InsufficientStockException;
+import com.marketplace.emarketplacebackend.exception.ResourceNotFoundException;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.model.ProductStockShard;
+import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import com.marketplace.emarketplacebackend.repository.ProductStockShardRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stock decrements that never oversell, however many buyers race for the same product.
+ *
+ * By default a product's stock is products.stock, taken with one conditional UPDATE (stock = stock - n where
+ * stock >= n): no read-modify-write, and concurrent buyers only queue on that row for the length of their own
+ * transactions. For flash-sale products that row becomes the bottleneck, so {@link #shard} splits the stock over
+ * N rows of product_stock_shards. A buyer then decrements one shard, starting from a random one, so buyers of the
+ * same product mostly lock different rows. Only when no single shard holds the quantity are all shards locked
+ * (always product row first, then shards in order) and the remainder spread evenly again.
+ *
+ * For sharded products, products.stock, the seller dashboard, the catalog cache and the product documents are
+ * brought up to date by {@link #syncShardedStock} every sync interval rather than on every purchase; the sync also
+ * evens out shards that have drifted apart. Unsharded products update all of them in the decrement's transaction.
+ *
+ * Metrics: marketplace.stock.decrements (tag path: row, shard or rebalance) and marketplace.stock.rejected.
+ */
+@Service
+public class StockService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockService.class);
+
+    private final ProductRepository productRepository;
+    private final ProductStockShardRepository shardRepository;
+    private final SellerDashboardService sellerDashboardService;
+    private final CatalogResponseCache catalogResponseCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter rowDecrements;
+    private final Counter shardDecrements;
+    private final Counter rebalanceDecrements;
+    private final Counter rejected;
+
+    @Value("${marketplace.stock.shards.max:64}")
+    private int maxShards;
+
+    @Autowired
+    public StockService(ProductRepository productRepository, ProductStockShardRepository shardRepository,
+                        SellerDashboardService sellerDashboardService, CatalogResponseCache catalogResponseCache,
+                        ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate,
+                        MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.shardRepository = shardRepository;
+        this.sellerDashboardService = sellerDashboardService;
+        this.catalogResponseCache = catalogResponseCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.rowDecrements = decrements("row", meterRegistry);
+        this.shardDecrements = decrements("shard", meterRegistry);
+        this.rebalanceDecrements = decrements("rebalance", meterRegistry);
+        this.rejected = Counter.builder("marketplace.stock.rejected")
+                .description("Stock decrements refused because the product had too few units left")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes quantity units of the product's stock, all or nothing.
+     * @throws ResourceNotFoundException if the product doesn't exist.
+     * @throws InsufficientStockException if it has fewer than quantity units left.
+     */
+    @Transactional
+    public void decrement(Long productId, int quantity) {
+        requirePositive(quantity);
+        if (productRepository.decrementStock(productId, quantity) == 1) {
+            rowChanged(productId, -quantity);
+            rowDecrements.increment();
+            return;
+        }
+        StockLevel level = stockLevel(productId);
+        int shards = level.stockShards();
+        if (shards == 0) {
+            throw reject(productId, quantity, level.stock());
+        }
+        int start = ThreadLocalRandom.current().nextInt(shards);
+        for (int i = 0; i < shards; i++) {
+            if (shardRepository.decrement(productId, (start + i) % shards, quantity) == 1) {
+                shardDecrements.increment();
+                return;
+            }
+        }
+        // Sold out is the common case once a sale ends: refuse it without locking anything
+        long available = shardRepository.sumStock(productId);
+        if (available < quantity) {
+            throw reject(productId, quantity, available);
+        }
+        decrementAcrossShards(productId, quantity);
+    }
+
+    /**
+     * Puts quantity units back, e.g. when an order is cancelled.
+     * @throws ResourceNotFoundException if the product doesn't exist.
+     */
+    @Transactional
+    public void release(Long productId, int quantity) {
+        requirePositive(quantity);
+        if (productRepository.incrementStock(productId, quantity) == 1) {
+            rowChanged(productId, quantity);
+            return;
+        }
+        int shards = stockLevel(productId).stockShards();
+        if (shards > 0
+                && shardRepository.increment(productId, ThreadLocalRandom.current().nextInt(shards), quantity) == 1) {
+            return;
+        }
+        // The shard count changed since it was read; under the product lock it can't change again
+        Product product = lockProduct(productId);
+        if (product.getStockShards() == 0) {
+            productRepository.incrementStock(productId, quantity);
+            rowChanged(productId, quantity);
+        } else {
+            shardRepository.increment(productId, 0, quantity);
+        }
+    }
+
+    /**
+     * Splits the product's stock over count shard rows, or moves it back into products.stock when count is 0 or
+     * 1. Re-sharding an already sharded product keeps its total and spreads it over the new count.
+     * @throws ResourceNotFoundException if the product doesn't exist.
+     * @throws IllegalArgumentException if count is negative or above marketplace.stock.shards.max.
+     */
+    @Transactional
+    public void shard(Long productId, int count) {
+        if (count < 0 || count > maxShards) {
+            throw new IllegalArgumentException("Shard count must be between 0 and " + maxShards + ".");
+        }
+        Product product = lockProduct(productId);
+        List<ProductStockShard> shards = new ArrayList<>(shardRepository.findByProductIdForUpdate(productId));
+        int total = product.getStockShards() == 0 ? product.getStock() : (int) sum(shards);
+        int shardCount = count <= 1 ? 0 : count; // A single shard is the plain row with extra steps
+        if (shards.size() > shardCount) {
+            shardRepository.deleteAll(shards.subList(shardCount, shards.size()));
+            shards = new ArrayList<>(shards.subList(0, shardCount));
+        }
+        for (int shard = shards.size(); shard < shardCount; shard++) {
+            shards.add(shardRepository.save(new ProductStockShard(productId, shard, 0)));
+        }
+        spread(shards, total);
+        productRepository.updateStockShards(productId, shardCount, total);
+        if (total != product.getStock()) {
+            stockChanged(productId, product.getStore().getId(), product.getPrice(), product.getStock(), total);
+        }
+        logger.info("Product {} now keeps its {} units in {} stock shards", productId, total, shardCount);
+    }
+
+    // The product's live stock: products.stock, or the sum of its shards when it's sharded
+    public int currentStock(Product product) {
+        return product.getStockShards() == 0 ? product.getStock() : (int) shardRepository.sumStock(product.getId());
+    }
+
+    /**
+     * A product edit set products.stock to a new total: for a sharded product that total is spread over its
+     * shards. Called from ProductService inside its transaction, with the product row already locked.
+     */
+    @Transactional
+    public void stockReplaced(Long productId, int stock) {
+        lockProduct(productId);
+        List<ProductStockShard> shards = shardRepository.findByProductIdForUpdate(productId);
+        if (!shards.isEmpty()) {
+            spread(shards, stock);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${marketplace.stock.shards.sync-interval-ms:1000}")
+    public void syncShardedStock() {
+        for (Long productId : productRepository.findIdsWithShardedStock()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> sync(productId));
+            } catch (RuntimeException e) {
+                logger.warn("Stock sync of product {} failed, retrying on the next run: {}", productId, e.getMessage());
+            }
+        }
+    }
+
+    // Refreshes products.stock (and what follows it) from the shards, and rebalances them when they've drifted
+    private void sync(Long productId) {
+        Product product = productRepository.findByIdForUpdate(productId).orElse(null);
+        if (product == null || product.getStockShards() == 0) {
+            return; // Deleted or unsharded since the ids were read
+        }
+        List<Integer> stocks = shardRepository.findStockByProductId(productId);
+        long total = stocks.stream().mapToLong(Integer::longValue).sum();
+        int lowest = stocks.stream().mapToInt(Integer::intValue).min().orElse(0);
+        // Rebalance when some shard is down to less than half its even share, before buyers find it empty
+        if (!stocks.isEmpty() && total >= stocks.size() && lowest < total / stocks.size() / 2) {
+            List<ProductStockShard> shards = shardRepository.findByProductIdForUpdate(productId);
+            total = sum(shards);
+            spread(shards, total);
+        }
+        int snapshot = product.getStock();
+        if (total != snapshot) {
+            product.setStock((int) total);
+            stockChanged(productId, product.getStore().getId(), product.getPrice(), snapshot, (int) total);
+        }
+    }
+
+    private void decrementAcrossShards(Long productId, int quantity) {
+        Product product = lockProduct(productId);
+        if (product.getStockShards() == 0) {
+            // Unsharded since its stock level was read
+            if (productRepository.decrementStock(productId, quantity) == 0) {
+                throw reject(productId, quantity, stockLevel(productId).stock());
+            }
+            rowChanged(productId, -quantity);
+            rowDecrements.increment();
+            return;
+        }
+        List<ProductStockShard> shards = shardRepository.findByProductIdForUpdate(productId);
+        long total = sum(shards);
+        if (total < quantity) {
+            throw reject(productId, quantity, total);
+        }
+        spread(shards, total - quantity);
+        rebalanceDecrements.increment();
+    }
+
+    // products.stock was just changed by delta in this transaction
+    private void rowChanged(Long productId, int delta) {
+        StockLevel level = stockLevel(productId);
+        stockChanged(productId, level.storeId(), level.price(), level.stock() - delta, level.stock());
+    }
+
+    private void stockChanged(Long productId, Long storeId, Double price, int oldStock, int newStock) {
+        sellerDashboardService.stockChanged(storeId, price, oldStock, newStock);
+        catalogResponseCache.evictProduct(productId, storeId);
+        eventPublisher.publishEvent(ProductStockChangedEvent.of(productId, storeId, newStock));
+    }
+
+    private StockLevel stockLevel(Long productId) {
+        return productRepository.findStockLevel(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+    }
+
+    private Product lockProduct(Long productId) {
+        return productRepository.findByIdForUpdate(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+    }
+
+    private InsufficientStockException reject(Long productId, int quantity, long available) {
+        rejected.increment();
+        return new InsufficientStockException(productId, quantity, available);
+    }
+
+    // Even split of total over the locked shards; the first total % n shards get one unit more
+    private static void spread(List<ProductStockShard> shards, long total) {
+        int count = shards.size();
+        for (int i = 0; i < count; i++) {
+            shards.get(i).setStock((int) (total / count + (i < total % count ? 1 : 0)));
+        }
+    }
+
+    private static long sum(List<ProductStockShard> shards) {
+        return shards.stream().mapToLong(ProductStockShard::getStock).sum();
+    }
+
+    private static void requirePositive(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be greater than zero.");
+        }
+    }
+
+    private static Counter decrements(String path, MeterRegistry meterRegistry) {
+        return Counter.builder("marketplace.stock.decrements")
+                .description("Successful stock decrements, by how the stock was taken")
+                .tag("path", path)
+                .register(meterRegistry);
+    }
+}
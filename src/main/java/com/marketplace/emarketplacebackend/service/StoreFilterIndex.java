@@ -0,0 +1,182 @@
+// StoreFilterIndex.java
+package com.marketplace.emarketplacebackend.service;
+
+import com.marketplace.emarketplacebackend.model.Category;
+import com.marketplace.emarketplacebackend.repository.StoreRepository;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory compressed bitmap index of stores by category and by location, answering combined filters such as
+ * "stores in Warri selling Electronics and Sports" with bitmap AND/OR instead of a database scan.
+ *
+ * Bitmaps are copy-on-write: writers (serialized on this object) replace a bitmap with a modified copy and never
+ * mutate a published one, so readers need no locking.
+ */
+@Component
+public class StoreFilterIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoreFilterIndex.class);
+
+    private final StoreRepository storeRepository;
+
+    private volatile RoaringBitmap allStores = new RoaringBitmap();
+    private final Map<Long, RoaringBitmap> byCategory = new ConcurrentHashMap<>();
+    private final Map<String, RoaringBitmap> byLocation = new ConcurrentHashMap<>();
+    private final Map<String, Long> categoryIdsByName = new ConcurrentHashMap<>();
+    // What each store is currently indexed under, so a re-index can remove the old bits
+    private final Map<Long, IndexedStore> indexed = new HashMap<>();
+
+    @Autowired
+    public StoreFilterIndex(StoreRepository storeRepository) {
+        this.storeRepository = storeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        Map<Long, Set<Long>> categoriesByStore = new HashMap<>();
+        for (Object[] row : storeRepository.findAllCategoryLinks()) {
+            categoriesByStore.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+            categoryIdsByName.put(normalize((String) row[2]), (Long) row[1]);
+        }
+        List<Object[]> locations = storeRepository.findAllLocations();
+        for (Object[] row : locations) {
+            Long storeId = (Long) row[0];
+            index(storeId, new IndexedStore(normalize((String) row[1]), categoriesByStore.getOrDefault(storeId, Set.of())));
+        }
+        logger.info("Store filter index loaded with {} stores", locations.size());
+    }
+
+    public synchronized void update(Long storeId, String location, Collection<Category> categories) {
+        Set<Long> categoryIds = new HashSet<>();
+        for (Category category : categories) {
+            categoryIds.add(category.getId());
+            categoryIdsByName.put(normalize(category.getName()), category.getId());
+        }
+        remove(storeId);
+        index(storeId, new IndexedStore(normalize(location), categoryIds));
+    }
+
+    public synchronized void remove(Long storeId) {
+        IndexedStore previous = indexed.remove(storeId);
+        if (previous == null) {
+            return;
+        }
+        int bit = toBit(storeId);
+        allStores = without(allStores, bit);
+        byLocation.computeIfPresent(previous.location(), (key, bitmap) -> emptyToNull(without(bitmap, bit)));
+        for (Long categoryId : previous.categoryIds()) {
+            byCategory.computeIfPresent(categoryId, (key, bitmap) -> emptyToNull(without(bitmap, bit)));
+        }
+    }
+
+    /**
+     * Ids of the stores in any of the given locations that sell all (or, with matchAll=false, any) of the given
+     * categories, in ascending id order. Empty criteria don't filter.
+     */
+    public Page<Long> filter(Collection<String> locations, Collection<String> categoryNames, boolean matchAll,
+                             Pageable pageable) {
+        RoaringBitmap result = allStores;
+
+        if (!locations.isEmpty()) {
+            RoaringBitmap inLocations = new RoaringBitmap();
+            for (String location : locations) {
+                RoaringBitmap bitmap = byLocation.get(normalize(location));
+                if (bitmap != null) {
+                    inLocations = RoaringBitmap.or(inLocations, bitmap);
+                }
+            }
+            result = RoaringBitmap.and(result, inLocations);
+        }
+
+        if (!categoryNames.isEmpty()) {
+            RoaringBitmap inCategories = matchAll ? null : new RoaringBitmap();
+            for (String categoryName : categoryNames) {
+                Long categoryId = categoryIdsByName.get(normalize(categoryName));
+                RoaringBitmap bitmap = categoryId == null ? null : byCategory.get(categoryId);
+                if (matchAll) {
+                    if (bitmap == null) {
+                        return Page.empty(pageable); // Nobody sells this category
+                    }
+                    inCategories = inCategories == null ? bitmap : RoaringBitmap.and(inCategories, bitmap);
+                } else if (bitmap != null) {
+                    inCategories = RoaringBitmap.or(inCategories, bitmap);
+                }
+            }
+            result = RoaringBitmap.and(result, inCategories);
+        }
+
+        return page(result, pageable);
+    }
+
+    private static Page<Long> page(RoaringBitmap result, Pageable pageable) {
+        long total = result.getLongCardinality();
+        List<Long> ids = new ArrayList<>(pageable.getPageSize());
+        if (pageable.getOffset() < total) {
+            PeekableIntIterator iterator = result.getIntIterator();
+            iterator.advanceIfNeeded(result.select((int) pageable.getOffset()));
+            while (iterator.hasNext() && ids.size() < pageable.getPageSize()) {
+                ids.add((long) iterator.next());
+            }
+        }
+        return new PageImpl<>(ids, pageable, total);
+    }
+
+    private void index(Long storeId, IndexedStore store) {
+        int bit = toBit(storeId);
+        indexed.put(storeId, store);
+        allStores = with(allStores, bit);
+        byLocation.compute(store.location(), (key, bitmap) -> with(bitmap, bit));
+        for (Long categoryId : store.categoryIds()) {
+            byCategory.compute(categoryId, (key, bitmap) -> with(bitmap, bit));
+        }
+    }
+
+    private static RoaringBitmap with(RoaringBitmap bitmap, int bit) {
+        RoaringBitmap copy = bitmap == null ? new RoaringBitmap() : bitmap.clone();
+        copy.add(bit);
+        copy.runOptimize();
+        return copy;
+    }
+
+    private static RoaringBitmap without(RoaringBitmap bitmap, int bit) {
+        RoaringBitmap copy = bitmap.clone();
+        copy.remove(bit);
+        return copy;
+    }
+
+    private static RoaringBitmap emptyToNull(RoaringBitmap bitmap) {
+        return bitmap.isEmpty() ? null : bitmap;
+    }
+
+    // Roaring bitmaps hold 32-bit values; database-generated store ids stay far below that.
+    private static int toBit(Long storeId) {
+        return Math.toIntExact(storeId);
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record IndexedStore(String location, Set<Long> categoryIds) {
+    }
+}
@@ -0,0 +1,120 @@
+// StoreLeaderboard.java
+package com.marketplace.emarketplacebackend.service;
+
+import com.marketplace.emarketplacebackend.dto.StoreRank;
+import com.marketplace.emarketplacebackend.repository.StoreRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory top-rated store rankings, overall and per location. Seeded from the database once at startup and
+ * then kept current from the rating and store write paths, so reading the leaderboard never queries the database.
+ */
+@Component
+public class StoreLeaderboard {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoreLeaderboard.class);
+
+    // Highest average first; more ratings wins a tie; store id keeps the order total so no entry is ever dropped as a duplicate.
+    private static final Comparator<StoreRank> RANKING = Comparator
+            .comparing(StoreRank::averageRating, Comparator.reverseOrder())
+            .thenComparing(StoreRank::ratingCount, Comparator.reverseOrder())
+            .thenComparing(StoreRank::storeId);
+
+    private final StoreRepository storeRepository;
+
+    private final NavigableSet<StoreRank> overall = new ConcurrentSkipListSet<>(RANKING);
+    private final Map<String, NavigableSet<StoreRank>> byLocation = new ConcurrentHashMap<>();
+    // The entry currently ranked for each store, needed to find and remove it when the store changes
+    private final Map<Long, StoreRank> current = new ConcurrentHashMap<>();
+
+    @Autowired
+    public StoreLeaderboard(StoreRepository storeRepository) {
+        this.storeRepository = storeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<StoreRank> ranks = storeRepository.findAllRanked();
+        ranks.forEach(this::update);
+        logger.info("Store leaderboard loaded with {} rated stores", ranks.size());
+    }
+
+    /**
+     * Top rated stores, best first.
+     * @param location Exact store location (case-insensitive), or null for all locations.
+     */
+    public List<StoreRank> top(String location, int limit) {
+        NavigableSet<StoreRank> ranking = location == null ? overall : byLocation.get(normalize(location));
+        if (ranking == null) {
+            return List.of();
+        }
+        return ranking.stream().limit(limit).toList();
+    }
+
+    /**
+     * Replaces the store's entry. Updates can arrive out of order from concurrent commits, so an entry from an
+     * older rating version than the one already ranked is stale and ignored. (The rating count can't tell: a
+     * re-rating changes the average but not the count.)
+     */
+    public void update(StoreRank rank) {
+        current.compute(rank.storeId(), (storeId, previous) -> {
+            if (previous != null) {
+                if (previous.ratingVersion() > rank.ratingVersion()) {
+                    return previous;
+                }
+                unrank(previous);
+            }
+            if (rank.ratingCount() > 0) {
+                overall.add(rank);
+                // Added inside compute, so a concurrent unrank can't drop the set between lookup and add
+                byLocation.compute(normalize(rank.location()), (location, ranking) -> {
+                    NavigableSet<StoreRank> result = ranking == null ? new ConcurrentSkipListSet<>(RANKING) : ranking;
+                    result.add(rank);
+                    return result;
+                });
+            }
+            return rank;
+        });
+    }
+
+    public void remove(Long storeId) {
+        current.computeIfPresent(storeId, (id, previous) -> {
+            unrank(previous);
+            return null;
+        });
+    }
+
+    private void unrank(StoreRank rank) {
+        if (rank.ratingCount() == 0) {
+            return; // Unrated stores are tracked in 'current' only
+        }
+        overall.remove(rank);
+        // A location whose last rated store moved away or was deleted is dropped, not kept as an empty set
+        byLocation.computeIfPresent(normalize(rank.location()), (location, ranking) -> {
+            ranking.remove(rank);
+            return ranking.isEmpty() ? null : ranking;
+        });
+    }
+
+    // Locations with at least one rated store
+    int locationCount() {
+        return byLocation.size();
+    }
+
+    private static String normalize(String location) {
+        return location.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,191 @@
+// StoreLocationIndex.java
+package com.marketplace.emarketplacebackend.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.marketplace.emarketplacebackend.repository.StoreRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory trigram index over the distinct store locations, for typo-tolerant location search:
+ * "lagos nigeria", "Lagos, NG" and "Lagoss" all resolve to the stores in "Lagos, Nigeria".
+ *
+ * Locations are normalized (case, punctuation, spacing) and split into word trigrams the way PostgreSQL's pg_trgm
+ * does. Trigrams are weighted by rarity, so words shared by most locations (a country name) count for little and
+ * the distinguishing part (the city) decides the match. Writes are serialized on this object; reads are lock-free.
+ */
+@Component
+public class StoreLocationIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoreLocationIndex.class);
+
+    // Locations scoring below this are never returned
+    static final double MIN_SIMILARITY = 0.45;
+    // Only locations scoring within this fraction of the best match are returned, so a clear hit isn't diluted
+    static final double RELATIVE_CUTOFF = 0.8;
+
+    private final StoreRepository storeRepository;
+
+    // Normalized location -> entry; one entry per distinct location, however many stores share it
+    private final Map<String, LocationEntry> locations = new ConcurrentHashMap<>();
+    // Trigram -> normalized locations containing it
+    private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, String> locationByStore = new HashMap<>();
+
+    @Autowired
+    public StoreLocationIndex(StoreRepository storeRepository) {
+        this.storeRepository = storeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        List<Object[]> rows = storeRepository.findAllLocations();
+        for (Object[] row : rows) {
+            update((Long) row[0], (String) row[1]);
+        }
+        logger.info("Store location index loaded with {} stores in {} distinct locations", rows.size(), locations.size());
+    }
+
+    public synchronized void update(Long storeId, String location) {
+        remove(storeId);
+        String key = normalize(location);
+        if (key.isEmpty()) {
+            return;
+        }
+        LocationEntry entry = locations.computeIfAbsent(key, k -> {
+            Set<String> grams = trigrams(k);
+            grams.forEach(gram -> postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(k));
+            return new LocationEntry(location.trim(), grams, ConcurrentHashMap.newKeySet());
+        });
+        entry.storeIds().add(storeId);
+        locationByStore.put(storeId, key);
+    }
+
+    public synchronized void remove(Long storeId) {
+        String key = locationByStore.remove(storeId);
+        if (key == null) {
+            return;
+        }
+        LocationEntry entry = locations.get(key);
+        entry.storeIds().remove(storeId);
+        if (entry.storeIds().isEmpty()) {
+            locations.remove(key);
+            for (String gram : entry.grams()) {
+                postings.computeIfPresent(gram, (g, keys) -> {
+                    keys.remove(key);
+                    return keys.isEmpty() ? null : keys;
+                });
+            }
+        }
+    }
+
+    /**
+     * Resolves free-form location input to the indexed locations it most likely means, best first.
+     */
+    public List<LocationMatch> search(String query) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty() || locations.isEmpty()) {
+            return List.of();
+        }
+        Set<String> queryGrams = trigrams(normalizedQuery);
+        int locationCount = locations.size();
+
+        // Accumulate the weight each candidate location shares with the query, touching only locations that share a trigram
+        Map<String, Double> sharedWeight = new HashMap<>();
+        double queryWeight = 0;
+        for (String gram : queryGrams) {
+            Set<String> keys = postings.getOrDefault(gram, Set.of());
+            double weight = weight(keys.size(), locationCount);
+            queryWeight += weight;
+            for (String key : keys) {
+                sharedWeight.merge(key, weight, Double::sum);
+            }
+        }
+
+        List<LocationMatch> matches = new ArrayList<>();
+        for (Map.Entry<String, Double> candidate : sharedWeight.entrySet()) {
+            LocationEntry entry = locations.get(candidate.getKey());
+            if (entry == null) {
+                continue; // Removed concurrently
+            }
+            double candidateWeight = 0;
+            for (String gram : entry.grams()) {
+                candidateWeight += weight(postings.getOrDefault(gram, Set.of()).size(), locationCount);
+            }
+            double shared = candidate.getValue();
+            // Dice similarity rewards overall likeness; containment keeps a short query ("lagos") from being
+            // penalized for everything the stored location adds ("lagos nigeria").
+            double dice = 2 * shared / (queryWeight + candidateWeight);
+            double containment = shared / queryWeight;
+            double score = (dice + containment) / 2;
+            if (score >= MIN_SIMILARITY) {
+                matches.add(new LocationMatch(entry.display(), Math.round(score * 1000) / 1000.0,
+                        new TreeSet<>(entry.storeIds())));
+            }
+        }
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        matches.sort(Comparator.comparingDouble(LocationMatch::score).reversed().thenComparing(LocationMatch::location));
+        double cutoff = matches.get(0).score() * RELATIVE_CUTOFF;
+        return matches.stream().filter(match -> match.score() >= cutoff).toList();
+    }
+
+    // Inverse document frequency: a trigram found in every location is worth little, an unseen one the most
+    private static double weight(int locationsWithGram, int locationCount) {
+        return Math.log(1.0 + (double) locationCount / Math.max(1, locationsWithGram));
+    }
+
+    // "  Lagos,NG " -> "lagos ng"
+    static String normalize(String location) {
+        if (location == null) {
+            return "";
+        }
+        return location.toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+    }
+
+    // Each word padded with two leading blanks and one trailing blank, as pg_trgm does: "ng" -> "  n", " ng", "ng "
+    static Set<String> trigrams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (String word : normalized.split(" ")) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * A stored location matching a search, with its similarity (0..1) and the stores located there.
+     * @param location The location as first entered by a store, e.g. "Lagos, Nigeria".
+     */
+    public record LocationMatch(String location, double score, @JsonIgnore Set<Long> storeIds) {
+
+        @JsonProperty
+        public int storeCount() {
+            return storeIds.size();
+        }
+    }
+
+    private record LocationEntry(String display, Set<String> grams, Set<Long> storeIds) {
+    }
+}
@@ -1,30 +1,78 @@
 package com.marketplace.emarketplacebackend.service;
 
+import com.marketplace.emarketplacebackend.cache.CatalogResponseCache;
+import com.marketplace.emarketplacebackend.dto.LocationSearchResult;
+import com.marketplace.emarketplacebackend.dto.StoreRank;
 import com.marketplace.emarketplacebackend.dto.StoreRequest;
+import com.marketplace.emarketplacebackend.dto.StoreSummary;
+import com.marketplace.emarketplacebackend.event.StoreChangedEvent;
 import com.marketplace.emarketplacebackend.exception.ResourceNotFoundException;
+import com.marketplace.emarketplacebackend.exception.UnknownCategoryException;
+import com.marketplace.emarketplacebackend.model.Category;
+import com.marketplace.emarketplacebackend.model.CategoryNames;
 import com.marketplace.emarketplacebackend.model.Seller;
 import com.marketplace.emarketplacebackend.model.Store;
+import com.marketplace.emarketplacebackend.model.StoreRating;
+import com.marketplace.emarketplacebackend.repository.CategoryRepository;
 import com.marketplace.emarketplacebackend.repository.SellerRepository;
+import com.marketplace.emarketplacebackend.repository.StoreRatingRepository;
 import com.marketplace.emarketplacebackend.repository.StoreRepository;
+import com.marketplace.emarketplacebackend.util.TransactionCallbacks;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.data.domain.Page; // NEW IMPORT
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable; // NEW IMPORT
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class StoreService {
 
     private final StoreRepository storeRepository;
+    private final StoreRatingRepository storeRatingRepository; // One row per user who rated a store
     private final SellerRepository sellerRepository; // To link stores to sellers
+    private final CatalogResponseCache catalogResponseCache; // Purged on every store write
+    private final CategoryRepository categoryRepository;
+    private final StoreLeaderboard storeLeaderboard;
+    private final StoreFilterIndex storeFilterIndex;
+    private final StoreLocationIndex storeLocationIndex;
+    private final SellerDashboardService sellerDashboardService;
+    private final ApplicationEventPublisher eventPublisher; // Product documents carry the store's name and location
+    private final TransactionTemplate transactionTemplate; // Ratings retry in a new transaction after losing a race
 
     @Autowired
-    public StoreService(StoreRepository storeRepository, SellerRepository sellerRepository) {
+    public StoreService(StoreRepository storeRepository, StoreRatingRepository storeRatingRepository,
+                        SellerRepository sellerRepository,
+                        CategoryRepository categoryRepository, CatalogResponseCache catalogResponseCache,
+                        StoreLeaderboard storeLeaderboard, StoreFilterIndex storeFilterIndex,
+                        StoreLocationIndex storeLocationIndex, SellerDashboardService sellerDashboardService,
+                        ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate) {
         this.storeRepository = storeRepository;
+        this.storeRatingRepository = storeRatingRepository;
         this.sellerRepository = sellerRepository;
+        this.categoryRepository = categoryRepository;
+        this.catalogResponseCache = catalogResponseCache;
+        this.storeLeaderboard = storeLeaderboard;
+        this.storeFilterIndex = storeFilterIndex;
+        this.storeLocationIndex = storeLocationIndex;
+        this.sellerDashboardService = sellerDashboardService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Transactional
@@ -38,23 +86,66 @@ public class StoreService {
         store.setDescription(storeRequest.getDescription());
         store.setContactInfo(storeRequest.getContactInfo());
         store.setProfileImageUrl(storeRequest.getProfileImageUrl());
-        store.setRating(storeRequest.getRating());
-        store.setCategories(storeRequest.getCategories());
+        store.setCategories(resolveCategories(storeRequest.getCategoryNames()));
         store.setSeller(seller);
 
-        return storeRepository.save(store);
+        Store savedStore = storeRepository.save(store);
+        sellerDashboardService.storeCreated(savedStore.getId(), seller.getId());
+        catalogResponseCache.evictStore(savedStore.getId());
+        eventPublisher.publishEvent(StoreChangedEvent.of(savedStore));
+        rerank(savedStore);
+        reindex(savedStore);
+        return savedStore;
     }
 
-    public List<Store> getAllStores() {
-        return storeRepository.findAll();
+    public Page<StoreSummary> getStoreSummaries(Pageable pageable) {
+        return withCategories(storeRepository.findAllSummaries(pageable));
+    }
+
+    /**
+     * Filters stores through the in-memory bitmap index, e.g. stores in Warri selling Electronics and Sports.
+     * Results are ordered by store id; only the requested page is read from the database.
+     * @param matchAll true to require every category, false to accept any of them.
+     */
+    public Page<StoreSummary> filterStores(List<String> locations, List<String> categories, boolean matchAll,
+                                           Pageable pageable) {
+        Page<Long> ids = storeFilterIndex.filter(locations, categories, matchAll, pageable);
+        if (ids.getContent().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+        List<StoreSummary> summaries = storeRepository.findSummariesByIdIn(ids.getContent());
+        fillCategories(summaries);
+        return new PageImpl<>(summaries, pageable, ids.getTotalElements());
+    }
+
+    /**
+     * Resolves free-form location input through the in-memory trigram index and returns the matched locations
+     * with one page of their stores, best-matching location first.
+     */
+    public LocationSearchResult searchStoresByLocation(String query, Pageable pageable) {
+        List<StoreLocationIndex.LocationMatch> matches = storeLocationIndex.search(query);
+        List<Long> orderedIds = new ArrayList<>();
+        matches.forEach(match -> orderedIds.addAll(match.storeIds()));
+
+        int from = (int) Math.min(pageable.getOffset(), orderedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), orderedIds.size());
+        List<Long> pageIds = orderedIds.subList(from, to);
+        List<StoreSummary> summaries = new ArrayList<>();
+        if (!pageIds.isEmpty()) {
+            Map<Long, StoreSummary> byId = storeRepository.findSummariesByIdIn(pageIds).stream()
+                    .collect(Collectors.toMap(StoreSummary::getId, Function.identity()));
+            pageIds.stream().map(byId::get).filter(Objects::nonNull).forEach(summaries::add);
+            fillCategories(summaries);
+        }
+        return new LocationSearchResult(query, matches, new PageImpl<>(summaries, pageable, orderedIds.size()));
     }
 
     public Optional<Store> getStoreById(Long id) {
         return storeRepository.findById(id);
     }
 
-    public Page<Store> getStoresBySeller(Long sellerId, Pageable pageable) {
-        return storeRepository.findBySeller_Id(sellerId, pageable);
+    public Page<StoreSummary> getStoresBySeller(Long sellerId, Pageable pageable) {
+        return withCategories(storeRepository.findSummariesBySellerId(sellerId, pageable));
     }
 
     // Add update and delete methods for Store
@@ -71,18 +162,112 @@ public class StoreService {
         existingStore.setDescription(storeRequest.getDescription());
         existingStore.setContactInfo(storeRequest.getContactInfo());
         existingStore.setProfileImageUrl(storeRequest.getProfileImageUrl());
-        existingStore.setRating(storeRequest.getRating());
-        existingStore.setCategories(storeRequest.getCategories());
+        existingStore.setCategories(resolveCategories(storeRequest.getCategoryNames()));
+        boolean sellerChanged = !existingStore.getSeller().getId().equals(seller.getId());
         existingStore.setSeller(seller);
 
-        return storeRepository.save(existingStore);
+        Store savedStore = storeRepository.save(existingStore);
+        if (sellerChanged) {
+            sellerDashboardService.storeReassigned(id, seller.getId()); // The store's totals move to the new seller's dashboard
+        }
+        catalogResponseCache.evictStore(id);
+        eventPublisher.publishEvent(StoreChangedEvent.of(savedStore));
+        rerank(savedStore); // Name or location may have changed
+        reindex(savedStore);
+        return savedStore;
     }
 
-    @Transactional
-    public void deleteStore(Long id) {
-        if (!storeRepository.existsById(id)) {
+
+    /**
+     * Records a user's rating for a store, replacing the user's earlier rating of it if there is one. The running
+     * count and sum are updated in a single atomic UPDATE, so no other rating is re-read, and the leaderboard is
+     * updated once the transaction commits.
+     * Two first ratings by the same user can race: the one that loses on the primary key (or, on MySQL, the
+     * deadlock between their gap locks) is retried once in a new transaction, where it replaces the winner's score.
+     * @return The store's new ranking data.
+     * @throws ResourceNotFoundException if the store does not exist.
+     */
+    public StoreRank rateStore(Long id, Long userId, int score) {
+        try {
+            return transactionTemplate.execute(status -> rate(id, userId, score));
+        } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+            return transactionTemplate.execute(status -> rate(id, userId, score));
+        }
+    }
+
+    private StoreRank rate(Long id, Long userId, int score) {
+        // The rating row is written (and flushed) before the store UPDATE, which clears the persistence context
+        Optional<StoreRating> previous = storeRatingRepository.findForUpdate(id, userId);
+        int updated;
+        if (previous.isPresent()) {
+            int difference = score - previous.get().getScore();
+            previous.get().setScore(score);
+            storeRatingRepository.flush();
+            updated = storeRepository.changeRating(id, difference);
+        } else {
+            storeRatingRepository.insert(id, userId, score);
+            updated = storeRepository.addRating(id, score);
+        }
+        if (updated == 0) {
             throw new ResourceNotFoundException("Store not found with id: " + id);
         }
-        storeRepository.deleteById(id);
+        StoreRank rank = storeRepository.findRankById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Store not found with id: " + id));
+
+        catalogResponseCache.evictStore(id);
+        TransactionCallbacks.afterCommit(() -> storeLeaderboard.update(rank));
+        return rank;
+    }
+
+    public List<StoreRank> getTopRatedStores(String location, int limit) {
+        return storeLeaderboard.top(location, limit);
+    }
+
+    private Set<Category> resolveCategories(Set<String> names) {
+        if (names == null || names.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<Category> categories = new HashSet<>(categoryRepository.findByNameIn(names));
+        if (categories.size() != names.size()) {
+            Set<String> found = categories.stream().map(Category::getName).collect(Collectors.toSet());
+            throw new UnknownCategoryException(names.stream().filter(name -> !found.contains(name)).toList());
+        }
+        return categories;
+    }
+
+    private Page<StoreSummary> withCategories(Page<StoreSummary> page) {
+        fillCategories(page.getContent());
+        return page;
+    }
+
+    // Category names for a page of summaries, loaded with one query for the whole page
+    private void fillCategories(List<StoreSummary> summaries) {
+        if (summaries.isEmpty()) {
+            return;
+        }
+        List<Long> storeIds = summaries.stream().map(StoreSummary::getId).toList();
+        Map<Long, List<String>> names = new HashMap<>();
+        for (Object[] row : storeRepository.findCategoriesByStoreIdIn(storeIds)) {
+            names.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(((Category) row[1]).getName());
+        }
+        for (StoreSummary summary : summaries) {
+            summary.setCategories(CategoryNames.join(names.get(summary.getId())));
+        }
+    }
+
+    private void reindex(Store store) {
+        Long storeId = store.getId();
+        String location = store.getLocation();
+        Set<Category> categories = Set.copyOf(store.getCategories());
+        TransactionCallbacks.afterCommit(() -> {
+            storeFilterIndex.update(storeId, location, categories);
+            storeLocationIndex.update(storeId, location);
+        });
+    }
+
+    // Re-read rather than build from the entity: a rating committed since the entity was loaded must not be lost
+    private void rerank(Store store) {
+        storeRepository.findRankById(store.getId())
+                .ifPresent(rank -> TransactionCallbacks.afterCommit(() -> storeLeaderboard.update(rank)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+// CatalogViews.java
+package com.marketplace.emarketplacebackend.view;
+
+import com.marketplace.emarketplacebackend.model.Category;
+import com.marketplace.emarketplacebackend.model.CategoryNames;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.model.Seller;
+import com.marketplace.emarketplacebackend.model.Store;
+import com.marketplace.emarketplacebackend.repository.CategoryRepository;
+import com.marketplace.emarketplacebackend.repository.SellerRepository;
+import com.marketplace.emarketplacebackend.repository.StoreRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldset support ({@code ?fields=} / {@code ?expand=}) for the seller, store and product endpoints.
+ * Holds the view definitions of the catalog entities and caches one {@link CompiledView} per distinct selection.
+ */
+@Component
+public class CatalogViews {
+
+    private final ViewDefinition<Product> productView;
+    private final ViewDefinition<Store> storeView;
+    private final ViewDefinition<Seller> sellerView;
+
+    private final Map<String, CompiledView<?>> compiledViews = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CatalogViews(CategoryRepository categoryRepository, StoreRepository storeRepository,
+                        SellerRepository sellerRepository) {
+        ViewDefinition<Category> categoryView = new ViewDefinition<Category>("Category")
+                .field("id", Category::getId)
+                .field("name", Category::getName);
+
+        ViewDefinition<Seller> sellerFields = new ViewDefinition<Seller>("Seller")
+                .field("id", Seller::getId)
+                .field("name", Seller::getName)
+                .field("email", Seller::getEmail);
+
+        this.storeView = new ViewDefinition<Store>("Store")
+                .field("id", Store::getId)
+                .field("name", Store::getName)
+                .field("location", Store::getLocation)
+                .field("description", Store::getDescription)
+                .field("contactInfo", Store::getContactInfo)
+                .field("profileImageUrl", Store::getProfileImageUrl)
+                .field("rating", Store::getRating)
+                .field("categories", store -> CategoryNames.join(
+                        store.getCategories().stream().map(Category::getName).toList()))
+                .field("sellerId", store -> store.getSeller().getId())
+                .toOne("seller", store -> store.getSeller().getId(), sellerFields,
+                        ids -> byId(sellerRepository.findAllById(ids), Seller::getId));
+
+        this.productView = new ViewDefinition<Product>("Product")
+                .field("id", Product::getId)
+                .field("name", Product::getName)
+                .field("description", Product::getDescription)
+                .field("price", Product::getPrice)
+                .field("stock", Product::getStock)
+                .field("categoryId", product -> product.getCategory().getId())
+                .field("storeId", product -> product.getStore().getId())
+                .toOne("category", product -> product.getCategory().getId(), categoryView,
+                        ids -> byId(categoryRepository.findAllById(ids), Category::getId))
+                .toOne("store", product -> product.getStore().getId(), storeView,
+                        ids -> byId(storeRepository.findAllById(ids), Store::getId));
+
+        this.sellerView = new ViewDefinition<Seller>("Seller")
+                .field("id", Seller::getId)
+                .field("name", Seller::getName)
+                .field("email", Seller::getEmail)
+                .toMany("stores", Seller::getId, storeView,
+                        ids -> storeRepository.findBySeller_IdIn(ids).stream()
+                                .collect(Collectors.groupingBy(store -> store.getSeller().getId())));
+    }
+
+    public Page<SparseEntity<Product>> products(Page<Product> page, FieldSelection selection) {
+        return render(page, productView, selection);
+    }
+
+    public SparseEntity<Product> product(Product product, FieldSelection selection) {
+        return render(product, productView, selection);
+    }
+
+    public SparseEntity<Store> store(Store store, FieldSelection selection) {
+        return render(store, storeView, selection);
+    }
+
+    public Page<SparseEntity<Seller>> sellers(Page<Seller> page, FieldSelection selection) {
+        return render(page, sellerView, selection);
+    }
+
+    public SparseEntity<Seller> seller(Seller seller, FieldSelection selection) {
+        return render(seller, sellerView, selection);
+    }
+
+    private <T> Page<SparseEntity<T>> render(Page<T> page, ViewDefinition<T> definition, FieldSelection selection) {
+        CompiledView<T> view = compiled(definition, selection);
+        Map<String, Map<Long, ?>> associations = view.fetch(page.getContent());
+        return page.map(entity -> new SparseEntity<>(entity, view, associations));
+    }
+
+    private <T> SparseEntity<T> render(T entity, ViewDefinition<T> definition, FieldSelection selection) {
+        CompiledView<T> view = compiled(definition, selection);
+        return new SparseEntity<>(entity, view, view.fetch(List.of(entity)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompiledView<T> compiled(ViewDefinition<T> definition, FieldSelection selection) {
+        String key = definition.getName() + ":" + selection.key();
+        CompiledView<?> view = compiledViews.get(key);
+        if (view == null) {
+            // Compile outside computeIfAbsent so an invalid selection throws without touching the map.
+            view = CompiledView.compile(definition, selection.fields(), selection.expand(), true);
+            compiledViews.putIfAbsent(key, view);
+        }
+        return (CompiledView<T>) view;
+    }
+
+    private static <R> Map<Long, R> byId(List<R> rows, Function<R, Long> id) {
+        return rows.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+}
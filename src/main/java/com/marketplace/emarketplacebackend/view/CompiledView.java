@@ -0,0 +1,145 @@
+// CompiledView.java
+package com.marketplace.emarketplacebackend.view;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.marketplace.emarketplacebackend.exception.InvalidFieldSelectionException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A {@link ViewDefinition} resolved against one {@link FieldSelection}: the selected properties as a flat list of
+ * accessors plus the selected expansions. Built once per distinct selection and reused for every request with it,
+ * so rendering an entity is a straight walk over the list with no reflection or annotation lookups.
+ * Expansions are one level deep; nested views only render plain fields.
+ */
+final class CompiledView<T> {
+
+    private final List<String> fieldNames;
+    private final List<Function<T, Object>> accessors;
+    private final List<CompiledExpansion<T>> expansions;
+
+    private CompiledView(List<String> fieldNames, List<Function<T, Object>> accessors, List<CompiledExpansion<T>> expansions) {
+        this.fieldNames = fieldNames;
+        this.accessors = accessors;
+        this.expansions = expansions;
+    }
+
+    static <T> CompiledView<T> compile(ViewDefinition<T> definition, Set<String> fields, Set<String> expand, boolean allowExpand) {
+        Set<String> ownFields = new LinkedHashSet<>();
+        Map<String, Set<String>> nestedFields = new HashMap<>();
+        for (String field : fields) {
+            int dot = field.indexOf('.');
+            if (dot < 0) {
+                ownFields.add(field);
+            } else {
+                nestedFields.computeIfAbsent(field.substring(0, dot), k -> new LinkedHashSet<>()).add(field.substring(dot + 1));
+            }
+        }
+
+        List<String> names = new ArrayList<>();
+        List<Function<T, Object>> accessors = new ArrayList<>();
+        // Keep the definition's property order rather than the request's, so equal selections render identically.
+        for (Map.Entry<String, Function<T, Object>> entry : definition.getFields().entrySet()) {
+            if (ownFields.isEmpty() || ownFields.contains(entry.getKey())) {
+                names.add(entry.getKey());
+                accessors.add(entry.getValue());
+            }
+        }
+        for (String field : ownFields) {
+            if (!definition.getFields().containsKey(field)) {
+                throw new InvalidFieldSelectionException(definition.getName(), "field", field);
+            }
+        }
+
+        List<CompiledExpansion<T>> expansions = new ArrayList<>();
+        for (String associationName : expand) {
+            ViewDefinition.Expansion<T> expansion = definition.getExpansions().get(associationName);
+            if (!allowExpand || expansion == null) {
+                throw new InvalidFieldSelectionException(definition.getName(), "expansion", associationName);
+            }
+            expansions.add(new CompiledExpansion<>(expansion, compileNested(expansion.target(),
+                    nestedFields.getOrDefault(associationName, Set.of()))));
+        }
+        for (String association : nestedFields.keySet()) {
+            if (!expand.contains(association)) {
+                throw new InvalidFieldSelectionException(definition.getName(), "expansion", association);
+            }
+        }
+        return new CompiledView<>(List.copyOf(names), List.copyOf(accessors), List.copyOf(expansions));
+    }
+
+    private static <R> CompiledView<R> compileNested(ViewDefinition<R> target, Set<String> fields) {
+        return compile(target, fields, Set.of(), false);
+    }
+
+    /**
+     * The fetch plan: one batched query per selected expansion, covering all the given roots.
+     * Returns the loaded rows keyed by expansion name, then by the owner's key.
+     */
+    Map<String, Map<Long, ?>> fetch(Collection<T> roots) {
+        if (expansions.isEmpty() || roots.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Map<Long, ?>> associations = new HashMap<>();
+        for (CompiledExpansion<T> compiled : expansions) {
+            ViewDefinition.Expansion<T> expansion = compiled.expansion();
+            Set<Long> keys = new LinkedHashSet<>();
+            for (T root : roots) {
+                Long key = expansion.key().apply(root);
+                if (key != null) {
+                    keys.add(key);
+                }
+            }
+            associations.put(expansion.name(), keys.isEmpty() ? Map.of() : expansion.loader().apply(keys));
+        }
+        return associations;
+    }
+
+    void writeFields(T entity, JsonGenerator gen, SerializerProvider provider, Map<String, Map<Long, ?>> associations)
+            throws IOException {
+        for (int i = 0; i < accessors.size(); i++) {
+            provider.defaultSerializeField(fieldNames.get(i), accessors.get(i).apply(entity), gen);
+        }
+        for (CompiledExpansion<T> compiled : expansions) {
+            ViewDefinition.Expansion<T> expansion = compiled.expansion();
+            Map<Long, ?> loaded = associations.getOrDefault(expansion.name(), Map.of());
+            Long key = expansion.key().apply(entity);
+            Object related = key == null ? null : loaded.get(key);
+
+            gen.writeFieldName(expansion.name());
+            if (expansion.many()) {
+                gen.writeStartArray();
+                if (related != null) {
+                    for (Object item : (Collection<?>) related) {
+                        compiled.writeNested(item, gen, provider);
+                    }
+                }
+                gen.writeEndArray();
+            } else if (related == null) {
+                gen.writeNull();
+            } else {
+                compiled.writeNested(related, gen, provider);
+            }
+        }
+    }
+
+    private record CompiledExpansion<T>(ViewDefinition.Expansion<T> expansion, CompiledView<?> nested) {
+
+        @SuppressWarnings("unchecked")
+        void writeNested(Object related, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            ((CompiledView<Object>) nested).writeFields(Objects.requireNonNull(related), gen, provider, Map.of());
+            gen.writeEndObject();
+        }
+    }
+}
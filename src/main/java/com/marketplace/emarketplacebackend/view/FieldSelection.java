@@ -0,0 +1,43 @@
+// FieldSelection.java
+package com.marketplace.emarketplacebackend.view;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * The parsed {@code ?fields=} and {@code ?expand=} request parameters.
+ * Nested fields of an expanded association are addressed with a dot, e.g. {@code fields=name,stores.name&expand=stores}.
+ */
+public record FieldSelection(Set<String> fields, Set<String> expand) {
+
+    public static FieldSelection parse(String fields, String expand) {
+        return new FieldSelection(split(fields), split(expand));
+    }
+
+    /**
+     * True when the client asked for neither fields nor expansions, i.e. the regular entity representation.
+     */
+    public boolean isEmpty() {
+        return fields.isEmpty() && expand.isEmpty();
+    }
+
+    /**
+     * Canonical form used to look up the precompiled view; independent of parameter order.
+     */
+    public String key() {
+        return String.join(",", fields) + "|" + String.join(",", expand);
+    }
+
+    private static Set<String> split(String value) {
+        if (value == null || value.isBlank()) {
+            return Collections.emptySortedSet();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(part -> !part.isEmpty())
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+}
@@ -0,0 +1,47 @@
+// SparseEntity.java
+package com.marketplace.emarketplacebackend.view;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * An entity paired with the precompiled view it must be rendered with and the associations its fetch plan loaded.
+ * Works inside {@code Page} (via {@code page.map(...)}) because serialization is delegated to the view.
+ */
+@JsonSerialize(using = SparseEntity.Serializer.class)
+public final class SparseEntity<T> {
+
+    private final T entity;
+    private final CompiledView<T> view;
+    private final Map<String, Map<Long, ?>> associations;
+
+    SparseEntity(T entity, CompiledView<T> view, Map<String, Map<Long, ?>> associations) {
+        this.entity = entity;
+        this.view = view;
+        this.associations = associations;
+    }
+
+    public static class Serializer extends StdSerializer<SparseEntity<?>> {
+
+        @SuppressWarnings("unchecked")
+        public Serializer() {
+            super((Class<SparseEntity<?>>) (Class<?>) SparseEntity.class);
+        }
+
+        @Override
+        public void serialize(SparseEntity<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            write(value, gen, provider);
+            gen.writeEndObject();
+        }
+
+        private static <T> void write(SparseEntity<T> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            value.view.writeFields(value.entity, gen, provider, value.associations);
+        }
+    }
+}
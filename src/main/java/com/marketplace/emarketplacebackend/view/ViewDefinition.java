@@ -0,0 +1,66 @@
+// ViewDefinition.java
+package com.marketplace.emarketplacebackend.view;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Describes which properties of an entity may be rendered, and how each expandable association is fetched.
+ * Associations are never read through the entity's lazy getters: a to-one expansion only reads the foreign key
+ * (which Hibernate proxies answer without a query) and a to-many expansion uses the owner's id. The related rows
+ * are then loaded with one batched query per expansion for the whole page.
+ */
+public final class ViewDefinition<T> {
+
+    private final String name;
+    private final Map<String, Function<T, Object>> fields = new LinkedHashMap<>();
+    private final Map<String, Expansion<T>> expansions = new LinkedHashMap<>();
+
+    public ViewDefinition(String name) {
+        this.name = name;
+    }
+
+    public ViewDefinition<T> field(String fieldName, Function<T, Object> accessor) {
+        fields.put(fieldName, accessor);
+        return this;
+    }
+
+    /**
+     * @param foreignKey reads the related entity's id from the owner
+     * @param loader     loads the related entities for a batch of ids, keyed by id
+     */
+    public <R> ViewDefinition<T> toOne(String associationName, Function<T, Long> foreignKey, ViewDefinition<R> target,
+                                       Function<Collection<Long>, Map<Long, R>> loader) {
+        expansions.put(associationName, new Expansion<>(associationName, foreignKey, target, false, loader::apply));
+        return this;
+    }
+
+    /**
+     * @param ownerId reads the owner's id
+     * @param loader  loads the related entities for a batch of owner ids, grouped by owner id
+     */
+    public <R> ViewDefinition<T> toMany(String associationName, Function<T, Long> ownerId, ViewDefinition<R> target,
+                                        Function<Collection<Long>, Map<Long, List<R>>> loader) {
+        expansions.put(associationName, new Expansion<>(associationName, ownerId, target, true, loader::apply));
+        return this;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Map<String, Function<T, Object>> getFields() {
+        return fields;
+    }
+
+    Map<String, Expansion<T>> getExpansions() {
+        return expansions;
+    }
+
+    record Expansion<T>(String name, Function<T, Long> key, ViewDefinition<?> target, boolean many,
+                        Function<Collection<Long>, Map<Long, ?>> loader) {
+    }
+}
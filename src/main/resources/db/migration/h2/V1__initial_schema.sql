@@ -0,0 +1,119 @@
+-- Schema as mapped by the JPA entities in com.marketplace.emarketplacebackend.model.
+-- Hibernate only validates it (spring.jpa.hibernate.ddl-auto=validate); every change goes through a new migration.
+
+-- Pooled id sequences: the increment must match allocationSize on the entities.
+create sequence roles_seq start with 1 increment by 50;
+create sequence users_seq start with 1 increment by 50;
+create sequence sellers_seq start with 1 increment by 50;
+create sequence stores_seq start with 1 increment by 50;
+create sequence categories_seq start with 1 increment by 50;
+create sequence products_seq start with 1 increment by 50;
+create sequence carts_seq start with 1 increment by 50;
+create sequence cart_items_seq start with 1 increment by 50;
+
+create table roles (
+    id bigint not null,
+    name enum ('ROLE_USER','ROLE_ADMIN','ROLE_SELLER') not null,
+    primary key (id),
+    constraint uk_roles_name unique (name)
+);
+
+create table users (
+    id bigint not null,
+    username varchar(255) not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+);
+
+create table user_roles (
+    user_id bigint not null,
+    role_id bigint not null,
+    primary key (user_id, role_id),
+    constraint fk_user_roles_user foreign key (user_id) references users (id),
+    constraint fk_user_roles_role foreign key (role_id) references roles (id)
+);
+
+create table sellers (
+    id bigint not null,
+    name varchar(255) not null,
+    email varchar(255) not null,
+    primary key (id),
+    constraint uk_sellers_name unique (name),
+    constraint uk_sellers_email unique (email)
+);
+
+create table stores (
+    id bigint not null,
+    name varchar(255) not null,
+    location varchar(255) not null,
+    description varchar(255),
+    contact_info varchar(255),
+    profile_image_url varchar(255),
+    rating float(53),
+    rating_count bigint not null,
+    rating_sum float(53) not null,
+    seller_id bigint not null,
+    primary key (id),
+    constraint fk_stores_seller foreign key (seller_id) references sellers (id)
+);
+
+create table categories (
+    id bigint not null,
+    name varchar(255) not null,
+    primary key (id),
+    constraint uk_categories_name unique (name)
+);
+
+create table store_categories (
+    store_id bigint not null,
+    category_id bigint not null,
+    primary key (store_id, category_id),
+    constraint fk_store_categories_store foreign key (store_id) references stores (id),
+    constraint fk_store_categories_category foreign key (category_id) references categories (id)
+);
+
+create table products (
+    id bigint not null,
+    name varchar(255) not null,
+    description varchar(255),
+    price float(53) not null,
+    stock integer not null,
+    category_id bigint not null,
+    store_id bigint not null,
+    primary key (id),
+    constraint fk_products_category foreign key (category_id) references categories (id),
+    constraint fk_products_store foreign key (store_id) references stores (id)
+);
+
+create table carts (
+    id bigint not null,
+    user_id bigint not null,
+    primary key (id),
+    constraint uk_carts_user unique (user_id),
+    constraint fk_carts_user foreign key (user_id) references users (id)
+);
+
+create table cart_items (
+    id bigint not null,
+    cart_id bigint not null,
+    product_id bigint not null,
+    quantity integer not null,
+    primary key (id),
+    constraint fk_cart_items_cart foreign key (cart_id) references carts (id),
+    constraint fk_cart_items_product foreign key (product_id) references products (id)
+);
+
+-- Per-store inventory totals behind the seller dashboard (no foreign key: dropped in the same batch as the store)
+create table store_inventory_stats (
+    store_id bigint not null,
+    seller_id bigint not null,
+    product_count bigint not null,
+    stock_units bigint not null,
+    inventory_value numeric(19,2) not null,
+    primary key (store_id)
+);
+
+create index idx_store_inventory_stats_seller on store_inventory_stats (seller_id);
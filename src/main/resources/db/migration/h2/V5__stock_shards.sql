@@ -0,0 +1,16 @@
+-- Sharded stock for hot products. products.stock_shards = 0: the stock lives in products.stock and is decremented
+-- there with a conditional UPDATE. N > 0: it is split across N rows of product_stock_shards, each decremented
+-- independently, and products.stock is a snapshot refreshed by StockService.syncShardedStock.
+alter table products add column stock_shards integer not null default 0;
+
+-- ProductRepository.findIdsWithShardedStock
+create index idx_products_stock_shards on products (stock_shards);
+
+-- No foreign key, like store_inventory_stats: removed in the same batch as the product
+create table product_stock_shards (
+    product_id bigint not null,
+    shard integer not null,
+    stock integer not null,
+    primary key (product_id, shard),
+    constraint ck_product_stock_shards_stock check (stock >= 0)
+);
@@ -0,0 +1,10 @@
+-- Checksum of the reference dataset (src/main/resources/seed) last applied by ReferenceDataSeeder.
+-- The row exists up front so that nodes starting together can lock it and seed one at a time.
+create table seed_state (
+    dataset varchar(100) not null,
+    checksum varchar(64) not null,
+    applied_at datetime(6),
+    primary key (dataset)
+) engine=InnoDB;
+
+insert into seed_state (dataset, checksum) values ('reference-data', '');
@@ -0,0 +1,11 @@
+-- One rating per user and store: StoreService.rateStore inserts a user's first score and replaces it on re-rating,
+-- adjusting stores.rating_count/rating_sum by the difference. Ratings given before this table existed stay in the
+-- aggregates without a row here.
+-- No foreign keys, like product_stock_shards: removed in the same batch as the store
+create table store_ratings (
+    store_id bigint not null,
+    user_id bigint not null,
+    score integer not null,
+    primary key (store_id, user_id),
+    constraint ck_store_ratings_score check (score between 1 and 5)
+) engine=InnoDB;
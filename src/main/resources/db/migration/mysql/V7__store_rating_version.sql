@@ -0,0 +1,3 @@
+-- Bumped by every rating write (StoreRepository.addRating/changeRating). Re-ratings leave rating_count unchanged,
+-- so the in-memory leaderboard orders its after-commit updates by this instead.
+alter table stores add column rating_version bigint not null default 0;
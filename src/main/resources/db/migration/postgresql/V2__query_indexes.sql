@@ -0,0 +1,37 @@
+-- Indexes behind the repository queries; QueryPlanTests runs EXPLAIN for each query on H2 and fails on full scans.
+
+-- ProductRepository.findByStore_Id / findIdsByStoreIdIn / countByStoreIdIn, and every products-to-store join
+create index idx_products_store on products (store_id);
+-- findByCategory_Name (leading column) and findByCategory_NameAndStore_Location
+create index idx_products_category_store on products (category_id, store_id);
+-- findByName
+create index idx_products_name on products (name);
+
+-- StoreRepository.findBySeller_Id / findBySeller_IdIn / findSummariesBySellerId / findIdsBySellerId
+create index idx_stores_seller on stores (seller_id);
+-- findByName
+create index idx_stores_name on stores (name);
+-- Exact location match in ProductRepository.findByCategory_NameAndStore_Location
+create index idx_stores_location on stores (location);
+
+-- Stores by category (the primary key covers store_id first)
+create index idx_store_categories_category on store_categories (category_id);
+-- Users by role (the primary key covers user_id first)
+create index idx_user_roles_role on user_roles (role_id);
+
+-- CartItemRepository.findByCartAndProduct
+create index idx_cart_items_cart_product on cart_items (cart_id, product_id);
+-- CartItemRepository.deleteByProductIdIn (bulk deletion)
+create index idx_cart_items_product on cart_items (product_id);
+
+-- Spring Data's IgnoreCase queries compare upper(column), which a plain index can't serve.
+-- findByLocationIgnoreCase / findByStore_LocationIgnoreCase / findByStore_IdAndStore_LocationIgnoreCase
+create index idx_stores_location_upper on stores (upper(location));
+
+-- Infix "containing" searches (upper(name) like '%term%') need trigram indexes.
+-- Creating the extension needs a role allowed to do so; have a DBA create it beforehand otherwise.
+create extension if not exists pg_trgm;
+-- ProductRepository.findByNameContainingIgnoreCase / findByNameContainingIgnoreCaseAndStore_LocationIgnoreCase
+create index idx_products_name_upper_trgm on products using gin (upper(name) gin_trgm_ops);
+-- SellerRepository.findByNameContainingIgnoreCase
+create index idx_sellers_name_upper_trgm on sellers using gin (upper(name) gin_trgm_ops);
@@ -0,0 +1,18 @@
+-- Transactional outbox: one row per domain event, inserted in the transaction that made the change and relayed
+-- to subscribers by OutboxRelay. Identity ids, assigned at insert: a later change to the same aggregate waits for
+-- the earlier one's row locks, so it always gets the higher id, which is the relay's delivery order.
+create table outbox_events (
+    id bigint generated by default as identity,
+    aggregate_type varchar(50) not null,
+    aggregate_id varchar(100) not null,
+    event_type varchar(100) not null,
+    payload varchar(4000) not null,
+    created_at timestamp(6) not null,
+    published_at timestamp(6),
+    primary key (id)
+);
+
+-- OutboxEventRepository.findUnpublished: only the unpublished backlog is indexed, in delivery order
+create index idx_outbox_events_unpublished on outbox_events (id) where published_at is null;
+-- OutboxEventRepository.deletePublishedBefore
+create index idx_outbox_events_published on outbox_events (published_at);
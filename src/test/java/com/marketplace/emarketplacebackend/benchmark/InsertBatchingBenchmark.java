@@ -0,0 +1,146 @@
+package com.marketplace.emarketplacebackend.benchmark;
+
+import com.marketplace.emarketplacebackend.model.Cart;
+import com.marketplace.emarketplacebackend.model.CartItem;
+import com.marketplace.emarketplacebackend.model.Category;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.model.Role;
+import com.marketplace.emarketplacebackend.model.Seller;
+import com.marketplace.emarketplacebackend.model.Store;
+import com.marketplace.emarketplacebackend.model.User;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Insert throughput for users, products and cart items with the previous IDENTITY ids and no batching ("before"),
+ * against pooled sequence ids with JDBC batching ("after"). Both runs map the real entities; the "before" run
+ * overrides their id generation with benchmark/identity-ids-orm.xml.
+ *
+ * Runs on in-memory H2 always, and on PostgreSQL when -Dbenchmark.postgres.url (plus .user/.password) is given:
+ * ./gradlew benchmark -Dbenchmark.postgres.url=jdbc:postgresql://localhost/bench?reWriteBatchedInserts=true
+ */
+@Tag("benchmark")
+class InsertBatchingBenchmark {
+
+    private static final int ROWS = 5_000;
+    private static final int BATCH_SIZE = 50; // Matches allocationSize on the entities and hibernate.jdbc.batch_size
+
+    @Test
+    void h2() {
+        run("H2", "jdbc:h2:mem:bench_before;DB_CLOSE_DELAY=-1", "jdbc:h2:mem:bench_after;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    @Test
+    void postgres() {
+        String url = System.getProperty("benchmark.postgres.url");
+        assumeTrue(url != null, "Set -Dbenchmark.postgres.url to run against PostgreSQL");
+        run("PostgreSQL", url, url,
+                System.getProperty("benchmark.postgres.user", "postgres"),
+                System.getProperty("benchmark.postgres.password", ""));
+    }
+
+    private static void run(String database, String beforeUrl, String afterUrl, String user, String password) {
+        Throughput before;
+        try (SessionFactory sessionFactory = sessionFactory(beforeUrl, user, password, false)) {
+            before = measure(sessionFactory);
+        }
+        Throughput after;
+        try (SessionFactory sessionFactory = sessionFactory(afterUrl, user, password, true)) {
+            after = measure(sessionFactory);
+        }
+        System.out.printf("%s, %d rows per entity (rows/s)%n", database, ROWS);
+        System.out.printf("%-12s %12s %12s %8s%n", "entity", "before", "after", "speedup");
+        print("users", before.users(), after.users());
+        print("products", before.products(), after.products());
+        print("cart items", before.cartItems(), after.cartItems());
+    }
+
+    private static SessionFactory sessionFactory(String url, String user, String password, boolean pooledAndBatched) {
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(Role.class)
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Cart.class)
+                .addAnnotatedClass(CartItem.class)
+                .addAnnotatedClass(Seller.class)
+                .addAnnotatedClass(Store.class)
+                .addAnnotatedClass(Category.class)
+                .addAnnotatedClass(Product.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, url)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, user)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, password)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop");
+        if (pooledAndBatched) {
+            configuration
+                    .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(BATCH_SIZE))
+                    .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                    .setProperty(AvailableSettings.ORDER_UPDATES, "true");
+        } else {
+            configuration.addResource("benchmark/identity-ids-orm.xml");
+        }
+        return configuration.buildSessionFactory();
+    }
+
+    private static Throughput measure(SessionFactory sessionFactory) {
+        double users = timed(sessionFactory, (session, i) ->
+                session.persist(new User("bench-user-" + i, "bench-user-" + i + "@example.com", "password")));
+
+        Long[] parents = sessionFactory.fromTransaction(session -> {
+            Seller seller = new Seller("Bench Seller", "bench-seller@example.com");
+            session.persist(seller);
+            Store store = new Store();
+            store.setName("Bench Store");
+            store.setLocation("Lagos");
+            store.setSeller(seller);
+            session.persist(store);
+            Category category = new Category("Bench Category");
+            session.persist(category);
+            User owner = new User("bench-cart-owner", "bench-cart-owner@example.com", "password");
+            session.persist(owner);
+            Cart cart = new Cart(owner);
+            session.persist(cart);
+            return new Long[]{store.getId(), category.getId(), cart.getId()};
+        });
+
+        double products = timed(sessionFactory, (session, i) -> session.persist(new Product(
+                "Bench product " + i, "Benchmark product", 100.0 + i, 10,
+                session.getReference(Store.class, parents[0]), session.getReference(Category.class, parents[1]))));
+
+        List<Long> productIds = sessionFactory.fromTransaction(session ->
+                session.createSelectionQuery("SELECT p.id FROM Product p ORDER BY p.id", Long.class).getResultList());
+        double cartItems = timed(sessionFactory, (session, i) -> session.persist(new CartItem(
+                session.getReference(Cart.class, parents[2]), session.getReference(Product.class, productIds.get(i)), 1)));
+
+        return new Throughput(users, products, cartItems);
+    }
+
+    // Persists ROWS entities in one transaction, flushing and clearing once per batch as a bulk write path would
+    private static double timed(SessionFactory sessionFactory, BiConsumer<Session, Integer> insert) {
+        long start = System.nanoTime();
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < ROWS; i++) {
+                insert.accept(session, i);
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+        });
+        return ROWS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static void print(String entity, double before, double after) {
+        System.out.printf("%-12s %12.0f %12.0f %7.1fx%n", entity, before, after, after / before);
+    }
+
+    private record Throughput(double users, double products, double cartItems) {
+    }
+}
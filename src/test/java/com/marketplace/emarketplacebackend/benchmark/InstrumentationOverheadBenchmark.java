@@ -0,0 +1,136 @@
+package com.marketplace.emarketplacebackend.benchmark;
+
+import com.marketplace.emarketplacebackend.metrics.ServiceMetricsAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Share of catalog request time spent recording metrics: the same requests are timed with the meters on and with
+ * them switched off, and the difference must stay under 1% of the uninstrumented time. Switching off denies every
+ * meter, so the controller, service and repository timers become no-ops on their next registration; everything
+ * else about the request stays the same. On and off rounds alternate (and swap order every round) so JIT warm-up,
+ * GC and caches favour neither side.
+ * The response cache and SQL diagnostics are off so every request goes through services and repositories.
+ * Run with ./gradlew benchmark (excluded from ./gradlew test).
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "marketplace.catalog.cache.max-entries=0",
+        "marketplace.diagnostics.sql.enabled=false"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false) // Real Prometheus registry with the histogram settings
+@DirtiesContext // Switching the meters clears the registry
+class InstrumentationOverheadBenchmark {
+
+    private static final List<String> ENDPOINTS =
+            List.of("/api/products", "/api/products/search?product_name=a", "/api/stores");
+    private static final Set<String> TIMERS = Set.of(
+            "http.server.requests", ServiceMetricsAspect.METRIC_NAME, "spring.data.repository.invocations");
+
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int ROUNDS = 20;
+    private static final int REQUESTS_PER_ROUND = 500;
+    private static final double MAX_OVERHEAD = 0.01;
+
+    private static volatile boolean metersOn = true;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TestConfiguration
+    static class MeterSwitch {
+
+        @Bean
+        MeterFilter meterSwitch() {
+            return MeterFilter.deny(id -> !metersOn);
+        }
+    }
+
+    @AfterEach
+    void metersBackOn() {
+        switchMeters(true);
+    }
+
+    @Test
+    void metricsCostLessThanOnePercentOfRequestTime() throws Exception {
+        System.out.printf("%-40s %10s %10s %12s %10s%n", "endpoint", "on us", "off us", "recordings", "overhead");
+
+        for (String endpoint : ENDPOINTS) {
+            for (boolean on : new boolean[] {true, false}) {
+                switchMeters(on);
+                perform(endpoint, WARMUP_REQUESTS);
+            }
+
+            long onNanos = 0;
+            long offNanos = 0;
+            long recordings = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                for (boolean on : round % 2 == 0 ? new boolean[] {true, false} : new boolean[] {false, true}) {
+                    switchMeters(on);
+                    long recordedBefore = recordings();
+                    long elapsed = perform(endpoint, REQUESTS_PER_ROUND);
+                    if (on) {
+                        onNanos += elapsed;
+                        recordings += recordings() - recordedBefore;
+                    } else {
+                        offNanos += elapsed;
+                        assertEquals(0, recordings(), "Switched-off meters must not record");
+                    }
+                }
+            }
+
+            int requests = ROUNDS * REQUESTS_PER_ROUND;
+            double overhead = (double) (onNanos - offNanos) / offNanos;
+            double recordingsPerRequest = (double) recordings / requests;
+            System.out.printf("%-40s %10.1f %10.1f %12.1f %9.3f%%%n", endpoint, onNanos / 1_000.0 / requests,
+                    offNanos / 1_000.0 / requests, recordingsPerRequest, overhead * 100);
+            assertTrue(recordingsPerRequest >= 2, endpoint + " should record controller and service timers");
+            assertTrue(overhead < MAX_OVERHEAD, endpoint + " spends " + overhead * 100 + "% of its time on metrics");
+        }
+    }
+
+    // Nanoseconds taken by count sequential requests
+    private long perform(String endpoint, int count) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            mockMvc.perform(get(endpoint)).andExpect(status().isOk());
+        }
+        return System.nanoTime() - start;
+    }
+
+    // Meters are registered on every call, so once the registry is cleared the next request picks up the switch
+    private void switchMeters(boolean on) {
+        metersOn = on;
+        meterRegistry.clear();
+    }
+
+    private long recordings() {
+        return meterRegistry.getMeters().stream()
+                .filter(meter -> meter instanceof Timer && TIMERS.contains(meter.getId().getName()))
+                .mapToLong(meter -> ((Timer) meter).count())
+                .sum();
+    }
+}
@@ -0,0 +1,100 @@
+package com.marketplace.emarketplacebackend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.marketplace.emarketplacebackend.model.Category;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.model.Store;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Serialization CPU and payload size of a 100-product page in JSON, Smile and CBOR, encoded the way
+ * ProductController responses are and decoded generically the way a client would.
+ * Run with ./gradlew benchmark (excluded from ./gradlew test).
+ */
+@Tag("benchmark")
+class SerializationFormatBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP_ITERATIONS = 5_000;
+    private static final int MEASURED_ITERATIONS = 20_000;
+
+    @Test
+    void compareFormatsForProductPage() throws Exception {
+        Page<Product> page = productPage();
+
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+
+        Result jsonResult = measure("application/json", json, page);
+        Result smileResult = measure("application/x-jackson-smile", smile, page);
+        Result cborResult = measure("application/cbor", cbor, page);
+
+        System.out.printf("%-28s %10s %14s %14s%n", "format", "bytes", "encode us/op", "decode us/op");
+        for (Result result : List.of(jsonResult, smileResult, cborResult)) {
+            System.out.printf("%-28s %10d %14.2f %14.2f%n",
+                    result.format(), result.bytes(), result.encodeMicros(), result.decodeMicros());
+        }
+
+        assertTrue(smileResult.bytes() < jsonResult.bytes(), "Smile payload should be smaller than JSON");
+        assertTrue(cborResult.bytes() < jsonResult.bytes(), "CBOR payload should be smaller than JSON");
+    }
+
+    private static Result measure(String format, ObjectMapper mapper, Page<Product> page) throws Exception {
+        byte[] payload = mapper.writeValueAsBytes(page);
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += mapper.writeValueAsBytes(page).length;
+            sink += mapper.readTree(payload).size();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += mapper.writeValueAsBytes(page).length;
+        }
+        long encodeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += mapper.readTree(payload).size();
+        }
+        long decodeNanos = System.nanoTime() - start;
+
+        assertTrue(sink > 0); // Keeps the JIT from discarding the loops
+        return new Result(format, payload.length,
+                encodeNanos / 1_000.0 / MEASURED_ITERATIONS, decodeNanos / 1_000.0 / MEASURED_ITERATIONS);
+    }
+
+    private static Page<Product> productPage() {
+        Category electronics = new Category("Electronics");
+        electronics.setId(1L);
+        Store store = new Store();
+        store.setId(1L);
+        store.setName("Benchmark Store");
+        store.setLocation("Lagos");
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Product product = new Product("Product " + i, "Description of product number " + i + " in the benchmark catalog",
+                    1000.0 + i * 12.5, 10 + i, store, electronics);
+            product.setId((long) i + 1);
+            products.add(product);
+        }
+        return new PageImpl<>(products, PageRequest.of(0, PAGE_SIZE), 10_000);
+    }
+
+    private record Result(String format, int bytes, double encodeMicros, double decodeMicros) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.marketplace.emarketplacebackend.benchmark;
+
+import com.marketplace.emarketplacebackend.EMarketplaceBackendApplication;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Platform-thread Tomcat (200 threads) against virtual threads, both with the same connection pool, under more
+ * concurrent clients than Tomcat has threads. Every SQL statement is held for a fixed extra latency to stand in for
+ * a database across the network, so requests spend most of their time waiting on JDBC. Closed loop: each client
+ * sends its next request as soon as the previous one completes.
+ * Run with ./gradlew benchmark; options are -Dbenchmark.threading.* system properties:
+ * <pre>
+ *   clients=600, pool-size=400, statement-latency-ms=50, warmup-seconds=10, duration-seconds=30
+ * </pre>
+ */
+@Tag("benchmark")
+class ThreadingModeBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.threading.clients", 600);
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.threading.pool-size", 400);
+    private static final long STATEMENT_LATENCY_MS = Long.getLong("benchmark.threading.statement-latency-ms", 50);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.threading.warmup-seconds", 10));
+    private static final Duration MEASURED =
+            Duration.ofSeconds(Long.getLong("benchmark.threading.duration-seconds", 30));
+    private static final String PATH = "/api/products?page=0&size=20";
+
+    @Test
+    void virtualThreadsServeMoreConcurrentRequestsThanTomcatsThreadPool() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%d clients, %d connections, %d ms per statement%n",
+                CLIENTS, POOL_SIZE, STATEMENT_LATENCY_MS);
+        System.out.printf("%-10s %10s %10s %10s %10s %8s%n",
+                "threads", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Result result : List.of(platform, virtual)) {
+            System.out.printf("%-10s %10.0f %10.1f %10.1f %10.1f %8d%n", result.mode(), result.throughput(),
+                    result.latencies().getValueAtPercentile(50) / 1e6,
+                    result.latencies().getValueAtPercentile(99) / 1e6,
+                    result.latencies().getMaxValue() / 1e6,
+                    result.errors());
+        }
+
+        assertEquals(0, platform.errors(), "platform-thread mode had failed requests");
+        assertEquals(0, virtual.errors(), "virtual-thread mode had failed requests");
+        assertTrue(virtual.throughput() >= platform.throughput(),
+                "virtual threads should not serve fewer requests than the platform thread pool");
+    }
+
+    private static Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EMarketplaceBackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:threading_" + mode + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "marketplace.catalog.cache.max-entries=0", // Every request reaches the database
+                        "marketplace.diagnostics.sql.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.springframework.security=WARN")
+                .initializers(ctx -> ctx.getBeanFactory().registerSingleton("slowStatements", slowStatements()))
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + PATH);
+            drive(uri, WARMUP, null);
+            Histogram latencies = new ConcurrentHistogram(TimeUnit.SECONDS.toNanos(60), 3);
+            LongAdder errors = new LongAdder();
+            long requests = drive(uri, MEASURED, new Recording(latencies, errors));
+            return new Result(mode, requests / (double) MEASURED.toSeconds(), latencies, errors.sum());
+        }
+    }
+
+    // Runs CLIENTS closed-loop clients for the given duration and returns the number of completed requests
+    private static long drive(URI uri, Duration duration, Recording recording) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+        LongAdder completed = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Runnable> clients = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.add(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    completed.increment();
+                    if (recording != null) {
+                        recording.latencies().recordValue(System.nanoTime() - start);
+                        if (!ok) {
+                            recording.errors().increment();
+                        }
+                    }
+                }
+            });
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            clients.forEach(executor::submit);
+        }
+        return completed.sum();
+    }
+
+    // Holds every statement's connection for STATEMENT_LATENCY_MS, like a round trip to a remote database.
+    // Registered as a plain post-processor, so in virtual-thread mode it wraps the already connection-limited pool.
+    private static BeanPostProcessor slowStatements() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .afterQuery((execution, queries) -> sleep(STATEMENT_LATENCY_MS))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Recording(Histogram latencies, LongAdder errors) {
+    }
+
+    private record Result(String mode, double throughput, Histogram latencies, long errors) {
+    }
+}
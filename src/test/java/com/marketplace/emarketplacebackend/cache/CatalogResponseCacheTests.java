@@ -0,0 +1,102 @@
+package com.marketplace.emarketplacebackend.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CatalogResponseCacheTests {
+
+    private final CatalogResponseCache cache = new CatalogResponseCache(true, 60, 10, 0);
+
+    @AfterEach
+    void endTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void fullCacheDropsExpiredEntriesFirst() {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 9; i++) {
+            put("/api/products?page=" + i, now);
+        }
+        put("/api/products?page=expired", now - 120_000);
+
+        put("/api/products/1", now);
+        assertEquals(10, cache.size());
+        assertNull(cache.get("/api/products?page=expired"));
+        assertNotNull(cache.get("/api/products?page=0"));
+        assertNotNull(cache.get("/api/products/1"));
+    }
+
+    @Test
+    void fullCacheKeepsCachingByDroppingTheOldestEntries() {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 100; i++) {
+            put("/api/products?page=" + i, now - 50_000 + i);
+        }
+
+        assertEquals(10, cache.size());
+        assertNotNull(cache.get("/api/products?page=99"));
+        assertNull(cache.get("/api/products?page=0"));
+    }
+
+    @Test
+    void writesDuringRenderingKeepTheResponseOut() {
+        long startGeneration = cache.currentGeneration();
+        cache.evictProduct(1L, 7L);
+
+        cache.put("/api/products/1", response("/api/products/1", System.currentTimeMillis()), startGeneration);
+        assertNull(cache.get("/api/products/1"));
+    }
+
+    @Test
+    void productWritesPurgeTheirSurrogateKeysOnlyAfterCommit() {
+        long now = System.currentTimeMillis();
+        put("/api/products/1", now);
+        put("/api/products/2", now);
+        put("/api/stores/7", now);
+        put("/api/stores/8", now);
+        put("/api/products", now);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evictProduct(1L, 7L);
+        assertEquals(5, cache.size(), "a concurrent GET must not re-cache the uncommitted row");
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertNull(cache.get("/api/products/1"));
+        assertNull(cache.get("/api/stores/7"));
+        assertNull(cache.get("/api/products"));
+        assertNotNull(cache.get("/api/products/2"));
+        assertNotNull(cache.get("/api/stores/8"));
+    }
+
+    @Test
+    void rolledBackWritesPurgeNothing() {
+        put("/api/products/1", System.currentTimeMillis());
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evictProduct(1L, 7L);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertNotNull(cache.get("/api/products/1"));
+    }
+
+    private void put(String path, long createdAtMillis) {
+        cache.put(path, response(path, createdAtMillis), cache.currentGeneration());
+    }
+
+    private CatalogResponseCache.CachedResponse response(String path, long createdAtMillis) {
+        Set<String> surrogateKeys = cache.surrogateKeysFor(path.replaceFirst("\\?.*", ""));
+        return new CatalogResponseCache.CachedResponse(new byte[0], "application/json", surrogateKeys,
+                createdAtMillis);
+    }
+}
@@ -0,0 +1,100 @@
+package com.marketplace.emarketplacebackend.cache;
+
+import com.marketplace.emarketplacebackend.dto.ProductRequest;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import com.marketplace.emarketplacebackend.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Runs against the seeded catalog (Running Shoes is in Sports); anonymous requests unless a test sends an Authorization header
+@SpringBootTest
+@AutoConfigureMockMvc
+class PublicCatalogTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void anonymousCatalogReadsAreServedAndCached() throws Exception {
+        String uri = "/api/stores?page=0&size=5";
+        mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CatalogResponseCacheFilter.CACHE_STATUS_HEADER, "MISS"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=60"))
+                .andExpect(header().string(CatalogResponseCacheFilter.SURROGATE_KEY_HEADER, "stores"));
+        mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CatalogResponseCacheFilter.CACHE_STATUS_HEADER, "HIT"));
+    }
+
+    // The JWT filter skips public reads, so a stale or garbled token can't turn a catalog GET into a 401
+    @Test
+    void tokensOnCatalogReadsAreNotParsed() throws Exception {
+        mockMvc.perform(get("/api/products?page=0&size=3").header(HttpHeaders.AUTHORIZATION, "Bearer not-a-jwt"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void catalogWritesStillNeedAuthentication() throws Exception {
+        Product shoes = runningShoes();
+        mockMvc.perform(post("/api/products").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(put("/api/products/" + shoes.getId()).contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/products/" + shoes.getId() + "/stock/decrement"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void productWritesPurgeTheCachedProductOnCommit() throws Exception {
+        Product shoes = runningShoes();
+        String uri = "/api/products/" + shoes.getId();
+        mockMvc.perform(get(uri)).andExpect(status().isOk());
+        mockMvc.perform(get(uri)).andExpect(header().string(CatalogResponseCacheFilter.CACHE_STATUS_HEADER, "HIT"));
+
+        productService.updateProduct(shoes.getId(), request(shoes, "Renamed Shoes"));
+        try {
+            mockMvc.perform(get(uri))
+                    .andExpect(header().string(CatalogResponseCacheFilter.CACHE_STATUS_HEADER, "MISS"))
+                    .andExpect(jsonPath("$.name").value("Renamed Shoes"));
+        } finally {
+            productService.updateProduct(shoes.getId(), request(shoes, shoes.getName()));
+        }
+    }
+
+    private Product runningShoes() {
+        return productRepository.findByNameIn(List.of("Running Shoes")).get(0);
+    }
+
+    private static ProductRequest request(Product product, String name) {
+        ProductRequest request = new ProductRequest();
+        request.setName(name);
+        request.setDescription(product.getDescription());
+        request.setPrice(product.getPrice());
+        request.setStock(product.getStock());
+        request.setCategoryName("Sports");
+        request.setStoreId(product.getStore().getId());
+        return request;
+    }
+}
@@ -0,0 +1,116 @@
+package com.marketplace.emarketplacebackend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.emarketplacebackend.dto.CacheRegionStats;
+import com.marketplace.emarketplacebackend.model.CacheRegions;
+import com.marketplace.emarketplacebackend.model.Category;
+import com.marketplace.emarketplacebackend.repository.CategoryRepository;
+import com.marketplace.emarketplacebackend.service.CacheStatisticsService;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Hibernate's second-level cache regions, their ehcache.xml caches and the counters behind /api/admin/cache-statistics
+@SpringBootTest
+@AutoConfigureMockMvc
+class SecondLevelCacheTests {
+
+    private static final String STATISTICS = "/api/admin/cache-statistics";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void everyRegionHasAnEhcacheCache() throws Exception {
+        List<String> regions = new ArrayList<>();
+        for (Field field : CacheRegions.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                regions.add((String) field.get(null));
+            }
+        }
+        CacheManager cacheManager = Caching.getCachingProvider(EhcacheCachingProvider.class.getName())
+                .getCacheManager(new ClassPathResource("ehcache.xml").getURI(), getClass().getClassLoader());
+
+        for (String region : regions) {
+            assertNotNull(cacheManager.getCache(region), region);
+        }
+        assertTrue(regions.containsAll(cacheStatisticsService.getRegionNames()), regions::toString);
+    }
+
+    // Each repository call runs in its own persistence context, so only the second-level cache can serve a repeat
+    @Test
+    void repeatedReferenceLookupsAreCacheHits() {
+        Long id = categoryRepository.findByName("Sports").map(Category::getId).orElseThrow();
+        long entityHits = hits(CacheRegions.CATEGORY);
+        long queryHits = hits(CacheRegions.REFERENCE_QUERIES);
+
+        categoryRepository.findById(id).orElseThrow();
+        categoryRepository.findById(id).orElseThrow();
+        categoryRepository.findByName("Sports").orElseThrow();
+
+        assertTrue(hits(CacheRegions.CATEGORY) >= entityHits + 2);
+        assertTrue(hits(CacheRegions.REFERENCE_QUERIES) > queryHits);
+        CacheRegionStats stats = cacheStatisticsService.getRegionStatistics(CacheRegions.CATEGORY);
+        assertEquals((double) stats.hits() / (stats.hits() + stats.misses()), stats.hitRatio(), 1e-9);
+    }
+
+    @Test
+    void statisticsAreForAdminsOnly() throws Exception {
+        mockMvc.perform(get(STATISTICS)).andExpect(status().isUnauthorized());
+        mockMvc.perform(get(STATISTICS).header(HttpHeaders.AUTHORIZATION, token("seller")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get(STATISTICS).header(HttpHeaders.AUTHORIZATION, token("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(cacheStatisticsService.getRegionNames().size()))
+                .andExpect(jsonPath("$[0].region").value(CacheRegions.CATEGORY))
+                .andExpect(jsonPath("$[0].hits").isNumber());
+    }
+
+    private long hits(String region) {
+        return cacheStatisticsService.getRegionStatistics(region).hits();
+    }
+
+    // Signs up a user with the given role and returns its Authorization header value
+    private String token(String role) throws Exception {
+        String username = role.substring(0, 3) + System.nanoTime() % 1_000_000_000;
+        mockMvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\","
+                                + "\"password\":\"secret123\",\"role\":[\"" + role + "\"]}"))
+                .andExpect(status().isOk());
+        String login = mockMvc.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"secret123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + objectMapper.readTree(login).get("token").asText();
+    }
+}
@@ -0,0 +1,67 @@
+package com.marketplace.emarketplacebackend.catalog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+class InMemoryProductDocumentStoreTests {
+
+    private final InMemoryProductDocumentStore store = new InMemoryProductDocumentStore();
+
+    @BeforeEach
+    void fill() {
+        store.saveAll(List.of(
+                document(1, "Running Shoes", "Sports", 10, "Warri"),
+                document(2, "Smart Watch", "Electronics", 10, "Warri"),
+                document(3, "Smart Phone", "Electronics", 20, "Lagos"),
+                document(4, "Tennis Racket", "Sports", 20, "Lagos"))).block();
+    }
+
+    @Test
+    void filtersInIdOrderAfterTheGivenId() {
+        StepVerifier.create(store.find(new ProductQuery("smart", null, null, null)).map(ProductDocument::id))
+                .expectNext(2L, 3L)
+                .verifyComplete();
+        StepVerifier.create(store.find(new ProductQuery(null, "Electronics", "lagos", null)).map(ProductDocument::id))
+                .expectNext(3L)
+                .verifyComplete();
+        StepVerifier.create(store.find(new ProductQuery(null, null, null, 2L)).map(ProductDocument::id))
+                .expectNext(3L, 4L)
+                .verifyComplete();
+    }
+
+    @Test
+    void emitsOnlyWhatIsRequested() {
+        store.saveAll(LongStream.rangeClosed(5, 10_000)
+                .mapToObj(id -> document(id, "Bulk " + id, "Sports", 20, "Lagos"))
+                .toList()).block();
+
+        StepVerifier.create(store.find(ProductQuery.all()).map(ProductDocument::id), 2)
+                .expectNext(1L, 2L)
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenRequest(1)
+                .expectNext(3L)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void storeChangesRewriteAndRemoveItsProducts() {
+        store.updateStore(20, "Gadget Hub", "Abuja", 7L).block();
+        StepVerifier.create(store.find(new ProductQuery(null, null, "Abuja", null)).map(ProductDocument::name))
+                .expectNext("Smart Phone", "Tennis Racket")
+                .verifyComplete();
+
+        store.deleteByStoreIdIn(List.of(20L)).block();
+        StepVerifier.create(store.count()).expectNext(2L).verifyComplete();
+        StepVerifier.create(store.findById(3)).verifyComplete();
+    }
+
+    private static ProductDocument document(long id, String name, String category, long storeId, String location) {
+        return new ProductDocument(id, name, null, 10.0, 5, category, storeId, "Store " + storeId, location, 1L);
+    }
+}
@@ -0,0 +1,65 @@
+package com.marketplace.emarketplacebackend.catalog;
+
+import com.marketplace.emarketplacebackend.event.CartItemChangedEvent;
+import com.marketplace.emarketplacebackend.event.DomainEvent;
+import com.marketplace.emarketplacebackend.event.ProductChangedEvent;
+import com.marketplace.emarketplacebackend.event.ProductDeletedEvent;
+import com.marketplace.emarketplacebackend.event.ProductStockChangedEvent;
+import com.marketplace.emarketplacebackend.event.StoreChangedEvent;
+import com.marketplace.emarketplacebackend.event.StoreDeletedEvent;
+import com.marketplace.emarketplacebackend.outbox.OutboxMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ProductProjectorTests {
+
+    private final InMemoryProductDocumentStore store = new InMemoryProductDocumentStore();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ProductProjector projector = new ProductProjector(store, null, registry);
+
+    @Test
+    void appliesCatalogEvents() {
+        deliver(changed(1, "Running Shoes", 10));
+        deliver(changed(2, "Smart Watch", 10));
+        deliver(changed(1, "Trail Shoes", 10));
+        deliver(new StoreChangedEvent(10L, "Sporty Outlet", "Lagos", 3L, Instant.now()));
+        deliver(new ProductDeletedEvent(2L, 10L, Instant.now()));
+        deliver(ProductStockChangedEvent.of(1L, 10L, 3));
+
+        ProductDocument shoes = store.findById(1).block();
+        assertEquals("Trail Shoes", shoes.name());
+        assertEquals(3, shoes.stock());
+        assertEquals("Sporty Outlet", shoes.storeName());
+        assertEquals("Lagos", shoes.storeLocation());
+        assertNull(store.findById(2).block());
+
+        deliver(new StoreDeletedEvent(10L, Instant.now()));
+        assertEquals(0L, store.count().block());
+    }
+
+    @Test
+    void redeliveryIsHarmlessAndOtherEventsAreIgnored() {
+        ProductChangedEvent event = changed(1, "Running Shoes", 10);
+        deliver(event);
+        deliver(event);
+        deliver(CartItemChangedEvent.of(5L, 6L, 1L, 2));
+
+        assertEquals(1L, store.count().block());
+        assertEquals(2, registry.get("marketplace.catalog.projection.lag").timer().count());
+    }
+
+    private void deliver(DomainEvent event) {
+        projector.deliver(new OutboxMessage(0, event.aggregateType(), event.aggregateId(),
+                event.getClass().getSimpleName(), "{}", event.occurredAt(), event));
+    }
+
+    private static ProductChangedEvent changed(long id, String name, long storeId) {
+        return new ProductChangedEvent(id, name, null, 10.0, 5, "Sports", storeId, "Sporty", "Warri", 1L,
+                Instant.now());
+    }
+}
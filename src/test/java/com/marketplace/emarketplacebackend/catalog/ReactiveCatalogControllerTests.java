@@ -0,0 +1,128 @@
+package com.marketplace.emarketplacebackend.catalog;
+
+import com.marketplace.emarketplacebackend.cache.CatalogResponseCacheFilter;
+import com.marketplace.emarketplacebackend.diagnostics.SqlStatsFilter;
+import com.marketplace.emarketplacebackend.dto.ProductRequest;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.outbox.OutboxRelay;
+import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import com.marketplace.emarketplacebackend.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Runs against the seeded catalog (Running Shoes and Smart Watch, both in the Sporty store in Warri)
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReactiveCatalogControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductDocumentStore documentStore;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Test
+    void streamsMatchingDocumentsAsNdjsonWithoutAuthentication() throws Exception {
+        String body = perform("/api/catalog/products?location=warri&category=Electronics")
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.strip().split("\n");
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].contains("\"name\":\"Smart Watch\""));
+        assertTrue(lines[0].contains("\"storeName\":\"Sporty\""));
+    }
+
+    @Test
+    void productWritesReachTheDocumentsAfterCommit() throws Exception {
+        Product shoes = productRepository.findByNameIn(List.of("Running Shoes")).get(0);
+        ProductRequest request = new ProductRequest();
+        request.setName("Trail Shoes");
+        request.setDescription(shoes.getDescription());
+        request.setPrice(shoes.getPrice());
+        request.setStock(shoes.getStock());
+        request.setCategoryName("Sports");
+        request.setStoreId(shoes.getStore().getId());
+        Product created = productService.createProduct(request);
+        try {
+            awaitProjection();
+            perform("/api/catalog/products/" + created.getId())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name").value("Trail Shoes"))
+                    .andExpect(jsonPath("$.category").value("Sports"));
+        } finally {
+            productService.deleteProduct(created.getId());
+        }
+        awaitProjection();
+        perform("/api/catalog/products/" + created.getId()).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void readsAreServedFromTheDocumentsNotTheDatabase() throws Exception {
+        ProductDocument watch = documentStore.find(new ProductQuery("Smart Watch", null, null, null)).blockFirst();
+        documentStore.saveAll(List.of(new ProductDocument(watch.id(), "Renamed in the read model only",
+                watch.description(), watch.price(), watch.stock(), watch.category(), watch.storeId(),
+                watch.storeName(), watch.storeLocation(), watch.sellerId()))).block();
+        try {
+            perform("/api/catalog/products/" + watch.id())
+                    .andExpect(jsonPath("$.name").value("Renamed in the read model only"));
+        } finally {
+            documentStore.saveAll(List.of(watch)).block();
+        }
+    }
+
+    // The streamed responses bypass the response cache and the SQL statistics filter, which would buffer them
+    @Test
+    void repeatedReadsAreStreamedEveryTime() throws Exception {
+        String uri = "/api/catalog/products?category=Sports";
+        String first = perform(uri).andReturn().getResponse().getContentAsString();
+        MvcResult started = mockMvc.perform(get(uri))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().doesNotExist(CatalogResponseCacheFilter.CACHE_STATUS_HEADER))
+                .andExpect(header().doesNotExist(SqlStatsFilter.STATEMENTS_HEADER))
+                .andReturn();
+        String second = mockMvc.perform(asyncDispatch(started)).andReturn().getResponse().getContentAsString();
+
+        assertTrue(first.contains("\"name\":\"Running Shoes\""));
+        assertEquals(first, second);
+    }
+
+    // Delivers the outbox now instead of waiting for the scheduled relay
+    private void awaitProjection() {
+        outboxRelay.relayPending();
+    }
+
+    // Reactive return values are handled asynchronously: start the request, then dispatch its result
+    private ResultActions perform(String uri) throws Exception {
+        MvcResult started = mockMvc.perform(get(uri)).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+}
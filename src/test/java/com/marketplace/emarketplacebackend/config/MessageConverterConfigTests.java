@@ -0,0 +1,84 @@
+package com.marketplace.emarketplacebackend.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.marketplace.emarketplacebackend.cache.CatalogResponseCacheFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The response cache stays on: it keys on Accept, so each format must come back as itself on a repeat request
+@SpringBootTest
+@AutoConfigureMockMvc
+class MessageConverterConfigTests {
+
+    private static final String URI = "/api/products?size=5&sort=id";
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void jsonIsTheDefault() throws Exception {
+        MockHttpServletResponse none = fetch(get(URI));
+        MockHttpServletResponse any = fetch(get(URI).accept(MediaType.ALL));
+
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, none.getContentType());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, any.getContentType());
+        assertEquals(none.getContentAsString(), any.getContentAsString());
+    }
+
+    @Test
+    void smileAndCborCarryTheSameDocumentAsJson() throws Exception {
+        JsonNode json = objectMapper.readTree(fetch(get(URI).accept(MediaType.APPLICATION_JSON)).getContentAsString());
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletResponse smile = fetch(get(URI).accept(SMILE));
+            assertEquals(SMILE.toString(), smile.getContentType());
+            assertEquals(json.toString(), decode(new SmileFactory(), smile.getContentAsByteArray()).toString());
+
+            MockHttpServletResponse cbor = fetch(get(URI).accept(MediaType.APPLICATION_CBOR));
+            assertEquals(MediaType.APPLICATION_CBOR_VALUE, cbor.getContentType());
+            assertEquals(json.toString(), decode(new CBORFactory(), cbor.getContentAsByteArray()).toString());
+            if (i == 1) {
+                assertEquals("HIT", smile.getHeader(CatalogResponseCacheFilter.CACHE_STATUS_HEADER));
+                assertEquals("HIT", cbor.getHeader(CatalogResponseCacheFilter.CACHE_STATUS_HEADER));
+            }
+        }
+        assertEquals(json, objectMapper.readTree(fetch(get(URI)).getContentAsString()));
+    }
+
+    @Test
+    void unsupportedFormatsAreNotAcceptable() throws Exception {
+        mockMvc.perform(get(URI).accept(MediaType.APPLICATION_XML))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    private MockHttpServletResponse fetch(MockHttpServletRequestBuilder request) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertEquals(HttpHeaders.ACCEPT, response.getHeader(HttpHeaders.VARY));
+        return response;
+    }
+
+    private static JsonNode decode(JsonFactory factory, byte[] body) throws Exception {
+        return new ObjectMapper(factory).readTree(body);
+    }
+}
@@ -0,0 +1,88 @@
+package com.marketplace.emarketplacebackend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersistenceBackendsEnvironmentPostProcessorTests {
+
+    private static final String MONGO = "org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration";
+    private static final String COUCHBASE =
+            "org.springframework.boot.autoconfigure.couchbase.CouchbaseAutoConfiguration";
+    private static final String ELASTICSEARCH =
+            "org.springframework.boot.autoconfigure.elasticsearch.ElasticsearchClientAutoConfiguration";
+    private static final String REDIS = "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration";
+    private static final String REDIS_HEALTH =
+            "org.springframework.boot.actuate.autoconfigure.data.redis.RedisHealthContributorAutoConfiguration";
+
+    private final PersistenceBackendsEnvironmentPostProcessor postProcessor =
+            new PersistenceBackendsEnvironmentPostProcessor();
+
+    @Test
+    void onlyJpaByDefault() {
+        List<String> excludes = excludes(new MockEnvironment());
+
+        assertTrue(excludes.containsAll(List.of(MONGO, COUCHBASE, ELASTICSEARCH, REDIS, REDIS_HEALTH)),
+                excludes::toString);
+    }
+
+    @Test
+    void listedBackendsStayActive() {
+        List<String> excludes = excludes(new MockEnvironment()
+                .withProperty(PersistenceBackendsEnvironmentPostProcessor.BACKENDS_PROPERTY, "jpa, Redis"));
+
+        assertFalse(excludes.contains(REDIS), excludes::toString);
+        assertFalse(excludes.contains(REDIS_HEALTH), excludes::toString);
+        assertTrue(excludes.containsAll(List.of(MONGO, COUCHBASE, ELASTICSEARCH)), excludes::toString);
+    }
+
+    // Exclusions from config files or the command line, in either list form, are kept ahead of the backends'
+    @Test
+    void existingExclusionsAreKept() {
+        String own = "org.springframework.boot.autoconfigure.mail.MailSenderAutoConfiguration";
+        String indexed = "org.springframework.boot.autoconfigure.quartz.QuartzAutoConfiguration";
+
+        List<String> commaSeparated = excludes(new MockEnvironment()
+                .withProperty("spring.autoconfigure.exclude", own + "," + indexed));
+        List<String> indexedList = excludes(new MockEnvironment()
+                .withProperty("spring.autoconfigure.exclude[0]", own)
+                .withProperty("spring.autoconfigure.exclude[1]", indexed));
+
+        assertEquals(List.of(own, indexed), commaSeparated.subList(0, 2));
+        assertEquals(commaSeparated, indexedList);
+        assertTrue(commaSeparated.contains(MONGO));
+    }
+
+    @Test
+    void unknownBackendsFailTheStartup() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(PersistenceBackendsEnvironmentPostProcessor.BACKENDS_PROPERTY, "jpa,cassandra");
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> postProcessor.postProcessEnvironment(environment, new SpringApplication()));
+        assertTrue(failure.getMessage().startsWith("Unknown persistence backend 'cassandra'"), failure.getMessage());
+    }
+
+    @Test
+    void jpaCannotBeSwitchedOff() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(PersistenceBackendsEnvironmentPostProcessor.BACKENDS_PROPERTY, "mongodb");
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> postProcessor.postProcessEnvironment(environment, new SpringApplication()));
+        assertEquals(PersistenceBackendsEnvironmentPostProcessor.BACKENDS_PROPERTY + " must include jpa",
+                failure.getMessage());
+    }
+
+    private List<String> excludes(MockEnvironment environment) {
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+        return List.of(environment.getProperty("spring.autoconfigure.exclude", "").split(","));
+    }
+}
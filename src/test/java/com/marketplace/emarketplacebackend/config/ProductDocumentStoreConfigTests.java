@@ -0,0 +1,39 @@
+package com.marketplace.emarketplacebackend.config;
+
+import com.marketplace.emarketplacebackend.catalog.InMemoryProductDocumentStore;
+import com.marketplace.emarketplacebackend.catalog.ProductDocumentStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductDocumentStoreConfigTests {
+
+    private final ApplicationContextRunner runner =
+            new ApplicationContextRunner().withUserConfiguration(ProductDocumentStoreConfig.class);
+
+    @Test
+    void memoryIsTheDefaultOnTheRelayingInstance() {
+        runner.run(context -> {
+            assertNull(context.getStartupFailure());
+            assertInstanceOf(InMemoryProductDocumentStore.class, context.getBean(ProductDocumentStore.class));
+        });
+    }
+
+    // Nothing would ever update its documents after the startup rebuild
+    @Test
+    void memoryRefusesToStartWithoutTheRelay() {
+        runner.withPropertyValues("marketplace.outbox.relay.enabled=false").run(context -> {
+            Throwable failure = context.getStartupFailure();
+            assertNotNull(failure);
+            while (failure.getCause() != null) {
+                failure = failure.getCause();
+            }
+            assertTrue(failure.getMessage().contains("requires marketplace.outbox.relay.enabled=true"),
+                    failure.getMessage());
+        });
+    }
+}
@@ -0,0 +1,99 @@
+package com.marketplace.emarketplacebackend.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Permits around an in-memory H2 database
+class ConcurrencyLimitedDataSourceTests {
+
+    @Test
+    void closingAConnectionReleasesItsPermitOnce() throws Exception {
+        ConcurrencyLimitedDataSource dataSource = limited(h2(), 2, 1_000);
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertEquals(0, dataSource.getAvailablePermits());
+
+        first.close();
+        first.close(); // A second close must not hand out a permit that isn't there
+        assertEquals(1, dataSource.getAvailablePermits());
+        assertTrue(first.isClosed());
+
+        second.close();
+        assertEquals(2, dataSource.getMaxPermits());
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void waitingCallerGetsTheReleasedPermit() throws Exception {
+        ConcurrencyLimitedDataSource dataSource = limited(h2(), 1, 10_000);
+        Connection held = dataSource.getConnection();
+
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (dataSource.getWaitingThreads() == 0) {
+            Thread.onSpinWait();
+        }
+        assertFalse(waiter.isDone());
+
+        held.close();
+        try (Connection connection = waiter.get(5, TimeUnit.SECONDS)) {
+            assertFalse(connection.isClosed());
+            assertEquals(0, dataSource.getAvailablePermits());
+        }
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void givesUpAfterTheAcquireTimeout() throws Exception {
+        ConcurrencyLimitedDataSource dataSource = limited(h2(), 1, 100);
+
+        try (Connection held = dataSource.getConnection()) {
+            long start = System.nanoTime();
+            SQLTransientConnectionException failure =
+                    assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+            assertTrue(failure.getMessage().startsWith("No database connection permit within 100 ms"),
+                    failure.getMessage());
+            assertFalse(held.isClosed());
+        }
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    // The target fails after the permit was taken: the permit must not leak
+    @Test
+    void failedConnectionGivesThePermitBack() {
+        ConcurrencyLimitedDataSource dataSource =
+                limited(new DriverManagerDataSource("jdbc:no-such-driver:test"), 1, 100);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertThrows(SQLException.class, () -> dataSource.getConnection("sa", ""));
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    private static ConcurrencyLimitedDataSource limited(DriverManagerDataSource target, int permits,
+                                                        long timeoutMillis) {
+        return new ConcurrencyLimitedDataSource(target, permits, timeoutMillis);
+    }
+
+    private static DriverManagerDataSource h2() {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
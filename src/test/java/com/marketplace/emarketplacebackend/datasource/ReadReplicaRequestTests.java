@@ -0,0 +1,63 @@
+package com.marketplace.emarketplacebackend.datasource;
+
+import com.marketplace.emarketplacebackend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The replica pool reads the primary's in-memory database as a user that may only SELECT, so a write routed to
+// it fails instead of passing unnoticed.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica_routing;DB_CLOSE_DELAY=-1;"
+                + "INIT=CREATE USER IF NOT EXISTS REPLICA PASSWORD 'replica'\\;GRANT SELECT ON SCHEMA PUBLIC TO REPLICA",
+        "spring.datasource.username=sa",
+        "marketplace.datasource.replica.url=jdbc:h2:mem:replica_routing;DB_CLOSE_DELAY=-1",
+        "marketplace.datasource.replica.username=REPLICA",
+        "marketplace.datasource.replica.password=replica"})
+@AutoConfigureMockMvc
+class ReadReplicaRequestTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Test
+    void replicaConnectionsCannotWrite() throws SQLException {
+        try (Connection connection = replicaDataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            assertThrows(SQLException.class, () -> statement.executeUpdate("DELETE FROM users WHERE 1 = 0"));
+        }
+    }
+
+    // Sign-up checks the username and email in read-only transactions, then saves the user in the same request
+    @Test
+    void writeAfterReplicaReadInOneRequestGoesToThePrimary() throws Exception {
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"replica_reader\",\"email\":\"replica_reader@example.com\","
+                                + "\"password\":\"secret123\"}"))
+                .andExpect(status().isOk());
+
+        assertTrue(userRepository.existsByUsername("replica_reader"));
+    }
+}
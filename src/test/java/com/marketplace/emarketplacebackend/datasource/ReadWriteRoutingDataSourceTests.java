@@ -0,0 +1,133 @@
+package com.marketplace.emarketplacebackend.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Routes against two in-memory H2 databases that each hold a row naming themselves.
+class ReadWriteRoutingDataSourceTests {
+
+    private static final long WINDOW_MILLIS = 5_000;
+
+    private final MutableClock clock = new MutableClock();
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("primary");
+        DataSource replica = h2("replica");
+        ReadWriteRoutingDataSource routing =
+                new ReadWriteRoutingDataSource(primary, replica, new ReadYourWritesTracker(WINDOW_MILLIS, clock));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaAndOthersThePrimary() {
+        assertEquals("replica", readOnly.execute(status -> serverName()));
+        assertEquals("primary", readWrite.execute(status -> serverName()));
+        assertEquals("primary", serverName()); // No transaction
+    }
+
+    @Test
+    void writerReadsFromPrimaryWithinTheWindow() {
+        signIn("alice");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE server SET writes = writes + 1"));
+
+        assertEquals("primary", readOnly.execute(status -> serverName()));
+
+        signIn("bob"); // Other users are unaffected
+        assertEquals("replica", readOnly.execute(status -> serverName()));
+
+        signIn("alice");
+        clock.advance(WINDOW_MILLIS);
+        assertEquals("replica", readOnly.execute(status -> serverName()));
+    }
+
+    @Test
+    void rolledBackWriteDoesNotOpenTheWindow() {
+        signIn("alice");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE server SET writes = writes + 1");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", readOnly.execute(status -> serverName()));
+    }
+
+    private String serverName() {
+        return jdbcTemplate.queryForObject("SELECT name FROM server", String.class);
+    }
+
+    private static void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private static DataSource h2(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE server (name VARCHAR(20), writes INT)");
+        setup.update("INSERT INTO server VALUES (?, 0)", name);
+        return dataSource;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private long millis = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+        void advance(long deltaMillis) {
+            millis += deltaMillis;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.marketplace.emarketplacebackend.diagnostics;
+
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The budgets from application.properties, enforced by the test override (fail-on-budget-exceeded=true)
+@SpringBootTest(properties = "marketplace.catalog.cache.max-entries=0") // Every request reaches the database
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class SqlBudgetTests {
+
+    private static final String REPEATED_SQL = "SELECT COUNT(*) FROM products WHERE id = ?";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SqlDiagnosticsProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void productDetailStaysWithinItsBudget() throws Exception {
+        assertWithinBudget("/api/products/" + runningShoes().getId(), 2);
+    }
+
+    @Test
+    void productListingStaysWithinItsBudget() throws Exception {
+        assertWithinBudget("/api/products", 3);
+        assertWithinBudget("/api/products?page=0&size=50", 3);
+    }
+
+    @Test
+    void storeDetailStaysWithinItsBudget() throws Exception {
+        assertWithinBudget("/api/stores/" + runningShoes().getStore().getId(), 3);
+    }
+
+    @Test
+    void statementsRepeatedWithinARequestAreLoggedAsPossibleNPlusOne(CapturedOutput output) throws Exception {
+        MockHttpServletResponse response = runQueries(3);
+
+        assertEquals("3", response.getHeader(SqlStatsFilter.STATEMENTS_HEADER));
+        assertTrue(output.getOut().contains(
+                "GET /api/diagnostics: same statement executed 3 times (possible N+1)"), output::getOut);
+        assertTrue(output.getOut().contains(REPEATED_SQL), output::getOut);
+    }
+
+    @Test
+    void statementsBelowTheRepeatThresholdAreNotLogged(CapturedOutput output) throws Exception {
+        runQueries(properties.getRepeatThreshold() - 1);
+
+        assertFalse(output.getOut().contains("possible N+1"), output::getOut);
+    }
+
+    private void assertWithinBudget(String uri, int budget) throws Exception {
+        MvcResult result = mockMvc.perform(get(uri)).andExpect(status().isOk()).andReturn();
+        int statements = Integer.parseInt(result.getResponse().getHeader(SqlStatsFilter.STATEMENTS_HEADER));
+        assertEquals(String.valueOf(budget), result.getResponse().getHeader(SqlStatsFilter.BUDGET_HEADER));
+        assertTrue(statements > 0 && statements <= budget, uri + " ran " + statements + " statements");
+    }
+
+    // One request running the same lookup once per product, the way a lazy association loads row by row
+    private MockHttpServletResponse runQueries(int times) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new SqlStatsFilter(properties).doFilter(new MockHttpServletRequest("GET", "/api/diagnostics"), response,
+                (request, ignored) -> LongStream.rangeClosed(1, times)
+                        .forEach(id -> jdbcTemplate.queryForObject(REPEATED_SQL, Long.class, id)));
+        return response;
+    }
+}
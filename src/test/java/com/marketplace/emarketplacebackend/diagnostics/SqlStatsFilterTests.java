@@ -0,0 +1,52 @@
+package com.marketplace.emarketplacebackend.diagnostics;
+
+import com.marketplace.emarketplacebackend.exception.SqlBudgetExceededException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Budgets are replaced wholesale here: a generous one for the product listing, and none allowed for store listings.
+@SpringBootTest(properties = {
+        "marketplace.catalog.cache.max-entries=0", // Every request reaches the database
+        "marketplace.diagnostics.sql.fail-on-budget-exceeded=true",
+        "marketplace.diagnostics.sql.budgets[0].method=GET",
+        "marketplace.diagnostics.sql.budgets[0].path=/api/products",
+        "marketplace.diagnostics.sql.budgets[0].max-statements=10",
+        "marketplace.diagnostics.sql.budgets[1].method=GET",
+        "marketplace.diagnostics.sql.budgets[1].path=/api/stores",
+        "marketplace.diagnostics.sql.budgets[1].max-statements=0"})
+@AutoConfigureMockMvc
+class SqlStatsFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void reportsStatementsRowsAndBudgetInHeaders() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/products")).andExpect(status().isOk()).andReturn();
+
+        int statements = Integer.parseInt(result.getResponse().getHeader(SqlStatsFilter.STATEMENTS_HEADER));
+        long rows = Long.parseLong(result.getResponse().getHeader(SqlStatsFilter.ROWS_HEADER));
+        assertTrue(statements > 0, "the product page is read from the database");
+        assertTrue(rows > 0, "seeded products are counted as rows read");
+        assertTrue(Long.parseLong(result.getResponse().getHeader(SqlStatsFilter.TIME_HEADER)) >= 0);
+        assertEquals("10", result.getResponse().getHeader(SqlStatsFilter.BUDGET_HEADER));
+    }
+
+    @Test
+    void failsRequestsOverTheirBudget() {
+        Exception thrown = assertThrows(Exception.class, () -> mockMvc.perform(get("/api/stores")));
+        assertInstanceOf(SqlBudgetExceededException.class, NestedExceptionUtils.getMostSpecificCause(thrown));
+    }
+}
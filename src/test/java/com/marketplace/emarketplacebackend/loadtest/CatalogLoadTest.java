@@ -0,0 +1,228 @@
+package com.marketplace.emarketplacebackend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.emarketplacebackend.dto.StoreRequest;
+import com.marketplace.emarketplacebackend.model.Category;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.model.Seller;
+import com.marketplace.emarketplacebackend.model.Store;
+import com.marketplace.emarketplacebackend.repository.CategoryRepository;
+import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import com.marketplace.emarketplacebackend.repository.SellerRepository;
+import com.marketplace.emarketplacebackend.repository.StoreRepository;
+import com.marketplace.emarketplacebackend.service.StoreService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Boots the application on a random port (embedded H2), seeds a catalog and a set of signed-up users, then drives
+ * a traffic mix at a fixed arrival rate and compares per-endpoint p99 latency and throughput against the stored
+ * baseline. Run with ./gradlew loadTest (excluded from ./gradlew test); options are -Dloadtest.* system properties:
+ * <pre>
+ *   loadtest.rate=100                 requests per second
+ *   loadtest.mix=browse=50,search=25,cart=15,signin=10
+ *   loadtest.warmup-seconds=15, loadtest.duration-seconds=60
+ *   loadtest.users=50, loadtest.stores=100, loadtest.products=5000
+ *   loadtest.p99-tolerance=0.25, loadtest.p99-slack-ms=5, loadtest.throughput-tolerance=0.05
+ *   loadtest.max-error-rate=0.01
+ *   loadtest.update-baseline=true     store this run as the new baseline instead of comparing
+ * </pre>
+ * The baseline is machine-specific: record it on the machine (or CI runner class) that compares against it.
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "marketplace.diagnostics.sql.enabled=false", // Measure what production runs
+        "logging.level.org.springframework.security=WARN"})
+class CatalogLoadTest {
+
+    private static final List<String> LOCATIONS = List.of(
+            "Lagos", "Abuja", "Warri", "Port Harcourt", "Ibadan", "Kano", "Enugu", "Benin City", "Accra", "Kumasi",
+            "Nairobi", "Mombasa", "Kampala", "Kigali", "Johannesburg", "Cape Town", "Cairo", "Casablanca", "Dakar",
+            "Abidjan");
+    private static final List<String> ADJECTIVES = List.of(
+            "Classic", "Premium", "Compact", "Wireless", "Smart", "Portable", "Deluxe", "Eco", "Pro", "Lite");
+    private static final List<String> NOUNS = List.of(
+            "Running Shoes", "Smart Watch", "Headphones", "Backpack", "Water Bottle", "Desk Lamp", "Kettle",
+            "Yoga Mat", "Sunglasses", "Phone Case", "Bluetooth Speaker", "Office Chair");
+    private static final String PASSWORD = "loadtest-password";
+    private static final int CART_PRODUCTS = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private SellerRepository sellerRepository;
+    @Autowired private StoreRepository storeRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private StoreService storeService;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient setupClient = HttpClient.newHttpClient();
+
+    @Test
+    void throughputAndLatencyStayWithinBaseline() throws Exception {
+        int rate = Integer.getInteger("loadtest.rate", 100);
+        String mixSpec = System.getProperty("loadtest.mix", "browse=50,search=25,cart=15,signin=10");
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 15));
+        Duration measured = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60));
+
+        URI baseUri = URI.create("http://localhost:" + port);
+        Random random = new Random(42);
+        List<Long> storeIds = seedStores(random, Integer.getInteger("loadtest.stores", 100));
+        List<Long> productIds = seedProducts(random, storeIds, Integer.getInteger("loadtest.products", 5000));
+        List<Long> cartProductIds = productIds.subList(0, CART_PRODUCTS);
+        List<String> usernames = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < Integer.getInteger("loadtest.users", 50); i++) {
+            String username = "load_user_" + i;
+            String token = signUpAndSignIn(baseUri, username);
+            for (Long productId : cartProductIds) { // So cart updates always find the product
+                post(baseUri, "/api/cart/add", token, "{\"productId\":" + productId + ",\"quantity\":1}");
+            }
+            usernames.add(username);
+            tokens.add(token);
+        }
+
+        TrafficMix mix = new TrafficMix(mixSpec, new TrafficMix.Fixture(
+                baseUri, productIds, storeIds, LOCATIONS, usernames, PASSWORD, tokens, cartProductIds));
+        Map<String, LoadGenerator.EndpointResult> results = new LoadGenerator(mix).run(rate, warmup, measured);
+        LoadBaseline current = new LoadBaseline(rate, mix.description(), results);
+
+        print(current);
+        current.write(Path.of(System.getProperty("loadtest.report", "build/reports/loadtest/results.json")));
+        checkErrorRates(current, Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01")));
+        compareWithBaseline(current);
+    }
+
+    private void compareWithBaseline(LoadBaseline current) throws Exception {
+        Path baselineFile =
+                Path.of(System.getProperty("loadtest.baseline", "src/test/resources/loadtest/baseline.json"));
+        if (Boolean.getBoolean("loadtest.update-baseline")) {
+            current.write(baselineFile);
+            System.out.println("Baseline written to " + baselineFile);
+            return;
+        }
+        if (!Files.exists(baselineFile)) {
+            System.out.println("No baseline at " + baselineFile
+                    + "; run with -Dloadtest.update-baseline=true to record one");
+            return;
+        }
+        LoadBaseline baseline = LoadBaseline.read(baselineFile);
+        if (!baseline.comparableTo(current)) {
+            fail("Baseline was recorded at " + baseline.rate() + " req/s with mix " + baseline.mix()
+                    + "; rerun with the same settings or record a new baseline");
+        }
+        List<String> regressions = baseline.regressionsIn(current,
+                Double.parseDouble(System.getProperty("loadtest.p99-tolerance", "0.25")),
+                Double.parseDouble(System.getProperty("loadtest.p99-slack-ms", "5")),
+                Double.parseDouble(System.getProperty("loadtest.throughput-tolerance", "0.05")));
+        if (!regressions.isEmpty()) {
+            fail("Regressions against " + baselineFile + ":\n" + String.join("\n", regressions));
+        }
+    }
+
+    private static void checkErrorRates(LoadBaseline current, double maxErrorRate) {
+        List<String> failing = new ArrayList<>();
+        current.endpoints().forEach((endpoint, result) -> {
+            if (result.errorRate() > maxErrorRate) {
+                failing.add(String.format("%s: %.2f%% errors", endpoint, result.errorRate() * 100));
+            }
+        });
+        if (!failing.isEmpty()) {
+            fail("Error rate above " + maxErrorRate * 100 + "%:\n" + String.join("\n", failing));
+        }
+    }
+
+    private static void print(LoadBaseline run) {
+        System.out.printf("%d req/s, mix %s%n", run.rate(), run.mix());
+        System.out.printf("%-36s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "ok", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        run.endpoints().forEach((endpoint, r) -> System.out.printf(
+                "%-36s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, r.successes(), r.errors(), r.throughput(),
+                r.p50Ms(), r.p90Ms(), r.p99Ms(), r.p999Ms(), r.maxMs()));
+    }
+
+    // Through StoreService so the location, filter and leaderboard indexes know the stores
+    private List<Long> seedStores(Random random, int count) {
+        List<Seller> sellers = transactionTemplate.execute(status -> {
+            List<Seller> all = new ArrayList<>();
+            for (int i = 0; i < Math.max(1, count / 5); i++) {
+                all.add(new Seller("Load Seller " + i, "load.seller" + i + "@example.com"));
+            }
+            return sellerRepository.saveAll(all);
+        });
+        List<Long> storeIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StoreRequest request = new StoreRequest();
+            request.setName("Load Store " + i);
+            request.setLocation(LOCATIONS.get(random.nextInt(LOCATIONS.size())));
+            request.setCategories("Electronics, Sports");
+            request.setSellerId(sellers.get(i % sellers.size()).getId());
+            storeIds.add(storeService.createStore(request).getId());
+        }
+        return storeIds;
+    }
+
+    private List<Long> seedProducts(Random random, List<Long> storeIds, int count) {
+        return transactionTemplate.execute(status -> {
+            List<Category> categories = categoryRepository.findByNameIn(List.of("Electronics", "Sports"));
+            List<Product> products = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Store store = storeRepository.getReferenceById(storeIds.get(random.nextInt(storeIds.size())));
+                String name = ADJECTIVES.get(random.nextInt(ADJECTIVES.size())) + " "
+                        + NOUNS.get(random.nextInt(NOUNS.size()));
+                products.add(new Product(
+                        name,
+                        "Load test product " + i,
+                        Math.round((2 + random.nextDouble() * 498) * 100) / 100.0,
+                        1_000_000, // Never runs out during the test
+                        store,
+                        categories.get(random.nextInt(categories.size()))));
+            }
+            return productRepository.saveAll(products).stream().map(Product::getId).toList();
+        });
+    }
+
+    private String signUpAndSignIn(URI baseUri, String username) throws Exception {
+        post(baseUri, "/api/auth/signup", null,
+                String.format("{\"username\":\"%s\",\"email\":\"%s@example.com\",\"password\":\"%s\"}",
+                        username, username, PASSWORD));
+        JsonNode login = objectMapper.readTree(post(baseUri, "/api/auth/signin", null,
+                String.format("{\"username\":\"%s\",\"password\":\"%s\"}", username, PASSWORD)));
+        return login.get("token").asText();
+    }
+
+    private String post(URI baseUri, String path, String token, String json) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = setupClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), path + " failed during setup: " + response.body());
+        return response.body();
+    }
+}
@@ -0,0 +1,58 @@
+package com.marketplace.emarketplacebackend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-endpoint results of a reference run, stored as JSON. A new run regresses when an endpoint's p99 grows by
+ * more than the tolerance (plus a small absolute slack, since single-digit millisecond p99s are noisy), its
+ * throughput drops by more than the tolerance, or it stops being served. Only runs with the same rate and mix
+ * are comparable.
+ */
+record LoadBaseline(int rate, String mix, Map<String, LoadGenerator.EndpointResult> endpoints) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    static LoadBaseline read(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), LoadBaseline.class);
+    }
+
+    void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    boolean comparableTo(LoadBaseline other) {
+        return rate == other.rate && mix.equals(other.mix);
+    }
+
+    List<String> regressionsIn(LoadBaseline current, double p99Tolerance, double p99SlackMs,
+                               double throughputTolerance) {
+        List<String> regressions = new ArrayList<>();
+        endpoints.forEach((endpoint, baseline) -> {
+            LoadGenerator.EndpointResult result = current.endpoints().get(endpoint);
+            if (result == null) {
+                regressions.add(endpoint + ": no successful requests recorded");
+                return;
+            }
+            double allowedP99 = baseline.p99Ms() * (1 + p99Tolerance) + p99SlackMs;
+            if (result.p99Ms() > allowedP99) {
+                regressions.add(String.format("%s: p99 %.1f ms, baseline %.1f ms (allowed %.1f ms)",
+                        endpoint, result.p99Ms(), baseline.p99Ms(), allowedP99));
+            }
+            double minThroughput = baseline.throughput() * (1 - throughputTolerance);
+            if (result.throughput() < minThroughput) {
+                regressions.add(String.format("%s: %.1f req/s, baseline %.1f req/s (allowed %.1f req/s)",
+                        endpoint, result.throughput(), baseline.throughput(), minThroughput));
+            }
+        });
+        return regressions;
+    }
+}
@@ -0,0 +1,117 @@
+package com.marketplace.emarketplacebackend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Open-model load: requests start at a fixed arrival rate whatever the server's response time, each on its own
+ * virtual thread, so a slow server builds a queue instead of slowing the generator down. Latency is measured from
+ * the request's scheduled start, not from when it was actually sent, which keeps stalls in the generator or the
+ * server from hiding in the numbers (coordinated omission).
+ */
+final class LoadGenerator {
+
+    // Latencies up to 60 s at 3 significant digits
+    private static final long MAX_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final HttpClient client;
+    private final TrafficMix mix;
+
+    LoadGenerator(TrafficMix mix) {
+        this.mix = mix;
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Runs the warmup (not recorded) followed by the measured period at {@code ratePerSecond} requests per second.
+     */
+    Map<String, EndpointResult> run(int ratePerSecond, Duration warmup, Duration measured) {
+        Map<String, Recording> recordings = new ConcurrentHashMap<>();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + measured.toNanos();
+        Random random = new Random(42);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long scheduled = start + i * intervalNanos;
+                if (scheduled >= end) {
+                    break;
+                }
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                TrafficMix.LoadRequest request = mix.next(random);
+                boolean recorded = scheduled >= measureFrom;
+                executor.submit(() -> send(request, scheduled, recorded ? recordings : null));
+            }
+        } // Waits for the requests still in flight
+
+        Map<String, EndpointResult> results = new TreeMap<>();
+        double seconds = measured.toNanos() / 1e9;
+        recordings.forEach((endpoint, recording) -> results.put(endpoint, recording.result(seconds)));
+        return results;
+    }
+
+    private void send(TrafficMix.LoadRequest request, long scheduled, Map<String, Recording> recordings) {
+        boolean ok;
+        try {
+            HttpResponse<Void> response = client.send(request.request(), HttpResponse.BodyHandlers.discarding());
+            ok = response.statusCode() < 400;
+        } catch (Exception e) {
+            ok = false;
+        }
+        long latency = System.nanoTime() - scheduled;
+        if (recordings != null) {
+            Recording recording = recordings.computeIfAbsent(request.endpoint(), endpoint -> new Recording());
+            recording.latencies.recordValue(Math.min(latency, MAX_LATENCY_NANOS));
+            (ok ? recording.successes : recording.errors).increment();
+        }
+    }
+
+    private static final class Recording {
+
+        private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_NANOS, 3);
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        EndpointResult result(double seconds) {
+            Function<Double, Double> percentileMillis = p -> latencies.getValueAtPercentile(p) / 1e6;
+            return new EndpointResult(successes.sum(), errors.sum(), successes.sum() / seconds,
+                    percentileMillis.apply(50.0), percentileMillis.apply(90.0), percentileMillis.apply(99.0),
+                    percentileMillis.apply(99.9), latencies.getMaxValue() / 1e6);
+        }
+    }
+
+    /**
+     * Measured-period results of one endpoint; latencies in milliseconds.
+     */
+    record EndpointResult(long successes, long errors, double throughput,
+                          double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs) {
+
+        double errorRate() {
+            long total = successes + errors;
+            return total == 0 ? 0.0 : (double) errors / total;
+        }
+    }
+}
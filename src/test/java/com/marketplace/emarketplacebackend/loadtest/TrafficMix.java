@@ -0,0 +1,143 @@
+package com.marketplace.emarketplacebackend.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Weighted traffic mix, e.g. "browse=50,search=25,cart=15,signin=10". Each scenario produces one request per
+ * arrival, labelled with its route template so results group per endpoint:
+ * <ul>
+ *     <li>browse: product pages, product details, store listings and store details</li>
+ *     <li>search: product name search (optionally within a location) and fuzzy store location search</li>
+ *     <li>cart: add an item, or change the quantity of one, as a signed-in user</li>
+ *     <li>signin: username/password login (BCrypt check plus token issue)</li>
+ * </ul>
+ */
+final class TrafficMix {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final List<String> SEARCH_TERMS = List.of("shoe", "watch", "lamp", "pro", "kettle", "bottle");
+
+    /**
+     * What the scenarios pick from: the server, the seeded catalog and the signed-up users with their tokens.
+     */
+    record Fixture(URI baseUri, List<Long> productIds, List<Long> storeIds, List<String> locations,
+                   List<String> usernames, String password, List<String> tokens, List<Long> cartProductIds) {
+    }
+
+    record LoadRequest(String endpoint, HttpRequest request) {
+    }
+
+    private interface Scenario {
+        LoadRequest next(Random random);
+    }
+
+    private final Fixture fixture;
+    private final List<Scenario> scenarios = new ArrayList<>();
+    private final List<Integer> cumulativeWeights = new ArrayList<>();
+    private final String description;
+    private int totalWeight;
+
+    TrafficMix(String mix, Fixture fixture) {
+        this.fixture = fixture;
+        Map<String, Scenario> known = new LinkedHashMap<>();
+        known.put("browse", this::browse);
+        known.put("search", this::search);
+        known.put("cart", this::cart);
+        known.put("signin", this::signin);
+
+        for (String part : mix.split(",")) {
+            String[] nameAndWeight = part.trim().split("=");
+            Scenario scenario = known.get(nameAndWeight[0].trim());
+            if (scenario == null || nameAndWeight.length != 2) {
+                throw new IllegalArgumentException(
+                        "Unknown mix entry '" + part + "', expected name=weight with a name from " + known.keySet());
+            }
+            totalWeight += Integer.parseInt(nameAndWeight[1].trim());
+            scenarios.add(scenario);
+            cumulativeWeights.add(totalWeight);
+        }
+        this.description = mix.replace(" ", "");
+    }
+
+    String description() {
+        return description;
+    }
+
+    LoadRequest next(Random random) {
+        int pick = random.nextInt(totalWeight);
+        for (int i = 0; i < scenarios.size(); i++) {
+            if (pick < cumulativeWeights.get(i)) {
+                return scenarios.get(i).next(random);
+            }
+        }
+        throw new IllegalStateException("Weights must be positive");
+    }
+
+    private LoadRequest browse(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> get("GET /api/products", "/api/products?page=" + random.nextInt(20) + "&size=20");
+            case 1 -> get("GET /api/products/{id}", "/api/products/" + pick(random, fixture.productIds()));
+            case 2 -> get("GET /api/stores", "/api/stores?page=" + random.nextInt(5) + "&size=20");
+            default -> get("GET /api/stores/{id}", "/api/stores/" + pick(random, fixture.storeIds()));
+        };
+    }
+
+    private LoadRequest search(Random random) {
+        String term = encode(pick(random, SEARCH_TERMS));
+        return switch (random.nextInt(3)) {
+            case 0 -> get("GET /api/products/search", "/api/products/search?product_name=" + term);
+            case 1 -> get("GET /api/products/search (location)", "/api/products/search?product_name=" + term
+                    + "&location=" + encode(pick(random, fixture.locations())));
+            default -> get("GET /api/stores/search/location",
+                    "/api/stores/search/location?q=" + encode(pick(random, fixture.locations()).toLowerCase()));
+        };
+    }
+
+    // Updates only touch products every user already has in the cart, so they never miss
+    private LoadRequest cart(Random random) {
+        boolean add = random.nextBoolean();
+        Long productId = pick(random, add ? fixture.productIds() : fixture.cartProductIds());
+        String body = "{\"productId\":" + productId + ",\"quantity\":" + (1 + random.nextInt(3)) + "}";
+        HttpRequest.Builder request = builder(add ? "/api/cart/add" : "/api/cart/update")
+                .header("Authorization", "Bearer " + pick(random, fixture.tokens()))
+                .header("Content-Type", "application/json");
+        HttpRequest.BodyPublisher json = HttpRequest.BodyPublishers.ofString(body);
+        return add
+                ? new LoadRequest("POST /api/cart/add", request.POST(json).build())
+                : new LoadRequest("PUT /api/cart/update", request.PUT(json).build());
+    }
+
+    private LoadRequest signin(Random random) {
+        String body = "{\"username\":\"" + pick(random, fixture.usernames())
+                + "\",\"password\":\"" + fixture.password() + "\"}";
+        return new LoadRequest("POST /api/auth/signin", builder("/api/auth/signin")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    private LoadRequest get(String endpoint, String path) {
+        return new LoadRequest(endpoint, builder(path).GET().build());
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(fixture.baseUri().resolve(path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private static <T> T pick(Random random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,190 @@
+package com.marketplace.emarketplacebackend.outbox;
+
+import com.marketplace.emarketplacebackend.dto.ProductRequest;
+import com.marketplace.emarketplacebackend.dto.StoreRequest;
+import com.marketplace.emarketplacebackend.event.CartItemChangedEvent;
+import com.marketplace.emarketplacebackend.event.DomainEvent;
+import com.marketplace.emarketplacebackend.event.ProductChangedEvent;
+import com.marketplace.emarketplacebackend.event.StoreChangedEvent;
+import com.marketplace.emarketplacebackend.model.OutboxEvent;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.model.Store;
+import com.marketplace.emarketplacebackend.repository.OutboxEventRepository;
+import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import com.marketplace.emarketplacebackend.repository.SellerRepository;
+import com.marketplace.emarketplacebackend.service.ProductService;
+import com.marketplace.emarketplacebackend.service.StoreService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// The scheduled relay runs once at startup, then hourly; each test drains the outbox itself. (It can't be disabled:
+// the in-memory document store needs it.) Batches of two, so a few events span pages.
+@SpringBootTest(properties = {"marketplace.outbox.relay.interval-ms=3600000", "marketplace.outbox.relay.batch-size=2"})
+class OutboxRelayTests {
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private DomainEventCodec codec;
+
+    @Autowired
+    private RecordingSubscriber subscriber;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void drain() {
+        relay.relayPending();
+        subscriber.received.clear();
+        subscriber.failOnce.clear();
+    }
+
+    @Test
+    void eventsAreStoredOnlyWhenTheirTransactionCommits() {
+        Product watch = productRepository.findByNameIn(List.of("Smart Watch")).get(0);
+        long before = outboxEventRepository.count();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.updateProduct(watch.getId(), request(watch, watch.getStock() + 1));
+            status.setRollbackOnly();
+        });
+        assertEquals(before, outboxEventRepository.count());
+
+        productService.updateProduct(watch.getId(), request(watch, watch.getStock()));
+        List<OutboxEvent> pending = outboxEventRepository.findUnpublished(0L, Pageable.unpaged());
+        assertEquals(1, pending.size());
+        assertEquals(ProductChangedEvent.class.getSimpleName(), pending.get(0).getEventType());
+        assertEquals(String.valueOf(watch.getId()), pending.get(0).getAggregateId());
+
+        assertEquals(1, relay.relayPending());
+        assertNotNull(outboxEventRepository.findById(pending.get(0).getId()).orElseThrow().getPublishedAt());
+    }
+
+    // The document projection learns a new store's name and location from this event, before it has any products
+    @Test
+    void creatingAStorePublishesItsState() {
+        StoreRequest request = new StoreRequest();
+        request.setName("Outbox Outlet");
+        request.setLocation("Sapele");
+        request.setSellerId(sellerRepository.findAll().get(0).getId());
+        Store store = storeService.createStore(request);
+
+        assertEquals(1, relay.relayPending());
+        StoreChangedEvent event = (StoreChangedEvent) subscriber.received.get(0).event();
+        assertEquals(store.getId(), event.storeId());
+        assertEquals("Outbox Outlet", event.name());
+        assertEquals("Sapele", event.location());
+        assertEquals(store.getSeller().getId(), event.sellerId());
+    }
+
+    @Test
+    void failedDeliveryHoldsBackTheRestOfItsAggregateOnly() {
+        long first = store(CartItemChangedEvent.of(1L, 1L, 100L, 1));
+        store(CartItemChangedEvent.of(2L, 2L, 100L, 1));
+        long third = store(CartItemChangedEvent.of(1L, 1L, 100L, 2));
+        subscriber.failOnce.add(first);
+
+        assertEquals(1, relay.relayPending());
+        assertEquals(List.of("2:1"), subscriber.delivered());
+        assertNull(outboxEventRepository.findById(third).orElseThrow().getPublishedAt());
+
+        assertEquals(2, relay.relayPending());
+        assertEquals(List.of("2:1", "1:1", "1:2"), subscriber.delivered());
+        assertNotNull(outboxEventRepository.findById(third).orElseThrow().getPublishedAt());
+    }
+
+    @Test
+    void heldBackEventsFillingAPageDoNotStallOtherAggregates() {
+        long first = store(CartItemChangedEvent.of(1L, 1L, 100L, 1));
+        store(CartItemChangedEvent.of(1L, 1L, 100L, 2));
+        store(CartItemChangedEvent.of(1L, 1L, 100L, 3));
+        store(CartItemChangedEvent.of(2L, 2L, 100L, 1));
+        subscriber.failOnce.add(first);
+
+        assertEquals(1, relay.relayPending());
+        assertEquals(List.of("2:1"), subscriber.delivered());
+
+        assertEquals(3, relay.relayPending());
+        assertEquals(List.of("2:1", "1:1", "1:2", "1:3"), subscriber.delivered());
+    }
+
+    private long store(DomainEvent event) {
+        return outboxEventRepository.save(new OutboxEvent(event.aggregateType(), event.aggregateId(),
+                codec.typeOf(event), codec.encode(event), event.occurredAt())).getId();
+    }
+
+    private static ProductRequest request(Product product, int stock) {
+        ProductRequest request = new ProductRequest();
+        request.setName(product.getName());
+        request.setDescription(product.getDescription());
+        request.setPrice(product.getPrice());
+        request.setStock(stock);
+        request.setCategoryName("Electronics");
+        request.setStoreId(product.getStore().getId());
+        return request;
+    }
+
+    @TestConfiguration
+    static class SubscriberConfig {
+
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+
+    // Records cart events as "cartId:quantity"; fails the first delivery of the outbox ids in failOnce
+    static class RecordingSubscriber implements OutboxSubscriber {
+
+        final List<OutboxMessage> received = new CopyOnWriteArrayList<>();
+        final Set<Long> failOnce = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void deliver(OutboxMessage message) {
+            if (failOnce.remove(message.id())) {
+                throw new IllegalStateException("subscriber unavailable");
+            }
+            received.add(message);
+        }
+
+        List<String> delivered() {
+            return received.stream()
+                    .filter(message -> message.event() instanceof CartItemChangedEvent)
+                    .map(message -> (CartItemChangedEvent) message.event())
+                    .map(event -> event.cartId() + ":" + event.quantity())
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.marketplace.emarketplacebackend.repository;
+
+import com.marketplace.emarketplacebackend.model.ERole;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.model.Store;
+import com.marketplace.emarketplacebackend.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs every lookup repository query against the embedded H2 database (schema from the Flyway migrations),
+ * captures the SQL Hibernate generates and fails if H2's EXPLAIN plan reads any table without an index condition.
+ * Whole-table reads by design (findAll, the startup index loaders, the catalog export) are not listed.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.marketplace.emarketplacebackend.repository.QueryPlanTests$CapturingStatementInspector")
+class QueryPlanTests {
+
+    // Queries H2 can't serve from an index. Each must be covered by a vendor-specific index in the migrations.
+    private static final Map<String, String> KNOWN_H2_SCANS = Map.of(
+            "ProductRepository.findByNameContainingIgnoreCase", "infix LIKE; trigram index on PostgreSQL",
+            "ProductRepository.findByStore_LocationIgnoreCase", "upper(location); functional index on PostgreSQL/MySQL",
+            "ProductRepository.findByNameContainingIgnoreCaseAndStore_LocationIgnoreCase", "infix LIKE and upper(location)",
+            "StoreRepository.findByLocationIgnoreCase", "upper(location); functional index on PostgreSQL/MySQL",
+            "SellerRepository.findByNameContainingIgnoreCase", "infix LIKE; trigram index on PostgreSQL");
+
+    // Table access comments in H2 plans: "/* PUBLIC.IDX_PRODUCTS_STORE: STORE_ID = ?1 */" reads an index range,
+    // "/* PUBLIC.PRODUCTS.tableScan */" or an index without a condition reads everything.
+    private static final Pattern TABLE_ACCESS = Pattern.compile("/\\*\\s*\"?PUBLIC\"?\\.([^*:]+?)(:[^*]*)?\\s*\\*/");
+
+    // One page row, so a non-empty result also runs the count query
+    private static final Pageable PAGE = PageRequest.of(0, 1);
+
+    @Autowired private ProductRepository productRepository;
+    @Autowired private ProductStockShardRepository productStockShardRepository;
+    @Autowired private StoreRepository storeRepository;
+    @Autowired private SellerRepository sellerRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private RoleRepository roleRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CartRepository cartRepository;
+    @Autowired private CartItemRepository cartItemRepository;
+    @Autowired private StoreInventoryStatsRepository storeInventoryStatsRepository;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private DataSource dataSource;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseIndexes() {
+        // Sample arguments from the data seeded at startup
+        Store store = storeRepository.findAll(PAGE).getContent().get(0);
+        Product product = productRepository.findAll(PAGE).getContent().get(0);
+        User user = userRepository.findAll(PAGE).getContent().get(0);
+        Long storeId = store.getId();
+        Long sellerId = store.getSeller().getId(); // Read from the proxy without loading the seller
+        String location = store.getLocation();
+        String category = "Electronics";
+
+        List<QueryCase> cases = List.of(
+                new QueryCase("ProductRepository.findByName", () -> productRepository.findByName(product.getName())),
+                new QueryCase("ProductRepository.findByNameIn", () -> productRepository.findByNameIn(List.of(product.getName()))),
+                new QueryCase("ProductRepository.findByStore_Id", () -> productRepository.findByStore_Id(storeId, PAGE)),
+                new QueryCase("ProductRepository.findByStore_Seller_Id", () -> productRepository.findByStore_Seller_Id(sellerId, PAGE)),
+                new QueryCase("ProductRepository.findByCategory_Name", () -> productRepository.findByCategory_Name(category, PAGE)),
+                new QueryCase("ProductRepository.findByCategory_NameAndStore_Location",
+                        () -> productRepository.findByCategory_NameAndStore_Location(category, location, PAGE)),
+                new QueryCase("ProductRepository.findByNameContainingIgnoreCase",
+                        () -> productRepository.findByNameContainingIgnoreCase("a", PAGE)),
+                new QueryCase("ProductRepository.findByStore_LocationIgnoreCase",
+                        () -> productRepository.findByStore_LocationIgnoreCase(location, PAGE)),
+                new QueryCase("ProductRepository.findByStore_IdAndStore_LocationIgnoreCase",
+                        () -> productRepository.findByStore_IdAndStore_LocationIgnoreCase(storeId, location, PAGE)),
+                new QueryCase("ProductRepository.findByNameContainingIgnoreCaseAndStore_LocationIgnoreCase",
+                        () -> productRepository.findByNameContainingIgnoreCaseAndStore_LocationIgnoreCase("a", location, PAGE)),
+                new QueryCase("ProductRepository.findIdsByStoreIdIn", () -> productRepository.findIdsByStoreIdIn(List.of(storeId), PAGE)),
+                new QueryCase("ProductRepository.countByStoreIdIn", () -> productRepository.countByStoreIdIn(List.of(storeId))),
+                new QueryCase("ProductRepository.findStockLevel", () -> productRepository.findStockLevel(product.getId())),
+                new QueryCase("ProductRepository.existsByIdAndStore_Seller_EmailIgnoreCase",
+                        () -> productRepository.existsByIdAndStore_Seller_EmailIgnoreCase(product.getId(), "sportygear@example.com")),
+                new QueryCase("ProductRepository.findIdsWithShardedStock", () -> productRepository.findIdsWithShardedStock()),
+                new QueryCase("ProductStockShardRepository.findStockByProductId",
+                        () -> productStockShardRepository.findStockByProductId(product.getId())),
+                new QueryCase("ProductStockShardRepository.sumStock", () -> productStockShardRepository.sumStock(product.getId())),
+
+                new QueryCase("StoreRepository.findByName", () -> storeRepository.findByName(store.getName())),
+                new QueryCase("StoreRepository.findByNameIn", () -> storeRepository.findByNameIn(List.of(store.getName()))),
+                new QueryCase("StoreRepository.findBySeller_Id", () -> storeRepository.findBySeller_Id(sellerId, PAGE)),
+                new QueryCase("StoreRepository.findBySeller_IdIn", () -> storeRepository.findBySeller_IdIn(List.of(sellerId))),
+                new QueryCase("StoreRepository.findByLocationIgnoreCase", () -> storeRepository.findByLocationIgnoreCase(location, PAGE)),
+                new QueryCase("StoreRepository.findSummariesBySellerId", () -> storeRepository.findSummariesBySellerId(sellerId, PAGE)),
+                new QueryCase("StoreRepository.findSummariesByIdIn", () -> storeRepository.findSummariesByIdIn(List.of(storeId))),
+                new QueryCase("StoreRepository.findRankById", () -> storeRepository.findRankById(storeId)),
+                new QueryCase("StoreRepository.findCategoriesByStoreIdIn", () -> storeRepository.findCategoriesByStoreIdIn(List.of(storeId))),
+                new QueryCase("StoreRepository.findIdsBySellerId", () -> storeRepository.findIdsBySellerId(sellerId)),
+
+                new QueryCase("SellerRepository.findByName", () -> sellerRepository.findByName("Sporty Gear")),
+                new QueryCase("SellerRepository.findByNameIn", () -> sellerRepository.findByNameIn(List.of("Sporty Gear"))),
+                new QueryCase("SellerRepository.findByNameContainingIgnoreCase", () -> sellerRepository.findByNameContainingIgnoreCase("a", PAGE)),
+                new QueryCase("SellerRepository.existsByIdAndEmailIgnoreCase", () -> sellerRepository.existsByIdAndEmailIgnoreCase(sellerId, "sportygear@example.com")),
+                new QueryCase("CategoryRepository.findByName", () -> categoryRepository.findByName(category)),
+                new QueryCase("CategoryRepository.findByNameIn", () -> categoryRepository.findByNameIn(List.of(category, "Sports"))),
+                new QueryCase("RoleRepository.findByName", () -> roleRepository.findByName(ERole.ROLE_USER)),
+                new QueryCase("RoleRepository.findByNameIn", () -> roleRepository.findByNameIn(List.of(ERole.ROLE_USER))),
+                new QueryCase("UserRepository.findByUsername", () -> userRepository.findByUsername(user.getUsername())),
+                new QueryCase("UserRepository.findByUsernameIn", () -> userRepository.findByUsernameIn(List.of(user.getUsername()))),
+                new QueryCase("UserRepository.existsByUsername", () -> userRepository.existsByUsername(user.getUsername())),
+                new QueryCase("UserRepository.existsByEmail", () -> userRepository.existsByEmail(user.getEmail())),
+                new QueryCase("CartRepository.findByUser", () -> cartRepository.findByUser(user)),
+                new QueryCase("CartItemRepository.findByCartAndProduct", () -> cartRepository.findAll(PAGE).stream().findFirst()
+                        .ifPresent(cart -> cartItemRepository.findByCartAndProduct(cart, product))),
+                new QueryCase("StoreInventoryStatsRepository.findInventoryBySellerId",
+                        () -> storeInventoryStatsRepository.findInventoryBySellerId(sellerId)),
+                new QueryCase("OutboxEventRepository.findUnpublished", () -> outboxEventRepository.findUnpublished(0L, PAGE)));
+
+        return cases.stream().map(queryCase -> DynamicTest.dynamicTest(queryCase.name(), () -> check(queryCase)));
+    }
+
+    private void check(QueryCase queryCase) throws SQLException {
+        // Cached reference lookups would otherwise never reach the database
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        CapturingStatementInspector.clear();
+        queryCase.query().run();
+        List<String> statements = CapturingStatementInspector.captured();
+        assertFalse(statements.isEmpty(), "No SQL captured for " + queryCase.name());
+
+        List<String> scans = new ArrayList<>();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            Matcher access = TABLE_ACCESS.matcher(plan);
+            while (access.find()) {
+                boolean tableScan = access.group(1).endsWith(".tableScan");
+                boolean unconditionedIndex = access.group(2) == null;
+                if (tableScan || unconditionedIndex) {
+                    scans.add(access.group(1).trim() + " in: " + plan);
+                }
+            }
+        }
+
+        if (KNOWN_H2_SCANS.containsKey(queryCase.name())) {
+            return; // Documented above; the scan here is expected
+        }
+        if (!scans.isEmpty()) {
+            fail(queryCase.name() + " reads a whole table:\n" + String.join("\n", scans));
+        }
+    }
+
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            // Values don't change H2's plan; any bindable value will do
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setInt(i, 1);
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                StringBuilder text = new StringBuilder();
+                while (plan.next()) {
+                    text.append(plan.getString(1)).append('\n');
+                }
+                return text.toString();
+            }
+        }
+    }
+
+    private record QueryCase(String name, Runnable query) {
+    }
+
+    // Registered through hibernate.session_factory.statement_inspector; records the SELECTs Hibernate sends
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        private static final List<String> CAPTURED = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.trim().toLowerCase().startsWith("select")) {
+                synchronized (CAPTURED) {
+                    CAPTURED.add(sql);
+                }
+            }
+            return sql;
+        }
+
+        static void clear() {
+            synchronized (CAPTURED) {
+                CAPTURED.clear();
+            }
+        }
+
+        static List<String> captured() {
+            synchronized (CAPTURED) {
+                return List.copyOf(CAPTURED);
+            }
+        }
+    }
+}
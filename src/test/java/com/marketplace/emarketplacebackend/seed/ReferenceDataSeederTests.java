@@ -0,0 +1,58 @@
+package com.marketplace.emarketplacebackend.seed;
+
+import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import com.marketplace.emarketplacebackend.repository.RoleRepository;
+import com.marketplace.emarketplacebackend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ReferenceDataSeederTests {
+
+    private static final String STORED_CHECKSUM = "SELECT checksum FROM seed_state WHERE dataset = ?";
+
+    @Autowired
+    private ReferenceDataSeeder seeder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void startupRecordsTheDatasetChecksum() {
+        String checksum = jdbcTemplate.queryForObject(STORED_CHECKSUM, String.class, ReferenceDataSeeder.DATASET);
+        assertEquals(64, checksum.length());
+        assertTrue(userRepository.findByUsername("admin").isPresent());
+    }
+
+    @Test
+    void reapplyingTheDatasetCreatesNoDuplicates() throws Exception {
+        String checksum = jdbcTemplate.queryForObject(STORED_CHECKSUM, String.class, ReferenceDataSeeder.DATASET);
+        long roles = roleRepository.count();
+        long users = userRepository.count();
+        long products = productRepository.count();
+
+        // As if the file had changed since the last start
+        jdbcTemplate.update("UPDATE seed_state SET checksum = '' WHERE dataset = ?", ReferenceDataSeeder.DATASET);
+        seeder.run();
+
+        assertEquals(checksum,
+                jdbcTemplate.queryForObject(STORED_CHECKSUM, String.class, ReferenceDataSeeder.DATASET));
+        assertEquals(roles, roleRepository.count());
+        assertEquals(users, userRepository.count());
+        assertEquals(products, productRepository.count());
+    }
+}
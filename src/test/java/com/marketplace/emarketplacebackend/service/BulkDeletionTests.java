@@ -0,0 +1,171 @@
+package com.marketplace.emarketplacebackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.emarketplacebackend.dto.ProductRequest;
+import com.marketplace.emarketplacebackend.dto.StoreRequest;
+import com.marketplace.emarketplacebackend.model.Seller;
+import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import com.marketplace.emarketplacebackend.repository.SellerRepository;
+import com.marketplace.emarketplacebackend.repository.StoreRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Chunks of two, so a handful of products and stores already take several transactions each
+@SpringBootTest(properties = "marketplace.deletion.chunk-size=2")
+@AutoConfigureMockMvc
+class BulkDeletionTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BulkDeletionService bulkDeletionService;
+
+    @Autowired
+    private BulkDeletionWorker bulkDeletionWorker;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void deletesASellerWithAllItsStoresAndProductsInChunks() throws InterruptedException {
+        Long sellerId = seller("Chunked");
+        Long mainStore = store(sellerId, "Main", 5);
+        Long outlet = store(sellerId, "Outlet", 1);
+        Long emptyStore = store(sellerId, "Empty", 0);
+
+        DeletionJob job = awaitFinished(bulkDeletionService.startSellerDeletion(sellerId));
+
+        assertEquals(DeletionJob.Status.COMPLETED, job.getStatus(), job::getError);
+        assertEquals(6, job.getTotalProducts());
+        assertEquals(6, job.getDeletedProducts());
+        assertEquals(3, job.getDeletedStores());
+        assertEquals(100, job.getProgressPercent());
+        assertFalse(sellerRepository.existsById(sellerId));
+        for (Long storeId : List.of(mainStore, outlet, emptyStore)) {
+            assertFalse(storeRepository.existsById(storeId));
+        }
+        assertTrue(productRepository.findIdsByStoreIdIn(List.of(mainStore, outlet), PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void storesOpenedWhileTheSellerIsDeletedAreDeletedToo() throws InterruptedException {
+        Long sellerId = seller("Latecomer");
+        Long listed = store(sellerId, "Listed", 3);
+        // Opened after the job read the seller's stores
+        Long opened = store(sellerId, "Opened", 2);
+
+        DeletionJob job = new DeletionJob("seller", sellerId, 3, 1);
+        bulkDeletionWorker.run(job, List.of(listed), sellerId);
+        awaitFinished(job);
+
+        assertEquals(DeletionJob.Status.COMPLETED, job.getStatus(), job::getError);
+        assertEquals(2, job.getTotalStores());
+        assertEquals(5, job.getTotalProducts());
+        assertEquals(2, job.getDeletedStores());
+        assertFalse(storeRepository.existsById(opened));
+        assertFalse(sellerRepository.existsById(sellerId));
+    }
+
+    @Test
+    void jobProgressIsPolledThroughTheStatusEndpoint() throws Exception {
+        Long sellerId = seller("Polled");
+        store(sellerId, "Polled", 3);
+        String token = adminToken();
+
+        String accepted = mockMvc.perform(delete("/api/sellers/" + sellerId).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.targetType").value("seller"))
+                .andExpect(jsonPath("$.totalProducts").value(3))
+                .andReturn().getResponse().getContentAsString();
+        String jobId = objectMapper.readTree(accepted).get("id").asText();
+        awaitFinished(bulkDeletionService.getJob(jobId));
+
+        mockMvc.perform(get("/api/deletion-jobs/" + jobId).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.deletedProducts").value(3))
+                .andExpect(jsonPath("$.deletedStores").value(1))
+                .andExpect(jsonPath("$.progressPercent").value(100));
+        mockMvc.perform(get("/api/deletion-jobs/" + jobId)).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/deletion-jobs/no-such-job").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isNotFound());
+    }
+
+    private DeletionJob awaitFinished(DeletionJob job) throws InterruptedException {
+        for (int attempt = 0; attempt < 200 && !job.isFinished(); attempt++) {
+            Thread.sleep(50);
+        }
+        assertTrue(job.isFinished(), "deletion job still " + job.getStatus());
+        return job;
+    }
+
+    private Long seller(String name) {
+        String unique = name + System.nanoTime();
+        return sellerRepository.save(new Seller(unique, unique + "@example.com")).getId();
+    }
+
+    private Long store(Long sellerId, String name, int products) {
+        StoreRequest request = new StoreRequest();
+        request.setName(name);
+        request.setLocation("Lagos, Nigeria");
+        request.setSellerId(sellerId);
+        Long storeId = storeService.createStore(request).getId();
+        for (int i = 0; i < products; i++) {
+            ProductRequest product = new ProductRequest();
+            product.setName(name + " item " + i);
+            product.setDescription("To be deleted");
+            product.setPrice(10.0);
+            product.setStock(5);
+            product.setCategoryName("Electronics");
+            product.setStoreId(storeId);
+            productService.createProduct(product);
+        }
+        return storeId;
+    }
+
+    private String adminToken() throws Exception {
+        String username = "admin" + System.nanoTime() % 1_000_000;
+        mockMvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\","
+                                + "\"password\":\"secret123\",\"role\":[\"admin\"]}"))
+                .andExpect(status().isOk());
+        String login = mockMvc.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"secret123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + objectMapper.readTree(login).get("token").asText();
+    }
+}
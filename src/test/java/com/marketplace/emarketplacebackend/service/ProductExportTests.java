@@ -0,0 +1,196 @@
+package com.marketplace.emarketplacebackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.emarketplacebackend.dto.StoreRequest;
+import com.marketplace.emarketplacebackend.model.Category;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.model.Seller;
+import com.marketplace.emarketplacebackend.model.Store;
+import com.marketplace.emarketplacebackend.repository.CategoryRepository;
+import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import com.marketplace.emarketplacebackend.repository.SellerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Adds 2,500 products to the seeded catalog, so an export crosses the service's 1,000-row clear interval twice
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductExportTests {
+
+    private static final int EXTRA_PRODUCTS = 2_500;
+    private static final int CLEAR_INTERVAL = 1_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private List<Long> extraIds;
+    private String authorization;
+
+    @BeforeEach
+    void seedProducts() throws Exception {
+        authorization = token();
+        String name = "Exporter " + System.nanoTime();
+        Seller seller = sellerRepository.save(new Seller(name, System.nanoTime() + ".export@example.com"));
+        StoreRequest request = new StoreRequest();
+        request.setName(name);
+        request.setLocation("Warri");
+        request.setSellerId(seller.getId());
+        Long storeId = storeService.createStore(request).getId();
+
+        extraIds = transactionTemplate.execute(status -> {
+            Category category = categoryRepository.findByName("Sports").orElseThrow();
+            Store store = entityManager.getReference(Store.class, storeId);
+            List<Product> products = new ArrayList<>(EXTRA_PRODUCTS);
+            for (int i = 0; i < EXTRA_PRODUCTS; i++) {
+                products.add(new Product("Export item " + i, "Exported", 5.0, 1, store, category));
+            }
+            return productRepository.saveAll(products).stream().map(Product::getId).toList();
+        });
+    }
+
+    @AfterEach
+    void deleteProducts() {
+        transactionTemplate.executeWithoutResult(status -> productRepository.deleteAllByIdInBatch(extraIds));
+    }
+
+    @Test
+    void streamsEveryProductAsOneNdjsonLine() throws Exception {
+        MockHttpServletResponse response = export(null);
+
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, response.getContentType());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        String[] lines = response.getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(productRepository.count(), lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":"), lines[0]);
+        assertEquals("Export item 2499", objectMapper.readTree(lines[lines.length - 1]).get("name").asText());
+    }
+
+    @Test
+    void compressesOnlyWhenGzipIsAcceptable() throws Exception {
+        String plain = export(null).getContentAsString(StandardCharsets.UTF_8);
+
+        for (String accepted : List.of("gzip", "deflate, GZIP;q=0.5", "br, *;q=0.1")) {
+            MockHttpServletResponse response = export(accepted);
+            assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING), accepted);
+            assertEquals(plain, gunzip(response.getContentAsByteArray()), accepted);
+        }
+        for (String refused : List.of("gzip;q=0", "identity, gzip; q=0.0", "*, gzip;q=0", "deflate")) {
+            MockHttpServletResponse response = export(refused);
+            assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING), refused);
+            assertEquals(plain, response.getContentAsString(StandardCharsets.UTF_8), refused);
+        }
+    }
+
+    // Without the periodic clear every exported product (and its category) would stay in the persistence context
+    @Test
+    void persistenceContextStaysWithinOneBatch() throws Exception {
+        long categories = categoryRepository.count();
+        List<Integer> managedAtFlush = new ArrayList<>();
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+
+            @Override
+            public void flush() {
+                managedAtFlush.add(entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+            }
+        };
+
+        long written = productExportService.writeProductsNdjson(out);
+
+        assertEquals(productRepository.count(), written);
+        assertTrue(managedAtFlush.size() >= EXTRA_PRODUCTS / CLEAR_INTERVAL, managedAtFlush::toString);
+        int peak = managedAtFlush.stream().mapToInt(Integer::intValue).max().orElseThrow();
+        assertTrue(peak <= CLEAR_INTERVAL + categories, "Peak of " + peak + " managed entities");
+    }
+
+    // The export runs as an async task: start the request, then dispatch its (empty) result
+    private MockHttpServletResponse export(String acceptEncoding) throws Exception {
+        MockHttpServletRequestBuilder builder =
+                get("/api/export/products").header(HttpHeaders.AUTHORIZATION, authorization);
+        if (acceptEncoding != null) {
+            builder.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MvcResult started = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn().getResponse();
+    }
+
+    private static String gunzip(byte[] body) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // Signs up a customer and returns its Authorization header value
+    private String token() throws Exception {
+        String username = "exp" + System.nanoTime() % 1_000_000_000;
+        mockMvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\","
+                                + "\"password\":\"secret123\"}"))
+                .andExpect(status().isOk());
+        String login = mockMvc.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"secret123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + objectMapper.readTree(login).get("token").asText();
+    }
+}
@@ -0,0 +1,163 @@
+package com.marketplace.emarketplacebackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.emarketplacebackend.dto.ProductRequest;
+import com.marketplace.emarketplacebackend.dto.SellerDashboard;
+import com.marketplace.emarketplacebackend.dto.StoreRequest;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.model.Seller;
+import com.marketplace.emarketplacebackend.repository.SellerRepository;
+import com.marketplace.emarketplacebackend.repository.StoreInventoryStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SellerDashboardTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SellerDashboardService sellerDashboardService;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private StoreInventoryStatsRepository statsRepository;
+
+    private Long sellerId;
+    private Long mainStore;
+    private Long outlet;
+    private String email;
+
+    @BeforeEach
+    void createSeller() {
+        String name = "dash" + System.nanoTime() % 1_000_000_000;
+        email = name + "@example.com";
+        sellerId = sellerRepository.save(new Seller(name, email)).getId();
+        mainStore = store("Main");
+        outlet = store("Outlet");
+    }
+
+    @Test
+    void productWritesKeepTheCountersInStep() {
+        Product shoes = product(mainStore, "Shoes", 19.99, 3);
+        product(mainStore, "Socks", 5.5, 4);
+        product(outlet, "Cap", 12.0, 1);
+        assertDashboard(3, 8, "93.97");
+
+        productService.updateProduct(shoes.getId(), request(outlet, "Shoes", 20.0, 5));
+        assertDashboard(3, 10, "134.00");
+        SellerDashboard dashboard = sellerDashboardService.getDashboard(sellerId);
+        assertEquals(List.of(1L, 2L), dashboard.stores().stream().map(store -> store.productCount()).sorted().toList());
+
+        productService.deleteProduct(shoes.getId());
+        assertDashboard(2, 5, "34.00");
+    }
+
+    @Test
+    void backfillRebuildsMissingRowsFromTheProducts() {
+        product(mainStore, "Shoes", 19.99, 3);
+        product(outlet, "Cap", 12.0, 1);
+        SellerDashboard before = sellerDashboardService.getDashboard(sellerId);
+
+        statsRepository.deleteAllByIdInBatch(List.of(mainStore, outlet));
+        assertEquals(0, sellerDashboardService.getDashboard(sellerId).storeCount());
+
+        sellerDashboardService.backfill();
+        SellerDashboard after = sellerDashboardService.getDashboard(sellerId);
+        assertEquals(before.storeCount(), after.storeCount());
+        assertEquals(before.productCount(), after.productCount());
+        assertEquals(before.stockUnits(), after.stockUnits());
+        assertEquals(0, before.inventoryValue().compareTo(after.inventoryValue()));
+    }
+
+    @Test
+    void sellersOnlySeeTheirOwnDashboard() throws Exception {
+        product(mainStore, "Shoes", 19.99, 3);
+        String owner = token(email, "seller");
+        String otherSeller = token("other" + System.nanoTime() % 1_000_000 + "@example.com", "seller");
+        String admin = token("admin" + System.nanoTime() % 1_000_000 + "@example.com", "admin");
+        String dashboard = "/api/sellers/" + sellerId + "/dashboard";
+
+        mockMvc.perform(get(dashboard).header(HttpHeaders.AUTHORIZATION, owner))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sellerId").value(sellerId))
+                .andExpect(jsonPath("$.productCount").value(1))
+                .andExpect(jsonPath("$.stockUnits").value(3));
+        mockMvc.perform(get(dashboard).header(HttpHeaders.AUTHORIZATION, admin)).andExpect(status().isOk());
+        mockMvc.perform(get(dashboard).header(HttpHeaders.AUTHORIZATION, otherSeller)).andExpect(status().isForbidden());
+        mockMvc.perform(get(dashboard)).andExpect(status().isUnauthorized());
+    }
+
+    private void assertDashboard(long products, long units, String value) {
+        SellerDashboard dashboard = sellerDashboardService.getDashboard(sellerId);
+        assertEquals(2, dashboard.storeCount());
+        assertEquals(products, dashboard.productCount());
+        assertEquals(units, dashboard.stockUnits());
+        assertEquals(0, new BigDecimal(value).compareTo(dashboard.inventoryValue()), dashboard::toString);
+    }
+
+    private Long store(String name) {
+        StoreRequest request = new StoreRequest();
+        request.setName(name);
+        request.setLocation("Abuja, Nigeria");
+        request.setSellerId(sellerId);
+        return storeService.createStore(request).getId();
+    }
+
+    private Product product(Long storeId, String name, double price, int stock) {
+        return productService.createProduct(request(storeId, name, price, stock));
+    }
+
+    private static ProductRequest request(Long storeId, String name, double price, int stock) {
+        ProductRequest request = new ProductRequest();
+        request.setName(name + " " + System.nanoTime());
+        request.setDescription("Dashboard item");
+        request.setPrice(price);
+        request.setStock(stock);
+        request.setCategoryName("Electronics");
+        request.setStoreId(storeId);
+        return request;
+    }
+
+    // Signs up a user with the given email and role and returns its Authorization header value
+    private String token(String email, String role) throws Exception {
+        String username = email.substring(0, Math.min(20, email.indexOf('@')));
+        mockMvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"email\":\"" + email + "\","
+                                + "\"password\":\"secret123\",\"role\":[\"" + role + "\"]}"))
+                .andExpect(status().isOk());
+        String login = mockMvc.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"secret123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + objectMapper.readTree(login).get("token").asText();
+    }
+}
@@ -0,0 +1,146 @@
+package com.marketplace.emarketplacebackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.emarketplacebackend.dto.ProductRequest;
+import com.marketplace.emarketplacebackend.dto.StoreRequest;
+import com.marketplace.emarketplacebackend.model.Seller;
+import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import com.marketplace.emarketplacebackend.repository.SellerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Who may move a product's stock through the API, and how bad arguments are answered
+@SpringBootTest
+@AutoConfigureMockMvc
+class StockEndpointTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private String email;
+    private Long productId;
+
+    @BeforeEach
+    void createProduct() {
+        String name = "stk" + System.nanoTime() % 1_000_000_000;
+        email = name + "@example.com";
+        Long sellerId = sellerRepository.save(new Seller(name, email)).getId();
+        StoreRequest store = new StoreRequest();
+        store.setName("Stock Room");
+        store.setLocation("Warri");
+        store.setSellerId(sellerId);
+        ProductRequest product = new ProductRequest();
+        product.setName("Stocked Item " + System.nanoTime());
+        product.setDescription("Stock endpoint test");
+        product.setPrice(10.0);
+        product.setStock(10);
+        product.setCategoryName("Electronics");
+        product.setStoreId(storeService.createStore(store).getId());
+        productId = productService.createProduct(product).getId();
+    }
+
+    @AfterEach
+    void deleteProduct() {
+        productService.deleteProduct(productId);
+    }
+
+    @Test
+    void onlyAdminsTakeStockDirectly() throws Exception {
+        String decrement = "/api/products/" + productId + "/stock/decrement?quantity=10";
+        mockMvc.perform(post(decrement).header(HttpHeaders.AUTHORIZATION, token(null, "user")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post(decrement).header(HttpHeaders.AUTHORIZATION, token(email, "seller")))
+                .andExpect(status().isForbidden());
+        assertEquals(10, stock());
+
+        mockMvc.perform(post(decrement).header(HttpHeaders.AUTHORIZATION, token(null, "admin")))
+                .andExpect(status().isNoContent());
+        assertEquals(0, stock());
+    }
+
+    @Test
+    void sellersOnlyRestockAndShardTheirOwnProducts() throws Exception {
+        String increment = "/api/products/" + productId + "/stock/increment?quantity=5";
+        String shards = "/api/products/" + productId + "/stock/shards?count=0";
+        String otherSeller = token(null, "seller");
+        String owner = token(email, "seller");
+
+        mockMvc.perform(post(increment).header(HttpHeaders.AUTHORIZATION, otherSeller))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(put(shards).header(HttpHeaders.AUTHORIZATION, otherSeller))
+                .andExpect(status().isForbidden());
+        assertEquals(10, stock());
+
+        mockMvc.perform(post(increment).header(HttpHeaders.AUTHORIZATION, owner))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(put(shards).header(HttpHeaders.AUTHORIZATION, owner))
+                .andExpect(status().isNoContent());
+        assertEquals(15, stock());
+    }
+
+    @Test
+    void outOfRangeArgumentsAreABadRequest() throws Exception {
+        String admin = token(null, "admin");
+        mockMvc.perform(post("/api/products/" + productId + "/stock/decrement?quantity=0")
+                        .header(HttpHeaders.AUTHORIZATION, admin))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Quantity must be greater than zero."));
+        mockMvc.perform(post("/api/products/" + productId + "/stock/increment?quantity=-3")
+                        .header(HttpHeaders.AUTHORIZATION, admin))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/api/products/" + productId + "/stock/shards?count=-1")
+                        .header(HttpHeaders.AUTHORIZATION, admin))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Shard count must be between 0 and 64."));
+        assertEquals(10, stock());
+    }
+
+    private int stock() {
+        return productRepository.findStockLevel(productId).orElseThrow().stock();
+    }
+
+    // Signs up a user with the given role (and email, or a generated one) and returns its Authorization header value
+    private String token(String email, String role) throws Exception {
+        if (email == null) {
+            email = role.substring(0, 3) + System.nanoTime() % 1_000_000_000 + "@example.com";
+        }
+        String username = email.substring(0, Math.min(20, email.indexOf('@')));
+        mockMvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"email\":\"" + email + "\","
+                                + "\"password\":\"secret123\",\"role\":[\"" + role + "\"]}"))
+                .andExpect(status().isOk());
+        String login = mockMvc.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"secret123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + objectMapper.readTree(login).get("token").asText();
+    }
+}
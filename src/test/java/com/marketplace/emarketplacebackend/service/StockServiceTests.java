@@ -0,0 +1,228 @@
+package com.marketplace.emarketplacebackend.service;
+
+import com.marketplace.emarketplacebackend.dto.ProductRequest;
+import com.marketplace.emarketplacebackend.dto.StoreInventory;
+import com.marketplace.emarketplacebackend.exception.InsufficientStockException;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.model.Store;
+import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import com.marketplace.emarketplacebackend.repository.ProductStockShardRepository;
+import com.marketplace.emarketplacebackend.repository.StoreInventoryStatsRepository;
+import com.marketplace.emarketplacebackend.repository.StoreRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The scheduled sync runs once at startup; the tests sync explicitly
+@SpringBootTest(properties = "marketplace.stock.shards.sync-interval-ms=3600000")
+class StockServiceTests {
+
+    private static final int BUYERS = 8;
+    private static final int ATTEMPTS_PER_BUYER = 20;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductStockShardRepository shardRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private StoreInventoryStatsRepository statsRepository;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void deleteCreatedProducts() {
+        created.forEach(productService::deleteProduct);
+    }
+
+    @Test
+    void concurrentDecrementsOfOneRowNeverOversell() throws InterruptedException {
+        long id = product(50);
+
+        assertEquals(50, buy(id));
+        assertEquals(0, stock(id));
+        assertThrows(InsufficientStockException.class, () -> stockService.decrement(id, 1));
+    }
+
+    @Test
+    void concurrentDecrementsOfShardsNeverOversell() throws InterruptedException {
+        long id = product(50);
+        stockService.shard(id, 8);
+        assertEquals(8, shardRepository.findStockByProductId(id).size());
+
+        assertEquals(50, buy(id));
+        assertEquals(0, shardRepository.sumStock(id));
+
+        stockService.syncShardedStock();
+        assertEquals(0, stock(id));
+    }
+
+    @Test
+    void decrementLargerThanAnyShardTakesFromTheTotal() {
+        long id = product(10);
+        stockService.shard(id, 4); // 3, 3, 2, 2
+
+        stockService.decrement(id, 7);
+        assertEquals(3, shardRepository.sumStock(id));
+        assertThrows(InsufficientStockException.class, () -> stockService.decrement(id, 4));
+        assertEquals(3, shardRepository.sumStock(id));
+    }
+
+    @Test
+    void unshardingMovesTheTotalBackIntoTheProductRow() {
+        long id = product(10);
+        stockService.shard(id, 4);
+        stockService.decrement(id, 1);
+        stockService.release(id, 3);
+
+        stockService.shard(id, 0);
+        assertTrue(shardRepository.findStockByProductId(id).isEmpty());
+        assertEquals(12, stock(id));
+        stockService.decrement(id, 12);
+        assertEquals(0, stock(id));
+    }
+
+    @Test
+    void editsDuringConcurrentDecrementsKeepSoldUnitsSold() throws InterruptedException {
+        long id = product(BUYERS * ATTEMPTS_PER_BUYER + 40);
+        stockService.shard(id, 4);
+
+        // Description-only edits, sending back the (stale) stock the client last read
+        int bought = buy(id, () -> {
+            for (int edit = 0; edit < 10; edit++) {
+                productService.updateProduct(id, request(id, "Edit " + edit, stock(id)));
+            }
+        });
+
+        assertEquals(BUYERS * ATTEMPTS_PER_BUYER, bought);
+        assertEquals(40, shardRepository.sumStock(id));
+        stockService.syncShardedStock();
+        assertEquals(40, stock(id));
+        assertInventoryMatchesProducts(id);
+    }
+
+    @Test
+    void editsDuringConcurrentRowDecrementsKeepTheDashboardInStep() throws InterruptedException {
+        long id = product(BUYERS * ATTEMPTS_PER_BUYER + 40);
+
+        buy(id, () -> {
+            for (int edit = 0; edit < 10; edit++) {
+                productService.updateProduct(id, request(id, "Edit " + edit, stock(id)));
+            }
+        });
+
+        assertInventoryMatchesProducts(id);
+    }
+
+    @Test
+    void stockEditReplacesTheShardedTotal() {
+        long id = product(10);
+        stockService.shard(id, 4);
+        stockService.decrement(id, 3);
+
+        productService.updateProduct(id, request(id, "Restocked", 25));
+        assertEquals(25, shardRepository.sumStock(id));
+        assertEquals(25, stock(id));
+        assertInventoryMatchesProducts(id);
+    }
+
+    private int buy(long id) throws InterruptedException {
+        return buy(id, () -> {
+        });
+    }
+
+    // BUYERS threads each try to buy one unit ATTEMPTS_PER_BUYER times while the test thread runs concurrently;
+    // returns how many purchases succeeded
+    private int buy(long id, Runnable concurrently) throws InterruptedException {
+        AtomicInteger bought = new AtomicInteger();
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(BUYERS)) {
+            for (int buyer = 0; buyer < BUYERS; buyer++) {
+                executor.submit(() -> {
+                    for (int attempt = 0; attempt < ATTEMPTS_PER_BUYER; attempt++) {
+                        try {
+                            stockService.decrement(id, 1);
+                            bought.incrementAndGet();
+                        } catch (InsufficientStockException e) {
+                            // Sold out
+                        } catch (RuntimeException e) {
+                            errors.add(e);
+                        }
+                    }
+                });
+            }
+            concurrently.run();
+        }
+        assertTrue(errors.isEmpty(), () -> "Decrements failed: " + errors);
+        return bought.get();
+    }
+
+    private long product(int stock) {
+        Store store = storeRepository.findAll(PageRequest.of(0, 1)).getContent().get(0);
+        ProductRequest request = new ProductRequest();
+        request.setName("Flash Sale Item " + System.nanoTime());
+        request.setDescription("Limited stock");
+        request.setPrice(25.0);
+        request.setStock(stock);
+        request.setCategoryName("Electronics");
+        request.setStoreId(store.getId());
+        long id = productService.createProduct(request).getId();
+        created.add(id);
+        return id;
+    }
+
+    private ProductRequest request(long id, String description, int stock) {
+        Product product = productService.getProductById(id);
+        ProductRequest request = new ProductRequest();
+        request.setName(product.getName());
+        request.setDescription(description);
+        request.setPrice(product.getPrice());
+        request.setStock(stock);
+        request.setCategoryName("Electronics");
+        request.setStoreId(productRepository.findStockLevel(id).orElseThrow().storeId());
+        return request;
+    }
+
+    // The store's dashboard row must equal what its products add up to
+    private void assertInventoryMatchesProducts(long id) {
+        Long storeId = productRepository.findStockLevel(id).orElseThrow().storeId();
+        Store store = storeRepository.findById(storeId).orElseThrow();
+        long units = productRepository.findByStore_Id(storeId, Pageable.unpaged()).stream()
+                .mapToLong(Product::getStock)
+                .sum();
+        StoreInventory inventory = statsRepository.findInventoryBySellerId(store.getSeller().getId()).stream()
+                .filter(row -> row.storeId().equals(storeId))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(units, inventory.stockUnits());
+    }
+
+    private int stock(long id) {
+        return productRepository.findStockLevel(id).orElseThrow().stock();
+    }
+}
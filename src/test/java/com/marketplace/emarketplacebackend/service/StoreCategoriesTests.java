@@ -0,0 +1,131 @@
+package com.marketplace.emarketplacebackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.emarketplacebackend.model.Seller;
+import com.marketplace.emarketplacebackend.repository.SellerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Categories are stored in store_categories but keep their original wire format, a comma-separated string
+@SpringBootTest
+@AutoConfigureMockMvc
+class StoreCategoriesTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    private Long sellerId;
+    private String location;
+    private String admin;
+
+    @BeforeEach
+    void createSeller() throws Exception {
+        String name = "cat" + System.nanoTime() % 1_000_000_000;
+        sellerId = sellerRepository.save(new Seller(name, name + "@example.com")).getId();
+        location = "Categoryville" + System.nanoTime();
+        admin = token("adm" + System.nanoTime() % 1_000_000_000 + "@example.com");
+    }
+
+    @Test
+    void categoriesAreReadAndWrittenAsACommaSeparatedString() throws Exception {
+        long id = createStore("Gadgets", "Sports,  Electronics ,");
+
+        mockMvc.perform(get("/api/stores/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories").value("Electronics, Sports"));
+        mockMvc.perform(get("/api/stores/" + id + "?fields=name,categories"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories").value("Electronics, Sports"));
+        mockMvc.perform(get("/api/stores/stores/" + sellerId))
+                .andExpect(jsonPath("$.content[0].categories").value("Electronics, Sports"));
+
+        mockMvc.perform(put("/api/stores/" + id).header(HttpHeaders.AUTHORIZATION, admin)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(storeJson("Gadgets", null)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories").doesNotExist());
+    }
+
+    // Categories come from the reference data; a typo must not create a new one
+    @Test
+    void unknownCategoriesAreABadRequest() throws Exception {
+        mockMvc.perform(post("/api/stores").header(HttpHeaders.AUTHORIZATION, admin)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(storeJson("Nursery", "Electronics, Garden, Pets")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown categories: Garden, Pets"));
+        mockMvc.perform(get("/api/stores/filter?location=" + location))
+                .andExpect(jsonPath("$.content").isEmpty());
+    }
+
+    @Test
+    void filterCombinesCategoriesWithAllOrAny() throws Exception {
+        long both = createStore("Both", "Electronics, Sports");
+        long sports = createStore("Sports Only", "Sports");
+        createStore("Nothing", null);
+        String filter = "/api/stores/filter?location=" + location + "&category=Electronics&category=Sports";
+
+        mockMvc.perform(get(filter))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(both))
+                .andExpect(jsonPath("$.content[0].categories").value("Electronics, Sports"));
+        mockMvc.perform(get(filter + "&match=any"))
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(both))
+                .andExpect(jsonPath("$.content[1].id").value(sports))
+                .andExpect(jsonPath("$.content[1].categories").value("Sports"));
+        mockMvc.perform(get("/api/stores/filter?location=" + location))
+                .andExpect(jsonPath("$.totalElements").value(3));
+    }
+
+    private long createStore(String name, String categories) throws Exception {
+        String body = mockMvc.perform(post("/api/stores").header(HttpHeaders.AUTHORIZATION, admin)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(storeJson(name, categories)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private String storeJson(String name, String categories) throws Exception {
+        StoreJson store = new StoreJson(name, location, categories, sellerId);
+        return objectMapper.writeValueAsString(store);
+    }
+
+    // Signs up an admin with the given email and returns its Authorization header value
+    private String token(String email) throws Exception {
+        String username = email.substring(0, Math.min(20, email.indexOf('@')));
+        mockMvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"email\":\"" + email + "\","
+                                + "\"password\":\"secret123\",\"role\":[\"admin\"]}"))
+                .andExpect(status().isOk());
+        String login = mockMvc.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"secret123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + objectMapper.readTree(login).get("token").asText();
+    }
+
+    // The request body as an old client sends it
+    private record StoreJson(String name, String location, String categories, Long sellerId) {
+    }
+}
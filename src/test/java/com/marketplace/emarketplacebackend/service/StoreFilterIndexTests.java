@@ -0,0 +1,93 @@
+package com.marketplace.emarketplacebackend.service;
+
+import com.marketplace.emarketplacebackend.model.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StoreFilterIndexTests {
+
+    private static final Category ELECTRONICS = new Category(1L, "Electronics");
+    private static final Category SPORTS = new Category(2L, "Sports");
+    private static final Pageable ALL = PageRequest.of(0, 20);
+
+    // Fed through update() only, so the repository is never used
+    private final StoreFilterIndex index = new StoreFilterIndex(null);
+
+    @BeforeEach
+    void indexStores() {
+        index.update(1L, "Warri", List.of(ELECTRONICS, SPORTS));
+        index.update(2L, "Warri", List.of(SPORTS));
+        index.update(3L, "Lagos", List.of(ELECTRONICS));
+        index.update(4L, "Lagos", List.of());
+    }
+
+    @Test
+    void emptyCriteriaMatchEveryStore() {
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(List.of(), List.of(), true));
+    }
+
+    @Test
+    void locationsAreOredAndNormalized() {
+        assertEquals(List.of(1L, 2L), ids(List.of(" WARRI "), List.of(), true));
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(List.of("Warri", "lagos"), List.of(), true));
+        assertEquals(List.of(), ids(List.of("Kano"), List.of(), true));
+    }
+
+    @Test
+    void matchAllAndsTheCategories() {
+        assertEquals(List.of(1L), ids(List.of(), List.of("Electronics", "sports"), true));
+        assertEquals(List.of(1L, 3L), ids(List.of(), List.of("Electronics"), true));
+        // A category nobody sells empties the result
+        assertEquals(List.of(), ids(List.of(), List.of("Electronics", "Garden"), true));
+    }
+
+    @Test
+    void matchAnyOrsTheCategories() {
+        assertEquals(List.of(1L, 2L, 3L), ids(List.of(), List.of("Electronics", "Sports"), false));
+        assertEquals(List.of(1L, 3L), ids(List.of(), List.of("Electronics", "Garden"), false));
+        assertEquals(List.of(), ids(List.of(), List.of("Garden"), false));
+    }
+
+    @Test
+    void locationsAndCategoriesAreAnded() {
+        assertEquals(List.of(3L), ids(List.of("Lagos"), List.of("Electronics"), true));
+        assertEquals(List.of(1L, 2L), ids(List.of("Warri"), List.of("Electronics", "Sports"), false));
+        assertEquals(List.of(1L, 3L), ids(List.of("Warri", "Lagos"), List.of("Electronics"), false));
+    }
+
+    @Test
+    void pagesInStoreIdOrder() {
+        Page<Long> page = index.filter(List.of(), List.of(), true, PageRequest.of(1, 3));
+        assertEquals(List.of(4L), page.getContent());
+        assertEquals(4, page.getTotalElements());
+
+        page = index.filter(List.of(), List.of("Sports", "Electronics"), false, PageRequest.of(5, 3));
+        assertEquals(List.of(), page.getContent());
+        assertEquals(3, page.getTotalElements());
+    }
+
+    @Test
+    void reindexingAndRemovalClearTheOldBits() {
+        index.update(2L, "Lagos", List.of(ELECTRONICS)); // Moved and now sells Electronics only
+        assertEquals(List.of(1L), ids(List.of("Warri"), List.of(), true));
+        assertEquals(List.of(1L), ids(List.of(), List.of("Sports"), true));
+        assertEquals(List.of(2L, 3L), ids(List.of("Lagos"), List.of("Electronics"), true));
+
+        index.remove(1L);
+        index.remove(1L); // Already gone
+        assertEquals(List.of(), ids(List.of("Warri"), List.of(), true));
+        assertEquals(List.of(), ids(List.of(), List.of("Sports"), false));
+        assertEquals(List.of(2L, 3L, 4L), ids(List.of(), List.of(), true));
+    }
+
+    private List<Long> ids(List<String> locations, List<String> categories, boolean matchAll) {
+        return index.filter(locations, categories, matchAll, ALL).getContent();
+    }
+}
@@ -0,0 +1,77 @@
+package com.marketplace.emarketplacebackend.service;
+
+import com.marketplace.emarketplacebackend.dto.StoreRank;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StoreLeaderboardTests {
+
+    // Fed through update() only, so the repository is never used
+    private final StoreLeaderboard leaderboard = new StoreLeaderboard(null);
+
+    @Test
+    void ranksByAverageThenRatingCountThenStoreId() {
+        leaderboard.update(rank(1L, "Lagos", 4.5, 2L));
+        leaderboard.update(rank(2L, "Lagos", 4.5, 10L));
+        leaderboard.update(rank(3L, "Abuja", 5.0, 1L));
+        leaderboard.update(rank(4L, "Lagos", 4.5, 2L));
+        leaderboard.update(rank(5L, "Lagos", 3.0, 50L));
+        leaderboard.update(rank(6L, "Lagos", null, 0L)); // Unrated stores aren't ranked
+
+        assertEquals(List.of(3L, 2L, 1L, 4L, 5L), ids(leaderboard.top(null, 10)));
+        assertEquals(List.of(2L, 1L, 4L, 5L), ids(leaderboard.top("  LAGOS ", 10)));
+        assertEquals(List.of(3L, 2L), ids(leaderboard.top(null, 2)));
+        assertEquals(List.of(), leaderboard.top("Kano", 10));
+    }
+
+    @Test
+    void newRatingsMoveAStoreAndStaleOnesAreIgnored() {
+        leaderboard.update(rank(1L, "Lagos", 4.0, 1L));
+        leaderboard.update(rank(2L, "Lagos", 3.0, 1L));
+
+        leaderboard.update(rank(2L, "Lagos", 4.5, 2L));
+        assertEquals(List.of(2L, 1L), ids(leaderboard.top(null, 10)));
+
+        // Committed earlier but delivered late: fewer ratings than the entry already ranked
+        leaderboard.update(rank(2L, "Lagos", 3.0, 1L));
+        assertEquals(List.of(2L, 1L), ids(leaderboard.top(null, 10)));
+        assertEquals(4.5, leaderboard.top(null, 1).get(0).averageRating());
+    }
+
+    // A re-rating keeps the count, so only the rating version tells the newer of two late updates
+    @Test
+    void reRatingsDeliveredOutOfOrderKeepTheNewestAverage() {
+        leaderboard.update(new StoreRank(1L, "Store 1", "Lagos", 4.0, 2L, 5L));
+        leaderboard.update(new StoreRank(1L, "Store 1", "Lagos", 3.5, 2L, 4L));
+
+        assertEquals(4.0, leaderboard.top("Lagos", 1).get(0).averageRating());
+        assertEquals(1, leaderboard.top(null, 10).size());
+    }
+
+    @Test
+    void locationsWithoutRatedStoresAreDropped() {
+        leaderboard.update(rank(1L, "Lagos", 4.0, 1L));
+        leaderboard.update(rank(2L, "Warri", 4.0, 1L));
+        assertEquals(2, leaderboard.locationCount());
+
+        leaderboard.update(rank(1L, "Abuja", 4.0, 1L)); // Moved
+        leaderboard.remove(2L);
+
+        assertEquals(1, leaderboard.locationCount());
+        assertEquals(List.of(), leaderboard.top("Lagos", 10));
+        assertEquals(List.of(1L), ids(leaderboard.top("Abuja", 10)));
+        assertEquals(List.of(1L), ids(leaderboard.top(null, 10)));
+    }
+
+    // Each rating here is a new one, so the rating version follows the count
+    private static StoreRank rank(Long storeId, String location, Double average, Long ratings) {
+        return new StoreRank(storeId, "Store " + storeId, location, average, ratings, ratings);
+    }
+
+    private static List<Long> ids(List<StoreRank> ranks) {
+        return ranks.stream().map(StoreRank::storeId).toList();
+    }
+}
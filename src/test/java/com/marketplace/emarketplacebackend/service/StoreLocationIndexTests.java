@@ -0,0 +1,83 @@
+package com.marketplace.emarketplacebackend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StoreLocationIndexTests {
+
+    // Filled through update() only, so the repository is never used
+    private final StoreLocationIndex index = new StoreLocationIndex(null);
+
+    @BeforeEach
+    void indexLocations() {
+        index.update(1L, "Lagos, Nigeria");
+        index.update(2L, "lagos nigeria");
+        index.update(3L, "Abuja, Nigeria");
+        index.update(4L, "Warri, Nigeria");
+        index.update(5L, "Port Harcourt, Nigeria");
+        index.update(6L, "Accra, Ghana");
+    }
+
+    @Test
+    void normalizesCasePunctuationAndSpacing() {
+        assertEquals("lagos ng", StoreLocationIndex.normalize("  Lagos,NG "));
+        assertEquals("port harcourt nigeria", StoreLocationIndex.normalize("Port-Harcourt //  NIGERIA"));
+        assertEquals("", StoreLocationIndex.normalize(null));
+    }
+
+    @Test
+    void splitsWordsIntoPaddedTrigrams() {
+        assertEquals(Set.of("  n", " ng", "ng "), StoreLocationIndex.trigrams("ng"));
+        assertEquals(Set.of("  l", " la", "lag", "ago", "gos", "os ", "  n", " ng", "ng "),
+                StoreLocationIndex.trigrams("lagos ng"));
+    }
+
+    @Test
+    void resolvesSpellingsAbbreviationsAndTyposToTheSameLocation() {
+        for (String query : List.of("lagos nigeria", "Lagos, NG", "Lagoss", "LAGOS")) {
+            List<StoreLocationIndex.LocationMatch> matches = index.search(query);
+            assertEquals(1, matches.size(), query);
+            assertEquals("Lagos, Nigeria", matches.get(0).location(), query);
+            assertEquals(Set.of(1L, 2L), matches.get(0).storeIds(), query);
+        }
+        assertEquals(1.0, index.search("lagos nigeria").get(0).score());
+    }
+
+    @Test
+    void unrelatedQueriesMatchNothing() {
+        assertTrue(index.search("Nairobi").isEmpty());
+        assertTrue(index.search("Kenya").isEmpty());
+        assertTrue(index.search(" ,. ").isEmpty());
+    }
+
+    @Test
+    void onlyMatchesAboveTheThresholdAndNearTheBestAreReturned() {
+        // Sharing a single trigram with "Abuja, Nigeria" isn't enough
+        assertTrue(index.search("abj").isEmpty());
+
+        List<StoreLocationIndex.LocationMatch> matches = index.search("Nigeria");
+        assertEquals(4, matches.size());
+        double best = matches.get(0).score();
+        for (StoreLocationIndex.LocationMatch match : matches) {
+            assertTrue(match.score() >= StoreLocationIndex.MIN_SIMILARITY, match::toString);
+            assertTrue(match.score() >= best * StoreLocationIndex.RELATIVE_CUTOFF, match::toString);
+            assertTrue(match.score() <= best, "best match first");
+        }
+    }
+
+    @Test
+    void removedStoresLeaveTheIndex() {
+        index.remove(1L);
+        assertEquals(Set.of(2L), index.search("Lagos").get(0).storeIds());
+
+        index.update(2L, "Ibadan, Nigeria");
+        assertTrue(index.search("Lagos").isEmpty());
+        assertEquals(Set.of(2L), index.search("Ibadan").get(0).storeIds());
+    }
+}
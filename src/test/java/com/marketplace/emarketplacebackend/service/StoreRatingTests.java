@@ -0,0 +1,142 @@
+package com.marketplace.emarketplacebackend.service;
+
+import com.marketplace.emarketplacebackend.dto.StoreRank;
+import com.marketplace.emarketplacebackend.dto.StoreRequest;
+import com.marketplace.emarketplacebackend.exception.ResourceNotFoundException;
+import com.marketplace.emarketplacebackend.model.StoreRating;
+import com.marketplace.emarketplacebackend.repository.SellerRepository;
+import com.marketplace.emarketplacebackend.repository.StoreRatingRepository;
+import com.marketplace.emarketplacebackend.repository.StoreRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// User ids are plain numbers: store_ratings has no foreign key to users
+@SpringBootTest
+class StoreRatingTests {
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private StoreRatingRepository storeRatingRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    // Unique per test, so the per-location leaderboard only holds this test's stores
+    private String location;
+
+    @BeforeEach
+    void newLocation() {
+        location = "Ratingville " + System.nanoTime();
+    }
+
+    @Test
+    void averageCountsEachUserOnce() {
+        Long storeId = store("Corner Shop");
+
+        storeService.rateStore(storeId, 1001L, 4);
+        StoreRank rank = storeService.rateStore(storeId, 1002L, 2);
+        assertEquals(2L, rank.ratingCount());
+        assertEquals(3.0, rank.averageRating());
+
+        // Re-rating replaces the user's score instead of adding another
+        rank = storeService.rateStore(storeId, 1001L, 5);
+        assertEquals(2L, rank.ratingCount());
+        assertEquals(3.5, rank.averageRating());
+        rank = storeService.rateStore(storeId, 1001L, 5);
+        assertEquals(2L, rank.ratingCount());
+        assertEquals(3.5, rank.averageRating());
+        assertEquals(5, storeRatingRepository.findById(new StoreRating.Key(storeId, 1001L)).orElseThrow().getScore());
+    }
+
+    @Test
+    void leaderboardFollowsRatingsAndReRatings() {
+        Long bakery = store("Bakery");
+        Long butcher = store("Butcher");
+        Long grocer = store("Grocer");
+        storeService.rateStore(bakery, 2001L, 4);
+        storeService.rateStore(butcher, 2001L, 5);
+        storeService.rateStore(butcher, 2002L, 4);
+        storeService.rateStore(grocer, 2001L, 5);
+
+        assertEquals(List.of(grocer, butcher, bakery), ranked());
+
+        storeService.rateStore(grocer, 2001L, 1);
+        storeService.rateStore(bakery, 2002L, 5);
+        assertEquals(List.of(bakery, butcher, grocer), ranked());
+    }
+
+    // Both requests find no earlier rating and insert; the loser is retried and becomes a re-rating
+    @Test
+    void concurrentFirstRatingsByOneUserCountOnce() throws Exception {
+        Long storeId = store("Busy Stall");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (long userId = 4001; userId <= 4020; userId++) {
+                long user = userId;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<StoreRank>> ratings = List.of(
+                        executor.submit(() -> {
+                            start.await();
+                            return storeService.rateStore(storeId, user, 2);
+                        }),
+                        executor.submit(() -> {
+                            start.await();
+                            return storeService.rateStore(storeId, user, 4);
+                        }));
+                start.countDown();
+                for (Future<StoreRank> rating : ratings) {
+                    rating.get(10, TimeUnit.SECONDS); // Throws if either request failed
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // One row per user, and the aggregates hold exactly those rows' scores
+        double sum = 0;
+        for (long userId = 4001; userId <= 4020; userId++) {
+            sum += storeRatingRepository.findById(new StoreRating.Key(storeId, userId)).orElseThrow().getScore();
+        }
+        StoreRank rank = storeRepository.findRankById(storeId).orElseThrow();
+        assertEquals(20L, rank.ratingCount());
+        assertEquals(sum / 20, rank.averageRating(), 1e-9);
+        assertEquals(rank, storeService.getTopRatedStores(location, 1).get(0));
+    }
+
+    @Test
+    void ratingAMissingStoreStoresNothing() {
+        assertThrows(ResourceNotFoundException.class, () -> storeService.rateStore(-1L, 3001L, 4));
+        assertFalse(storeRatingRepository.existsById(new StoreRating.Key(-1L, 3001L)));
+    }
+
+    private List<Long> ranked() {
+        return storeService.getTopRatedStores(location, 10).stream().map(StoreRank::storeId).toList();
+    }
+
+    private Long store(String name) {
+        StoreRequest request = new StoreRequest();
+        request.setName(name);
+        request.setLocation(location);
+        request.setSellerId(sellerRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId());
+        return storeService.createStore(request).getId();
+    }
+}
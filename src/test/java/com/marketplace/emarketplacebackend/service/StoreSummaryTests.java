@@ -0,0 +1,132 @@
+package com.marketplace.emarketplacebackend.service;
+
+import com.marketplace.emarketplacebackend.diagnostics.SqlStatsFilter;
+import com.marketplace.emarketplacebackend.dto.ProductRequest;
+import com.marketplace.emarketplacebackend.dto.StoreRequest;
+import com.marketplace.emarketplacebackend.model.Seller;
+import com.marketplace.emarketplacebackend.repository.SellerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Store listings are projections with a product count; entities never serialize their associations
+@SpringBootTest(properties = "marketplace.catalog.cache.max-entries=0") // Every request reaches the database
+@AutoConfigureMockMvc
+class StoreSummaryTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    private final List<Long> productIds = new ArrayList<>();
+    private Long sellerId;
+    private Long stocked;
+    private Long empty;
+
+    @BeforeEach
+    void createStores() {
+        String name = "sum" + System.nanoTime() % 1_000_000_000;
+        sellerId = sellerRepository.save(new Seller(name, name + "@example.com")).getId();
+        stocked = store("A Stocked Store");
+        empty = store("B Empty Store");
+    }
+
+    @AfterEach
+    void deleteProducts() {
+        productIds.forEach(productService::deleteProduct);
+    }
+
+    @Test
+    void listingsCarryProductCountsInsteadOfProducts() throws Exception {
+        addProducts(stocked, 3);
+
+        mockMvc.perform(get("/api/stores/stores/" + sellerId + "?sort=name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(stocked))
+                .andExpect(jsonPath("$.content[0].productCount").value(3))
+                .andExpect(jsonPath("$.content[0].sellerId").value(sellerId))
+                .andExpect(jsonPath("$.content[1].id").value(empty))
+                .andExpect(jsonPath("$.content[1].productCount").value(0))
+                .andExpect(jsonPath("$.content[*].products").doesNotExist())
+                .andExpect(jsonPath("$.content[*].seller").doesNotExist());
+        mockMvc.perform(get("/api/stores?size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].productCount").exists());
+    }
+
+    // The count is a subquery: more products cost no extra statements
+    @Test
+    void listingCostDoesNotGrowWithProducts() throws Exception {
+        String uri = "/api/stores/stores/" + sellerId;
+        int before = statements(uri);
+        addProducts(stocked, 5);
+        addProducts(empty, 5);
+
+        assertEquals(before, statements(uri));
+    }
+
+    @Test
+    void entitiesLeaveTheirAssociationsOut() throws Exception {
+        addProducts(stocked, 1);
+
+        mockMvc.perform(get("/api/stores/" + stocked))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("A Stocked Store"))
+                .andExpect(jsonPath("$.products").doesNotExist())
+                .andExpect(jsonPath("$.seller").doesNotExist())
+                .andExpect(jsonPath("$.ratingSum").doesNotExist());
+        mockMvc.perform(get("/api/products/" + productIds.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Summary item 0"))
+                .andExpect(jsonPath("$.store").doesNotExist());
+    }
+
+    private Long store(String name) {
+        StoreRequest request = new StoreRequest();
+        request.setName(name);
+        request.setLocation("Warri");
+        request.setSellerId(sellerId);
+        return storeService.createStore(request).getId();
+    }
+
+    private void addProducts(Long storeId, int count) {
+        for (int i = 0; i < count; i++) {
+            ProductRequest request = new ProductRequest();
+            request.setName("Summary item " + productIds.size());
+            request.setDescription("Store summary test");
+            request.setPrice(1.0);
+            request.setStock(1);
+            request.setCategoryName("Sports");
+            request.setStoreId(storeId);
+            productIds.add(productService.createProduct(request).getId());
+        }
+    }
+
+    private int statements(String uri) throws Exception {
+        String header = mockMvc.perform(get(uri)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(SqlStatsFilter.STATEMENTS_HEADER);
+        return Integer.parseInt(header);
+    }
+}
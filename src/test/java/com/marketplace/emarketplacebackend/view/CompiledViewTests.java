@@ -0,0 +1,133 @@
+package com.marketplace.emarketplacebackend.view;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.emarketplacebackend.exception.InvalidFieldSelectionException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledViewTests {
+
+    private record Shop(Long id, String name, String city, Long ownerId) {
+    }
+
+    private record Owner(Long id, String name, String email) {
+    }
+
+    private record Item(Long shopId, String label) {
+    }
+
+    private static final Map<Long, Owner> OWNERS = Map.of(
+            10L, new Owner(10L, "Ada", "ada@example.com"),
+            20L, new Owner(20L, "Bola", "bola@example.com"));
+
+    private static final List<Item> ITEMS = List.of(new Item(1L, "Shoes"), new Item(1L, "Socks"), new Item(3L, "Hats"));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Every batch each loader was called with, to check the fetch plan
+    private final List<Collection<Long>> ownerBatches = new ArrayList<>();
+    private final List<Collection<Long>> itemBatches = new ArrayList<>();
+
+    private final ViewDefinition<Shop> shopView = new ViewDefinition<Shop>("Shop")
+            .field("id", Shop::id)
+            .field("name", Shop::name)
+            .field("city", Shop::city)
+            .toOne("owner", Shop::ownerId, new ViewDefinition<Owner>("Owner")
+                            .field("id", Owner::id)
+                            .field("name", Owner::name)
+                            .field("email", Owner::email),
+                    ids -> {
+                        ownerBatches.add(List.copyOf(ids));
+                        return ids.stream().collect(Collectors.toMap(Function.identity(), OWNERS::get));
+                    })
+            .toMany("items", Shop::id, new ViewDefinition<Item>("Item").field("label", Item::label),
+                    ids -> {
+                        itemBatches.add(List.copyOf(ids));
+                        return ITEMS.stream().filter(item -> ids.contains(item.shopId()))
+                                .collect(Collectors.groupingBy(Item::shopId));
+                    });
+
+    private final List<Shop> shops = List.of(
+            new Shop(1L, "Corner", "Warri", 10L),
+            new Shop(2L, "Kiosk", "Lagos", 10L),
+            new Shop(3L, "Market", "Abuja", 20L),
+            new Shop(4L, "Stall", "Kano", null));
+
+    @Test
+    void rendersOnlyTheSelectedFieldsInDefinitionOrder() throws Exception {
+        assertEquals("{\"name\":\"Corner\",\"city\":\"Warri\"}", render(shops.get(0), "city, name", null));
+        assertEquals("{\"id\":1,\"name\":\"Corner\",\"city\":\"Warri\"}", render(shops.get(0), null, null));
+        assertTrue(ownerBatches.isEmpty() && itemBatches.isEmpty(), "Nothing is loaded without expansions");
+    }
+
+    @Test
+    void eachExpansionIsLoadedWithOneBatchForAllRoots() throws Exception {
+        CompiledView<Shop> view = compile("name,owner.name,items.label", "owner,items");
+        Map<String, Map<Long, ?>> associations = view.fetch(shops);
+
+        assertEquals(List.of(List.of(10L, 20L)), ownerBatches); // Deduplicated, and the null key skipped
+        assertEquals(List.of(List.of(1L, 2L, 3L, 4L)), itemBatches);
+        // Expansions follow the canonical (sorted) selection order
+        assertEquals("{\"name\":\"Corner\",\"items\":[{\"label\":\"Shoes\"},{\"label\":\"Socks\"}],"
+                        + "\"owner\":{\"name\":\"Ada\"}}",
+                write(shops.get(0), view, associations));
+        assertEquals("{\"name\":\"Kiosk\",\"items\":[],\"owner\":{\"name\":\"Ada\"}}",
+                write(shops.get(1), view, associations));
+        assertEquals("{\"name\":\"Stall\",\"items\":[],\"owner\":null}", write(shops.get(3), view, associations));
+    }
+
+    @Test
+    void expandedAssociationsRenderAllTheirFieldsByDefault() throws Exception {
+        assertEquals("{\"id\":3,\"owner\":{\"id\":20,\"name\":\"Bola\",\"email\":\"bola@example.com\"}}",
+                render(shops.get(2), "id", "owner"));
+    }
+
+    @Test
+    void unknownNamesAreRejected() {
+        assertInvalid("Shop has no field 'rating'", "name,rating", null);
+        assertInvalid("Shop has no expansion 'reviews'", null, "reviews");
+        assertInvalid("Owner has no field 'phone'", "owner.phone", "owner");
+        // Nested fields need their association expanded, and expansions are one level deep
+        assertInvalid("Shop has no expansion 'owner'", "owner.name", null);
+        assertInvalid("Owner has no expansion 'shops'", "owner.shops.name", "owner");
+    }
+
+    @Test
+    void selectionsAreParsedIntoACanonicalKey() {
+        FieldSelection selection = FieldSelection.parse(" name , id,,", "owner");
+        assertEquals(Set.of("id", "name"), selection.fields());
+        assertEquals(selection.key(), FieldSelection.parse("id,name", " owner ").key());
+        assertTrue(FieldSelection.parse(null, " ").isEmpty());
+    }
+
+    private String render(Shop shop, String fields, String expand) throws Exception {
+        CompiledView<Shop> view = compile(fields, expand);
+        return write(shop, view, view.fetch(List.of(shop)));
+    }
+
+    private CompiledView<Shop> compile(String fields, String expand) {
+        FieldSelection selection = FieldSelection.parse(fields, expand);
+        return CompiledView.compile(shopView, selection.fields(), selection.expand(), true);
+    }
+
+    private String write(Shop shop, CompiledView<Shop> view, Map<String, Map<Long, ?>> associations)
+            throws Exception {
+        return objectMapper.writeValueAsString(new SparseEntity<>(shop, view, associations));
+    }
+
+    private void assertInvalid(String message, String fields, String expand) {
+        assertEquals(message, assertThrows(InvalidFieldSelectionException.class,
+                () -> compile(fields, expand)).getMessage());
+    }
+}
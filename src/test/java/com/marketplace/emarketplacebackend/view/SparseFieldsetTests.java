@@ -0,0 +1,130 @@
+package com.marketplace.emarketplacebackend.view;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.emarketplacebackend.diagnostics.SqlStatsFilter;
+import com.marketplace.emarketplacebackend.model.Product;
+import com.marketplace.emarketplacebackend.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Runs against the seeded catalog: Running Shoes (Sports) and Smart Watch (Electronics), both in the Sporty store
+@SpringBootTest(properties = "marketplace.catalog.cache.max-entries=0") // Every request reaches the database
+@AutoConfigureMockMvc
+class SparseFieldsetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void onlyTheSelectedFieldsAreRendered() throws Exception {
+        mockMvc.perform(get("/api/products/" + runningShoes().getId() + "?fields=name,price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Running Shoes"))
+                .andExpect(jsonPath("$.price").value(180.0))
+                .andExpect(jsonPath("$.description").doesNotExist())
+                .andExpect(jsonPath("$.stock").doesNotExist())
+                .andExpect(jsonPath("$.category").doesNotExist());
+    }
+
+    @Test
+    void expansionsEmbedTheSelectedFieldsOfTheAssociation() throws Exception {
+        mockMvc.perform(get("/api/products/" + runningShoes().getId()
+                        + "?fields=name,category.name,store.name&expand=category,store"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Running Shoes"))
+                .andExpect(jsonPath("$.category.name").value("Sports"))
+                .andExpect(jsonPath("$.category.id").doesNotExist())
+                .andExpect(jsonPath("$.store.name").value("Sporty"))
+                .andExpect(jsonPath("$.store.location").doesNotExist());
+    }
+
+    // Loading per row would cost a statement per product and association; a batch costs one per association
+    @Test
+    void eachExpansionCostsOneBatchedQueryForTheWholePage() throws Exception {
+        int plain = statements("/api/products?fields=id,name");
+        mockMvc.perform(get("/api/products?fields=id,category.name&expand=category"))
+                .andExpect(jsonPath("$.content[*].category.name").value(List.of("Sports", "Electronics")));
+
+        assertEquals(plain + 1, statements("/api/products?fields=id,category.name&expand=category"));
+        assertEquals(plain + 1, statements("/api/products?fields=id,store.name&expand=store"));
+        assertEquals(plain + 2, statements("/api/products?fields=id,category.name,store.name&expand=category,store"));
+    }
+
+    // Without a selection the entities are serialized as they are; their collections must not be lazy-loaded then
+    @Test
+    void defaultSellerJsonLeavesStoresOut() throws Exception {
+        String token = token();
+        mockMvc.perform(get("/api/sellers").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].email").exists())
+                .andExpect(jsonPath("$.content[*].stores").doesNotExist());
+
+        assertEquals(statements(get("/api/sellers?fields=id,name,email").header(HttpHeaders.AUTHORIZATION, token)),
+                statements(get("/api/sellers").header(HttpHeaders.AUTHORIZATION, token)));
+    }
+
+    @Test
+    void unknownNamesAreABadRequest() throws Exception {
+        String product = "/api/products/" + runningShoes().getId();
+        mockMvc.perform(get(product + "?fields=name,colour"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Product has no field 'colour'"));
+        mockMvc.perform(get("/api/products?expand=reviews"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Product has no expansion 'reviews'"));
+        mockMvc.perform(get(product + "?fields=store.name"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Product has no expansion 'store'"));
+        mockMvc.perform(get(product + "?fields=store.rank&expand=store"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Store has no field 'rank'"));
+    }
+
+    private int statements(String uri) throws Exception {
+        return statements(get(uri));
+    }
+
+    private int statements(MockHttpServletRequestBuilder request) throws Exception {
+        String header = mockMvc.perform(request).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(SqlStatsFilter.STATEMENTS_HEADER);
+        return Integer.parseInt(header);
+    }
+
+    // Signs up a customer and returns its Authorization header value
+    private String token() throws Exception {
+        String username = "fld" + System.nanoTime() % 1_000_000_000;
+        mockMvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\","
+                                + "\"password\":\"secret123\"}"))
+                .andExpect(status().isOk());
+        String login = mockMvc.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"secret123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + objectMapper.readTree(login).get("token").asText();
+    }
+
+    private Product runningShoes() {
+        return productRepository.findByNameIn(List.of("Running Shoes")).get(0);
+    }
+}